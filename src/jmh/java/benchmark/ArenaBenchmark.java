@@ -0,0 +1,60 @@
+package benchmark;
+
+import model.Arena;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Arena Benchmark
+ * @Description Measures one arena tick with 1,000 and 10,000 snakes on a 1000 x 1000 board, on one thread and on every core.
+ * The arena keeps running between calls, with dead snakes respawning, so the measurement covers a board in steady play.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaBenchmark {
+    @Param({"1000", "10000"})
+    private int snakes;
+    @Param({"1", "0"}) // 0 for every core
+    private int threads;
+    private ForkJoinPool pool;
+    private Arena arena;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+        arena = new Arena(1000, 1000, snakes, snakes / 2, 1, pool);
+        for (int i = 0; i < 100; i++) {
+            arena.tick(); // Let the snakes spread out and grow
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int tick() {
+        arena.tick();
+        return arena.getTick();
+    }
+}
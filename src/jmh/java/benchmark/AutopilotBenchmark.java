@@ -0,0 +1,67 @@
+package benchmark;
+
+import model.Autopilot;
+import model.Food;
+import model.FreeCells;
+import model.Paddle;
+import model.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Autopilot Benchmark
+ * @Description Measures one autopilot plan on square boards with the only food in the far corner, so the search covers nearly the whole board.
+ * Planning does not change the snake, so every call repeats the same search.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutopilotBenchmark {
+    private static final List<String> FOOD_IMAGE_KEYS = List.of("0");
+    @Param({"50", "200"})
+    private int side;
+    private final Autopilot autopilot = new Autopilot();
+    private Snake snake;
+    private List<Food> foods;
+    private final List<Paddle> paddles = Collections.emptyList();
+
+    @Setup
+    public void setUp() {
+        // Fill the board except its far corner, so the one food lands there
+        FreeCells freeCells = new FreeCells(side, side);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                if (x != side - 1 || y != side - 1) {
+                    freeCells.block(x, y);
+                }
+            }
+        }
+        Food food = new Food(FOOD_IMAGE_KEYS, freeCells, new Random(1));
+        snake = new Snake(2, 0, 3, 1, side, side);
+        foods = List.of(food);
+    }
+
+    @Benchmark
+    public Object plan() {
+        return autopilot.plan(snake, foods, paddles, 1);
+    }
+}
@@ -0,0 +1,115 @@
+package benchmark;
+
+import model.Direction;
+import model.Snake;
+
+/**
+ * @Project Benchmark Snakes
+ * @Description Builds snakes of a given length for the benchmarks. The snake zigzags across the board so it contains straight pieces and turns in every direction.
+ * Snakes built on a cycle can also keep moving for as long as a benchmark runs without ever hitting themselves.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+final class BenchmarkSnakes {
+    static final int COLUMNS = 1024; // Board width used for benchmark snakes
+
+    private BenchmarkSnakes() {
+    }
+
+    /**
+     * Returns the number of board rows needed for a zigzag snake of the given length.
+     *
+     * @param length The number of segments.
+     * @return The board height in cells.
+     */
+    static int rowsFor(int length) {
+        return 2 * (length / (COLUMNS - 2)) + 4;
+    }
+
+    /**
+     * Builds a zigzag snake with the given number of segments, heading right along the top row first.
+     *
+     * @param length The number of segments.
+     * @return The snake.
+     */
+    static Snake zigzag(int length) {
+        Snake snake = new Snake(1, 1, 1, 0, COLUMNS, rowsFor(length));
+        long time = 1;
+        Direction heading = Direction.RIGHT;
+        while (snake.getLength() < length) {
+            int x = snake.getX(0);
+            if (heading == Direction.RIGHT && x == COLUMNS - 2 || heading == Direction.LEFT && x == 1) {
+                snake.changeDirection(Direction.DOWN);
+                snake.grow();
+                snake.move(time++);
+                heading = heading == Direction.RIGHT ? Direction.LEFT : Direction.RIGHT;
+                snake.changeDirection(heading);
+            }
+            snake.grow();
+            snake.move(time++);
+        }
+        return snake;
+    }
+
+    /**
+     * Returns the number of board rows needed for a cycle longer than the given snake. The row count is always even so the cycle closes.
+     *
+     * @param length The number of segments.
+     * @return The board height in cells.
+     */
+    static int cycleRowsFor(int length) {
+        int rows = length / COLUMNS + 2;
+        return rows + (rows & 1);
+    }
+
+    /**
+     * Returns the direction to take from a cell to follow a cycle through every cell of a board with an even number of rows.
+     * The snake runs right along the top row, zigzags down through columns 1 and up, and returns to the top along column 0.
+     *
+     * @param x    The x-coordinate of the cell.
+     * @param y    The y-coordinate of the cell.
+     * @param rows The board height in cells.
+     * @return The direction to move in.
+     */
+    static Direction cycleDirection(int x, int y, int rows) {
+        if (x == 0) {
+            return y == 0 ? Direction.RIGHT : Direction.UP;
+        }
+        if ((y & 1) == 0) {
+            return x < COLUMNS - 1 ? Direction.RIGHT : Direction.DOWN;
+        }
+        if (x > 1) {
+            return Direction.LEFT;
+        }
+        return y == rows - 1 ? Direction.LEFT : Direction.DOWN;
+    }
+
+    /**
+     * Builds a snake with the given number of segments lying on the board cycle, so it can keep following the cycle forever.
+     *
+     * @param length The number of segments.
+     * @return The snake.
+     */
+    static Snake onCycle(int length) {
+        int rows = cycleRowsFor(length);
+        Snake snake = new Snake(0, 0, 1, 0, COLUMNS, rows);
+        long time = 1;
+        while (snake.getLength() < length) {
+            advanceOnCycle(snake, rows, time++);
+            snake.grow();
+        }
+        return snake;
+    }
+
+    /**
+     * Turns the snake onto the cycle and moves it one cell.
+     *
+     * @param snake The snake, which must lie on the cycle.
+     * @param rows  The board height in cells.
+     * @param time  A timestamp later than the snake's previous move.
+     */
+    static void advanceOnCycle(Snake snake, int rows, long time) {
+        snake.changeDirection(cycleDirection(snake.getX(0), snake.getY(0), rows));
+        snake.move(time);
+    }
+}
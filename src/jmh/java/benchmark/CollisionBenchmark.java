@@ -0,0 +1,85 @@
+package benchmark;
+
+import model.Food;
+import model.FreeCells;
+import model.Levels;
+import model.Paddle;
+import model.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.GameUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Collision Benchmark
+ * @Description Measures the per-step collision checks of the snake's head against every food and paddle on the board,
+ * and the paddle lookup through the level's grid, for different numbers of foods and paddles.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final List<String> FOOD_IMAGE_KEYS = List.of("0");
+    @Param({"1", "10", "100", "1000"})
+    private int count;
+    private Snake snake;
+    private List<Food> foods;
+    private List<Paddle> paddles;
+    private Levels levels;
+
+    @Setup
+    public void setUp() {
+        FreeCells freeCells = new FreeCells(GameUtil.WIDTH / GameUtil.CELL_SIZE, GameUtil.HEIGHT / GameUtil.CELL_SIZE);
+        snake = new Snake(5, 5, 3, 0, GameUtil.WIDTH / GameUtil.CELL_SIZE, GameUtil.HEIGHT / GameUtil.CELL_SIZE, freeCells);
+        foods = new ArrayList<>();
+        paddles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            foods.add(new Food(FOOD_IMAGE_KEYS, freeCells));
+            paddles.add(new Paddle(100, 20, GameUtil.WIDTH));
+        }
+
+        // The same number of paddles, registered in a level's grid
+        levels = new Levels(FOOD_IMAGE_KEYS);
+        levels.addInitialElements(new Paddle(100, 20, GameUtil.WIDTH), new Food(FOOD_IMAGE_KEYS, levels.getFreeCells()));
+        for (int score = 50; levels.getPaddles().size() < count; score += 50) {
+            levels.updateLevel(score);
+        }
+    }
+
+    @Benchmark
+    public void foods(Blackhole blackhole) {
+        for (int i = 0; i < foods.size(); i++) {
+            blackhole.consume(snake.isCollidingWithFood(foods.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void paddles(Blackhole blackhole) {
+        for (int i = 0; i < paddles.size(); i++) {
+            blackhole.consume(snake.checkCollisionWithPaddle(paddles.get(i)));
+        }
+    }
+
+    @Benchmark
+    public boolean paddleGrid() {
+        return levels.isPaddleHit(snake);
+    }
+}
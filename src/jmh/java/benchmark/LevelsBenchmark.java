@@ -0,0 +1,49 @@
+package benchmark;
+
+import model.Food;
+import model.Levels;
+import model.Paddle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.GameUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Levels Benchmark
+ * @Description Measures Levels.updateLevel over a whole game, scoring one food at a time from zero up to the given score.
+ * Higher scores end with more paddles and foods on the board, so the cost of spawning into a crowded level shows up too.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelsBenchmark {
+    private static final List<String> FOOD_IMAGE_KEYS = List.of("0");
+    private static final int FOOD_SCORE = 10;
+    @Param({"300", "3000", "30000"})
+    private int finalScore;
+
+    @Benchmark
+    public Levels updateLevel() {
+        Levels levels = new Levels(FOOD_IMAGE_KEYS);
+        levels.addInitialElements(new Paddle(100, 20, GameUtil.WIDTH), new Food(FOOD_IMAGE_KEYS, levels.getFreeCells()));
+        for (int score = 0; score <= finalScore; score += FOOD_SCORE) {
+            levels.updateLevel(score);
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import model.Food;
+import model.GameEngine;
+import model.Levels;
+import model.Paddle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.GameUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Paddle Benchmark
+ * @Description Measures moving every paddle by one simulation step, on its own and through the level so the paddle grid is kept up to date.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaddleBenchmark {
+    private static final List<String> FOOD_IMAGE_KEYS = List.of("0");
+    @Param({"1", "10", "100", "1000"})
+    private int count;
+    private List<Paddle> paddles;
+    private Levels levels;
+
+    @Setup
+    public void setUp() {
+        paddles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            paddles.add(new Paddle(100, 20, GameUtil.WIDTH));
+        }
+        levels = new Levels(FOOD_IMAGE_KEYS);
+        levels.addInitialElements(new Paddle(100, 20, GameUtil.WIDTH), new Food(FOOD_IMAGE_KEYS, levels.getFreeCells()));
+        for (int score = 50; levels.getPaddles().size() < count; score += 50) {
+            levels.updateLevel(score);
+        }
+    }
+
+    @Benchmark
+    public List<Paddle> move() {
+        for (int i = 0; i < paddles.size(); i++) {
+            paddles.get(i).move(GameEngine.DEFAULT_STEP_NANOS);
+        }
+        return paddles;
+    }
+
+    @Benchmark
+    public Levels movePaddles() {
+        levels.movePaddles(GameEngine.DEFAULT_STEP_NANOS);
+        return levels;
+    }
+}
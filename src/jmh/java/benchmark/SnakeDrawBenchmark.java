@@ -0,0 +1,63 @@
+package benchmark;
+
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import model.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.GameUtil;
+import view.GameRenderer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Snake Draw Benchmark
+ * @Description Measures GameRenderer.drawSnake onto an offscreen canvas for snakes from 3 to a million segments. The canvas is never shown,
+ * so this covers building the draw commands rather than rasterising them. Needs a display for the JavaFX toolkit to start.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeDrawBenchmark {
+    @Param({"3", "1000", "100000", "1000000"})
+    private int length;
+    private Snake snake;
+    private Canvas canvas;
+    private GameRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException alreadyStarted) {
+            // The toolkit is shared by every benchmark in the fork
+        }
+        snake = BenchmarkSnakes.zigzag(length);
+        canvas = new Canvas(GameUtil.WIDTH, GameUtil.HEIGHT);
+        renderer = new GameRenderer("/snake-graphics.png");
+    }
+
+    @Benchmark
+    public Canvas drawSnake() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        // Clearing the whole canvas discards the recorded commands, so the buffer does not grow across invocations
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        renderer.drawSnake(gc, snake);
+        return canvas;
+    }
+}
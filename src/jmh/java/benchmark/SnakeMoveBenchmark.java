@@ -0,0 +1,50 @@
+package benchmark;
+
+import model.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Snake Move Benchmark
+ * @Description Measures one Snake.move for snakes from 3 to a million segments. The snake follows a cycle through the board
+ * so it never dies however long the benchmark runs. Run with -prof gc to check that moving does not allocate.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeMoveBenchmark {
+    @Param({"3", "1000", "100000", "1000000"})
+    private int length;
+    private Snake snake;
+    private int rows;
+    private long time;
+
+    @Setup
+    public void setUp() {
+        snake = BenchmarkSnakes.onCycle(length);
+        rows = BenchmarkSnakes.cycleRowsFor(length);
+        time = snake.getMoveCount() + 1;
+    }
+
+    @Benchmark
+    public Snake move() {
+        BenchmarkSnakes.advanceOnCycle(snake, rows, time++);
+        return snake;
+    }
+}
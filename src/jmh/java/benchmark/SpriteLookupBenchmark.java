@@ -0,0 +1,133 @@
+package benchmark;
+
+import javafx.geometry.Rectangle2D;
+import model.Direction;
+import model.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import view.SnakeSprites;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Project Sprite Lookup Benchmark
+ * @Description Compares resolving the sprite of every snake segment through the SnakeSprites table against the
+ * if/else chains that allocated a Rectangle2D per segment. Run with -prof gc to compare allocation rates.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteLookupBenchmark {
+    private static final int SPRITE_SIZE = 64;
+    @Param({"100", "10000"})
+    private int length;
+    private Snake snake;
+
+    @Setup
+    public void setUp() {
+        snake = BenchmarkSnakes.zigzag(length);
+    }
+
+    @Benchmark
+    public void table(Blackhole blackhole) {
+        for (int i = 0; i < snake.getLength(); i++) {
+            int sprite = SnakeSprites.forSegment(snake, i);
+            blackhole.consume(SnakeSprites.sourceX(sprite));
+            blackhole.consume(SnakeSprites.sourceY(sprite));
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        int length = snake.getLength();
+        for (int i = 0; i < length; i++) {
+            Rectangle2D sprite;
+            if (i == 0) {
+                sprite = getHeadSprite(snake.getCurrentDirection());
+            } else if (i == length - 1) {
+                sprite = getTailSprite(snake.getDirection(i - 1));
+            } else {
+                Direction thisSegmentDirection = snake.getDirection(i);
+                Direction nextSegmentDirection = snake.getDirection(i - 1);
+                if (thisSegmentDirection != nextSegmentDirection) {
+                    sprite = getTurnSprite(thisSegmentDirection, nextSegmentDirection);
+                } else {
+                    sprite = getBodySprite(nextSegmentDirection);
+                }
+            }
+            blackhole.consume(sprite.getMinX());
+            blackhole.consume(sprite.getMinY());
+        }
+    }
+
+    // The lookups below are the original per-segment implementation, kept as the baseline
+
+    private static Rectangle2D getHeadSprite(Direction direction) {
+        switch (direction) {
+            case UP:
+                return new Rectangle2D(SPRITE_SIZE * 3, 0, SPRITE_SIZE, SPRITE_SIZE);
+            case DOWN:
+                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
+            case LEFT:
+                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
+            case RIGHT:
+            default:
+                return new Rectangle2D(SPRITE_SIZE * 4, 0, SPRITE_SIZE, SPRITE_SIZE);
+        }
+    }
+
+    private static Rectangle2D getTailSprite(Direction direction) {
+        switch (direction) {
+            case UP:
+                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
+            case DOWN:
+                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE);
+            case LEFT:
+                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE);
+            case RIGHT:
+            default:
+                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
+        }
+    }
+
+    private static Rectangle2D getBodySprite(Direction direction) {
+        switch (direction) {
+            case UP:
+            case DOWN:
+                return new Rectangle2D(SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
+            case RIGHT:
+            case LEFT:
+            default:
+                return new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
+        }
+    }
+
+    private static Rectangle2D getTurnSprite(Direction thisSegmentDirection, Direction nextSegmentDirection) {
+        if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.RIGHT) || (thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.DOWN)) {
+            return new Rectangle2D(0, 0, SPRITE_SIZE, SPRITE_SIZE);
+        } else if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.LEFT) || (thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.DOWN)) {
+            return new Rectangle2D(SPRITE_SIZE * 2, 0, SPRITE_SIZE, SPRITE_SIZE);
+        } else if ((thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.UP) || (thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.RIGHT)) {
+            return new Rectangle2D(0, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
+        } else if ((thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.LEFT) || (thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.UP)) {
+            return new Rectangle2D(SPRITE_SIZE * 2, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
+        } else {
+            return new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
+        }
+    }
+}
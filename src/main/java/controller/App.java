@@ -1,5 +1,10 @@
 package controller;
 
+import model.GameEvents;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
 /**
  * @Project GameScreenFX Launcher
  * @Description Entry point class that delegates to GameScreenFX's main method.
@@ -9,11 +14,20 @@ package controller;
 public class App {
     /**
      * Main entry point for the application.
-     * Delegates to GameScreenFX's main method.
+     * Delegates to GameScreenFX's main method. If the snake.jfr system property names a file, a flight recording
+     * with the game events enabled is written there when the game exits.
      *
      * @param args Command line arguments passed to the application.
      */
     public static void main(String[] args) {
+        String recordingPath = System.getProperty("snake.jfr");
+        if (recordingPath != null && !recordingPath.isEmpty()) {
+            try {
+                GameEvents.startRecording(Paths.get(recordingPath));
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Could not start the flight recording: " + e.getMessage());
+            }
+        }
         GameScreenFX.main(args);
     }
 }
@@ -0,0 +1,50 @@
+package controller;
+
+import model.Arena;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @Project Arena Tool
+ * @Description Command line throughput test for the multi-snake arena. Runs ticks back to back for a fixed time and reports the tick rate,
+ * the time per tick of the propose and resolve phases, and the deaths and food eaten. The final fingerprint depends only on the snakes,
+ * board, seed and tick count, not on the thread count, so two runs with the same ticks can be compared.
+ * Usage: ArenaTool [snakes] [side] [seconds] [threads].
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ArenaTool {
+
+    /**
+     * Runs the arena described on the command line.
+     *
+     * @param args The number of snakes (default 10000), the board side in cells (default 1000), the run time in seconds (default 10)
+     *             and the number of threads (default all cores).
+     */
+    public static void main(String[] args) {
+        int snakes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int side = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Arena arena = new Arena(side, side, snakes, snakes / 2, 1, pool);
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            arena.tick();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        int ticks = arena.getTick();
+        int longest = 0;
+        for (int s = 0; s < snakes; s++) {
+            longest = Math.max(longest, arena.getLength(s));
+        }
+        System.out.printf("%d snakes on %dx%d, %d threads: %d ticks in %.1f s, %.0f ticks/s%n", snakes, side, side, threads, ticks, elapsed, ticks / elapsed);
+        System.out.printf("Per tick: propose %.3f ms, resolve %.3f ms%n", arena.getProposeNanos() / 1e6 / ticks, arena.getResolveNanos() / 1e6 / ticks);
+        System.out.printf("%d alive, %d deaths, %d food eaten, longest snake %d%n", arena.getAliveCount(), arena.getDeaths(), arena.getEaten(), longest);
+        System.out.printf("Fingerprint %016x%n", arena.fingerprint());
+    }
+}
@@ -1,9 +1,7 @@
 package controller;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.TextField;
 import javafx.scene.image.ImageView;
@@ -12,10 +10,11 @@ import javafx.scene.image.Image;
 import javafx.scene.control.Button;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import util.AssetManager;
+import util.GameUtil;
+import util.ImageUtil;
 import view.Leaderboard;
 
-import java.io.IOException;
-
 /**
  * @Project Launch MainMenu and Game
  * @Description The controller for the main game menu. Manages interactions, initializes components, and handles navigation between game parts.
@@ -60,17 +59,17 @@ public class GameFrameFX {
         exitGameButton.setOnAction(event -> exitGame());
         helpButton.setOnAction(event -> showHelp());
 
-        Image leaderboardImage = new Image(getClass().getResource("/leaderboard.png").toExternalForm());
+        Image leaderboardImage = AssetManager.getImage("/leaderboard.png");
         ImageView leaderboardImageView = new ImageView(leaderboardImage);
 
-        Image SettingImage = new Image(getClass().getResource("/settings.png").toExternalForm());
+        Image SettingImage = AssetManager.getImage("/settings.png");
         ImageView SettingImageView = new ImageView(SettingImage);
 
-        Image helpImage = new Image(getClass().getResource("/help.png").toExternalForm());
+        Image helpImage = AssetManager.getImage("/help.png");
         ImageView helpView = new ImageView(helpImage);
 
         // Sets background image
-        Image backgroundImage = new Image(getClass().getResource("/UI-background.png").toExternalForm());
+        Image backgroundImage = ImageUtil.getBackground("/UI-background.png");
         BackgroundImage bgImage = new BackgroundImage(backgroundImage,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundRepeat.NO_REPEAT,
@@ -101,7 +100,7 @@ public class GameFrameFX {
         }
 
         // Load the background image
-        Image backgroundImage = new Image(getClass().getResource("/endGame.jpg").toExternalForm());
+        Image backgroundImage = AssetManager.getImage("/endGame.jpg");
         BackgroundImage bgImage = new BackgroundImage(backgroundImage,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundRepeat.NO_REPEAT,
@@ -130,7 +129,7 @@ public class GameFrameFX {
         // Adding components to layout, puts the title and score list on leaderboard stage
         layout.getChildren().addAll(title, scoreList);
         // Scene setup
-        Scene scene = new Scene(layout,870, 560); // Size of the leaderboard
+        Scene scene = new Scene(layout, GameUtil.WIDTH, GameUtil.HEIGHT); // Size of the leaderboard
         // CSS Style for Leaderboard
         scene.getStylesheets().add(getClass().getResource("/leaderboard.css").toExternalForm());
         leaderboardStage.setScene(scene);
@@ -153,27 +152,11 @@ public class GameFrameFX {
     }
     /**
      * Displays the options screen for the game. Allows players to adjust settings like
-     * difficulty and sound. Loads the options FXML file and sets it on the current stage.
+     * difficulty and sound. The options screen is built once and reused on later visits.
      */
     @FXML
     private void showOptions() {
-        try {
-            // Load options FXML or creates the scene here
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/Settings.fxml"));
-            Parent optionsRoot = loader.load();
-
-            // Set the scene on the current stage
-            Scene optionsScene = new Scene(optionsRoot, 870, 560);
-            Stage stage = GameScreenFX.getPrimaryStage();
-            stage.setScene(optionsScene);
-            // Load CSS
-            optionsScene.getStylesheets().add(getClass().getResource("/Settings.css").toExternalForm()); //
-
-            // Shows the stage
-            stage.show();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        ScreenRegistry.show(ScreenRegistry.SETTINGS);
     }
     /**
      * Displays help information in a new stage. Includes game rules,
@@ -1,25 +1,36 @@
 package controller;
 
 import com.sun.javafx.charts.Legend;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
-import java.io.IOException;
+import model.GameEvents;
+import util.AssetManager;
+import util.GameUtil;
+import util.ImageUtil;
+import view.Leaderboard;
+import view.MusicPlayer;
+import view.SplashScreen;
+
+import java.util.concurrent.CompletionException;
 
 /**
  * @Project Loading MainMenu
  * @Description This class is responsible for starting the JavaFX application and loading the main menu.
- * It sets up the primary stage, applies CSS styling, and switches scenes.
+ * It sets up the primary stage, shows a splash screen while the game's assets load in the background, applies CSS styling, and switches scenes.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
  */
 public class GameScreenFX extends javafx.application.Application {
 
+    private static final long LAUNCH_NANOS = System.nanoTime(); // When the application was launched, for timing startup
+    // Images that are not named in ImageUtil, decoded at launch along with the rest
+    private static final String[] PRELOADED_IMAGES = {"/snake-graphics.png", "/nosound.png", "/leaderboard.png", "/back.png",
+            "/chevron-left.png", "/chevron-right.png", "/endGame.jpg"};
+    private static final String[] PRELOADED_BACKGROUNDS = {"/UI-background.png", "/UI-background2.png", "/UI-background3.png"};
     private static Stage primaryStage;
 
     /**
-     * Starts the JavaFX application and loads the main menu.
+     * Starts the JavaFX application: shows the splash screen, loads every asset in the background and then shows the main menu.
      * It sets up the primary stage, applies CSS styling, and switches scenes.
      *
      * @param stage The primary stage of the application.
@@ -28,25 +39,62 @@ public class GameScreenFX extends javafx.application.Application {
     @Override
     public void start(Stage stage) throws Exception {
         primaryStage = stage;
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/MainMenu.fxml"));//Loads FXML file
-        Parent root = loader.load();
-
-        Scene scene = new Scene(root, 870, 560);
-        scene.getStylesheets().add(getClass().getResource("/menu.css").toExternalForm());
-
-        // Sets scene on the stage
-        stage.setScene(scene);
-        stage.setTitle("Main Menu");
-
-        // Access controller for scene transitions
-        GameFrameFX controller = loader.getController();
-        controller.setMainStage(primaryStage);
+        SplashScreen splash = new SplashScreen(GameUtil.WIDTH, GameUtil.HEIGHT);
+        stage.setScene(splash.getScene());
+        stage.setTitle("Snake Game");
         stage.setResizable(false);// Disable resizing
         stage.setMaximized(false);// Minimise window
+        stage.show();
+
+        AssetManager.setProgressListener(() -> Platform.runLater(() ->
+                splash.setProgress(AssetManager.getCompleted(), AssetManager.getRequested())));
+        preloadAssets();
+        splash.setProgress(AssetManager.getCompleted(), AssetManager.getRequested());
+        AssetManager.allLoaded().thenRun(() -> Platform.runLater(() -> showLoadedMainMenu(splash)));
+    }
 
-        primaryStage.setScene(scene);// Set scene on stage
-        primaryStage.show();//Shows stage
+    /**
+     * Starts loading every image, sound and screen the game uses, along with the saved high scores.
+     * The screens come last, since building them waits on their images.
+     */
+    private static void preloadAssets() {
+        ImageUtil.preloadImages();
+        for (String image : PRELOADED_IMAGES) {
+            AssetManager.image(image);
+        }
+        for (String background : PRELOADED_BACKGROUNDS) {
+            ImageUtil.preloadBackground(background);
+        }
+        MusicPlayer.preload();
+        AssetManager.load("leaderboard", Leaderboard::getHighScores); // Reads the score log off the FX thread
+        AssetManager.fxml("/MainMenu.fxml");
+        AssetManager.fxml("/Settings.fxml");
+    }
 
+    /**
+     * Replaces the splash screen with the preloaded main menu and records how long startup took.
+     * If the menu cannot be built, the splash screen shows the error instead.
+     *
+     * @param splash The splash screen being shown.
+     */
+    private static void showLoadedMainMenu(SplashScreen splash) {
+        AssetManager.setProgressListener(null);
+        try {
+            showMainMenu();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("Could not load the main menu: " + cause);
+            splash.showError("Could not load the game: " + cause.getMessage());
+            return;
+        }
+        GameEvents.startup("main menu", System.nanoTime() - LAUNCH_NANOS, AssetManager.getCompleted());
+    }
+    /**
+     * Releases the music's native player when the application closes.
+     */
+    @Override
+    public void stop() {
+        MusicPlayer.getShared().dispose();
     }
     /**
      * Returns the primary stage of the application.
@@ -59,20 +107,11 @@ public class GameScreenFX extends javafx.application.Application {
     }
     /**
      * Switches the scene back to the main menu.
-     * It loads the main menu FXML file and applies the necessary CSS styling.
-     * IOExceptions are caught and printed to the stack trace.
+     * The main menu is built once and reused, so switching only swaps the scene's root.
      */
     public static void showMainMenu() {
-        try {
-            //FXML File loader
-            FXMLLoader loader = new FXMLLoader(GameScreenFX.class.getResource("/MainMenu.fxml"));
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 870, 560);
-            scene.getStylesheets().add(GameScreenFX.class.getResource("/menu.css").toExternalForm());
-            primaryStage.setScene(scene);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        GameFrameFX controller = ScreenRegistry.show(ScreenRegistry.MAIN_MENU);
+        controller.setMainStage(primaryStage); // Access controller for scene transitions
     }
     /**
      * The main entry point for the JavaFX application.
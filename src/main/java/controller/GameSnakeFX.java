@@ -19,16 +19,29 @@ import javafx.scene.paint.Color;
 import javafx.scene.control.Button;
 import javafx.geometry.Pos;
 import javafx.application.Platform;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import java.io.File;
-import java.util.Arrays;
-import java.util.List;
+import model.Autopilot;
+import model.Difficulty;
 import model.Direction;
-import model.Food;
-import model.Levels;
-import model.Paddle;
+import model.GameEngine;
+import model.GameEvents;
+import model.InputQueue;
+import model.ReplayRecorder;
+import util.AssetManager;
+import util.FixedTimestep;
+import util.FrameProfiler;
+import util.GameUtil;
+import util.ImageUtil;
+import util.LatencyHistogram;
+import util.RotatingCsvWriter;
+import view.GameRenderer;
 import view.MusicPlayer;
+import view.ProfilerOverlay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
 
 /**
  * @Project Snake Game
@@ -37,10 +50,26 @@ import view.MusicPlayer;
  * @version 1.0
  */
 public class GameSnakeFX extends Application {
-	private static final int WIDTH = 870;
-	private static final int HEIGHT = 560;
-	private model.Snake snake;
-	private model.Food food;
+	private static final Font SCORE_FONT = Font.font("SansSerif", FontWeight.BOLD, 20);
+	private static final int MAX_STEPS_PER_FRAME = 25; // Catch up at most 125 ms of game time at the default rate
+	private static final double SCORE_WIDTH = 300; // Area under the score, which is drawn over the game every frame
+	private static final double SCORE_HEIGHT = 60;
+	private static final String PROFILE_DIRECTORY = "profiles"; // Where profiler CSV files are written
+	private static final long PROFILE_FILE_BYTES = 5 * 1024 * 1024; // Size at which a profiler CSV file is rotated
+	private static final int PROFILE_FILES = 5; // Number of profiler CSV files kept
+	private static final String REPLAY_DIRECTORY = "replays"; // Where the replay of each finished game is saved
+	private GameEngine engine;
+	private ReplayRecorder recorder; // Records the inputs of the current game so it can be replayed; null on boards replays do not cover
+	private GameRenderer renderer;
+	private FixedTimestep timestep;
+	private final InputQueue inputQueue = new InputQueue(); // Turns pressed since the last move, one taken per move
+	private final LatencyHistogram inputLatency = new LatencyHistogram(); // Time from each key press to the move that makes its turn
+	private final Autopilot autopilot = new Autopilot();
+	private boolean autopilotEnabled = Boolean.getBoolean("snake.autopilot"); // Set on kiosks to start games in attract mode
+	private boolean gameOverShown; // Guards the game over transition so it only happens once per game
+	private FrameProfiler profiler; // Per-phase frame timings, recorded while the overlay is shown or CSV export is on
+	private final ProfilerOverlay profilerOverlay = new ProfilerOverlay();
+	private boolean profilerVisible = false;
 	private AnimationTimer gameLoop;
 	private Pane root; // Declare root at the class level
 	private Canvas canvas;
@@ -50,13 +79,13 @@ public class GameSnakeFX extends Application {
 	private Stage primaryStage;
 	private StackPane layeredPane;
 	private Rectangle pauseOverlay;
-	private model.Paddle paddle;
-	private Levels levels;
-	Image muteImage = new Image(getClass().getResource("/sound.png").toExternalForm());
+	private long startNanos; // When start was called, for timing the first frame
+	private boolean firstFrameReported;
+	Image muteImage = AssetManager.getImage("/sound.png");
 	ImageView muteView = new ImageView(muteImage);
-	Image unmuteImage = new Image(getClass().getResource("/nosound.png").toExternalForm());
+	Image unmuteImage = AssetManager.getImage("/nosound.png");
 	ImageView unmuteView = new ImageView(unmuteImage);
-	Image pauseImage = new Image(getClass().getResource("/pause.png").toExternalForm());
+	Image pauseImage = AssetManager.getImage("/pause.png");
 	ImageView pauseView = new ImageView(pauseImage);
 
 	/**
@@ -80,40 +109,42 @@ public class GameSnakeFX extends Application {
 	 */
 	@Override
 	public void start(Stage primaryStage) {
+		startNanos = System.nanoTime();
 		// Create the root pane
 		root = new Pane();
 		layeredPane = new StackPane();
 		this.primaryStage = primaryStage;
-		this.musicPlayer = new MusicPlayer();
+		this.musicPlayer = MusicPlayer.getShared(); // One music player for every game
 
 		//Applies the chosen background to the game scene
 		applySelectedBackground();
 
 		// Create and add the canvas for drawing game elements
-		canvas = new Canvas(WIDTH, HEIGHT);
+		canvas = new Canvas(GameUtil.WIDTH, GameUtil.HEIGHT);
 		canvas.setFocusTraversable(true);
 		root.getChildren().add(canvas); // Add canvas over the background image
 
 		// Initialize the pauseOverlay but don't add to layeredPane yet
-		pauseOverlay = new Rectangle(WIDTH, HEIGHT, new Color(0, 0, 0, 0.5)); // Semi-transparent black
+		pauseOverlay = new Rectangle(GameUtil.WIDTH, GameUtil.HEIGHT, new Color(0, 0, 0, 0.5)); // Semi-transparent black
 		pauseOverlay.setVisible(false); // Initially not visible
 
-		// Set up the scene with layeredPane as the root
-		scene = new Scene(layeredPane, WIDTH, HEIGHT);
-		primaryStage.setTitle("Snake Game");
-		primaryStage.setScene(scene);
+		// Show layeredPane as the root of the stage's scene
+		layeredPane.getStylesheets().add(getClass().getResource("/menu.css").toExternalForm());
+		ScreenRegistry.showRoot(layeredPane, "Snake Game");
+		scene = ScreenRegistry.getScene();
 		primaryStage.show();
 
-		scene.getStylesheets().add(getClass().getResource("/menu.css").toExternalForm());
-
 		primaryStage.setResizable(false); // Stops resizing of the scene
 		primaryStage.setMaximized(false); // Window remains the same size
 		canvas.widthProperty().bind(scene.widthProperty());
 		canvas.heightProperty().bind(scene.heightProperty());
+		// A resized canvas loses its contents, so the next frame must redraw everything
+		canvas.widthProperty().addListener((observable, oldValue, newValue) -> renderer.invalidate());
+		canvas.heightProperty().addListener((observable, oldValue, newValue) -> renderer.invalidate());
 		musicPlayer.startMusic();
 		// Initializes game components and event handlers
 		initializeGame(canvas);
-		setupEventHandlers(scene);
+		setupEventHandlers(layeredPane);
 
 		// Initialize the death sound
 		musicPlayer.initializeDeathSound();
@@ -137,7 +168,7 @@ public class GameSnakeFX extends Application {
 
 		// Position the HBox within the StackPane using alignment (top-right)
 		StackPane.setAlignment(buttonContainer, Pos.TOP_RIGHT);
-		StackPane.setMargin(buttonContainer, new Insets(10, 10, 0, WIDTH)); // Adjust top and right padding
+		StackPane.setMargin(buttonContainer, new Insets(10, 10, 0, GameUtil.WIDTH)); // Adjust top and right padding
 
 		// Add children to the layeredPane
 		layeredPane.getChildren().addAll(root, pauseOverlay, buttonContainer);
@@ -170,17 +201,19 @@ public class GameSnakeFX extends Application {
 		if (backgroundPath == null || backgroundPath.isEmpty()) {
 			backgroundPath = "/UI-background.png"; //
 		}
-		Image backgroundImage = new Image(getClass().getResource(backgroundPath).toExternalForm());
+		Image backgroundImage = ImageUtil.getBackground(backgroundPath);
 		ImageView backgroundView = new ImageView(backgroundImage);
-		backgroundView.setFitWidth(WIDTH);
-		backgroundView.setFitHeight(HEIGHT);
+		backgroundView.setFitWidth(GameUtil.WIDTH);
+		backgroundView.setFitHeight(GameUtil.HEIGHT);
 		root.getChildren().add(0, backgroundView); // Add as the first child of root
 
 	}
 
 	/**
 	 * Starts the game loop that continuously updates and renders the game.
-	 * This method is responsible for moving and drawing the paddles, moving and checking collisions of the snake, handling food consumption, and updating the score and level.
+	 * Each frame runs its phases exactly once, in order: input and simulation (the fixed steps due this frame, each of which
+	 * resolves its own collisions), render, HUD and finally the game over transition.
+	 * While profiling, the time spent in each phase is handed to the frame profiler.
 	 *
 	 * @param gc The GraphicsContext used for drawing on the canvas.
 	 */
@@ -188,111 +221,179 @@ public class GameSnakeFX extends Application {
 		gameLoop = new AnimationTimer() {
 			@Override
 			public void handle(long now) {
-				// Clear the canvas
-				gc.clearRect(0, 0, WIDTH, HEIGHT);
-
-				// Move and draw paddles
-				for (Paddle paddle : levels.getPaddles()) {
-					if (snake.checkCollisionWithPaddle(paddle)) {
-						stop(); // Stop the AnimationTimer
-						showGameOverMenu();
+				if (!isProfiling()) {
+					simulate(now);
+					renderer.render(gc, engine);
+					drawScore(gc);
+				} else {
+					profiler.beginFrame(now);
+					long simulationBefore = engine.getSimulationNanos();
+					long collisionBefore = engine.getCollisionNanos();
+					simulate(now);
+					profiler.addPhase(FrameProfiler.SIMULATION, engine.getSimulationNanos() - simulationBefore);
+					profiler.addPhase(FrameProfiler.COLLISION, engine.getCollisionNanos() - collisionBefore);
+
+					long renderStart = System.nanoTime();
+					renderer.render(gc, engine);
+					long hudStart = System.nanoTime();
+					drawScore(gc);
+					if (profilerVisible) {
+						profilerOverlay.draw(gc, profiler, inputLatency, 0, SCORE_HEIGHT);
 					}
-					paddle.move();
-					paddle.draw(gc);
+					long hudEnd = System.nanoTime();
+					profiler.addPhase(FrameProfiler.RENDER, hudStart - renderStart);
+					profiler.addPhase(FrameProfiler.HUD, hudEnd - hudStart);
 				}
-
-				// Move the snake and check for collisions
-				snake.move(now);
-				snake.draw(gc);
-
-				// Draw foods
-				for (Food food : levels.getFoods()) {
-					if (snake.isCollidingWithFood(food)) {
-						snake.grow(); // Snake grows in size
-						snake.increaseScore(10); // Increase score
-						food.relocateAndChangeImage(); // Relocate and change the food image
-					}
-					food.draw(gc); // Assuming Food class has draw method
+				if (!firstFrameReported) {
+					firstFrameReported = true;
+					GameEvents.startup("first game frame", System.nanoTime() - startNanos, AssetManager.getCompleted());
 				}
-
-				// Draw the score
-				drawScore(gc);
-
-				// Check if the snake is out of bounds or if the game is over
-				if (snake.isOutOfBounds() || snake.isGameOver()) {
+				if (engine.isGameOver()) {
 					stop(); // Stop the AnimationTimer
-					showGameOverMenu(); // Show game over menu
-				}else {
-					// Game continues
-					checkForFoodConsumption();
-					// After checking for food consumption or score update
-					levels.updateLevel(snake.getScore());
-					gc.clearRect(0, 0, WIDTH, HEIGHT);
-					// Move and draw paddles
-					for (Paddle paddle : levels.getPaddles()) {
-						if (snake.checkCollisionWithPaddle(paddle)) {
-							stop(); // Stop the AnimationTimer
-							showGameOverMenu();
-						}
-						paddle.move();
-						paddle.draw(gc);
-					}
-					snake.draw(gc);
-					// Draw foods
-					for (Food food : levels.getFoods()) {
-						if (snake.isCollidingWithFood(food)) {
-							snake.grow(); // Snake grows in size
-							snake.increaseScore(10); // Increase score
-							food.relocateAndChangeImage(); // Relocate and change the food image
-						}
-						food.draw(gc); // Assuming Food class has draw method
-					}
-					drawScore(gc); // Draw the score
-				}
-				if (snake.checkCollisionWithPaddle(paddle)) {
-					stop(); // Stop the AnimationTimer
-					showGameOverMenu();
+					handleGameOver();
 				}
 			}
 		};
 		gameLoop.start();
 	}
 
+	/**
+	 * Input and simulation phase of a frame. Runs the fixed steps that are due. Each step that moves the snake takes the next queued turn,
+	 * which is recorded for the replay along with the time from its key press to the move, or the autopilot's turn while it is steering.
+	 *
+	 * @param now The timestamp of the current frame, in nanoseconds.
+	 */
+	private void simulate(long now) {
+		int steps = timestep.advance(now);
+		for (int i = 0; i < steps && !engine.isGameOver(); i++) {
+			Direction turn = null;
+			if (engine.isMoveDue()) {
+				turn = autopilotEnabled ? autopilot.next(engine) : inputQueue.poll(engine.getSnake().getDirection(0));
+			}
+			if (recorder != null) {
+				recorder.step(turn);
+			} else {
+				engine.step(turn);
+			}
+			if (turn != null && !autopilotEnabled) {
+				inputLatency.record(System.nanoTime() - inputQueue.getLastPressedAt());
+			}
+		}
+	}
+
+	/**
+	 * Game over phase of a frame. Shows the game over menu and records the score the first time it is called for a game;
+	 * later calls, e.g. after the loop is restarted by the pause button, do nothing.
+	 */
+	private void handleGameOver() {
+		if (gameOverShown) {
+			return;
+		}
+		gameOverShown = true;
+		if (inputLatency.getCount() > 0) {
+			GameEvents.inputLatency(inputLatency.percentile(0.50), inputLatency.percentile(0.95), inputLatency.percentile(0.99),
+					inputLatency.getCount(), inputQueue.getDropped());
+		}
+		saveReplay();
+		showGameOverMenu();
+	}
+
+	/**
+	 * Saves the replay of the finished game to the replays directory, named after the time the game ended.
+	 * A failure is reported but does not interrupt the game over screen.
+	 */
+	private void saveReplay() {
+		if (recorder == null) {
+			return;
+		}
+		try {
+			Path directory = Paths.get(REPLAY_DIRECTORY);
+			Files.createDirectories(directory);
+			recorder.toReplay().write(directory.resolve("replay-" + System.currentTimeMillis() + ".snkr"));
+		} catch (IOException e) {
+			System.err.println("Failed to save replay: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Initializes the game settings and components.
-	 * Sets up the snake body and head, the food items, and the paddle.
-	 * Shows the different settings for the snake speed.
+	 * Creates the game engine for the selected speed level and board size, and the renderer that draws it.
+	 * Games on the default board are recorded for replay.
 	 *
 	 * @param canvas The canvas element on which the game is drawn.
 	 */
 	private void initializeGame(Canvas canvas) {
-		// Initialize  snake and food
 		int speedLevel = Settings.getSelectedSpeedLevel();
 		long speed = determineSpeedBasedOnLevel(speedLevel);
 
-		// Initialize the snake with the sprite sheet path
-		String spriteSheetPath = "/snake-graphics.png"; // The path to your sprite sheet
-		int initialX = 5; // Initial X position of the snake
-		int initialY = 5; // Initial Y position of the snake
-		int initialSize = 3; // Initial size of the snake
-		int segmentSize = 20; // Size of each segment of the snak
+		long stepNanos = 1_000_000_000L / Settings.getSimulationRate();
+		engine = new GameEngine(speed, stepNanos, new Random().nextLong(), Difficulty.DEFAULT, Settings.getBoardColumns(), Settings.getBoardRows());
+		recorder = ReplayRecorder.canRecord(engine) ? new ReplayRecorder(engine) : null;
+		autopilotEnabled &= Autopilot.supports(engine.getColumns(), engine.getRows()); // Its search is sized to the board
+		timestep = new FixedTimestep(stepNanos, MAX_STEPS_PER_FRAME);
+		inputQueue.clear();
+		inputLatency.reset();
+		gameOverShown = false;
+		if (profiler == null) {
+			profiler = new FrameProfiler(); // Created on the FX thread, whose allocations it reports
+		}
+		profiler.reset();
+		engine.setProfiling(isProfiling());
 
-		snake = new model.Snake(spriteSheetPath, initialX, initialY, initialSize, segmentSize, speed);
+		// Initialize the renderer with the sprite sheet path
+		String spriteSheetPath = "/snake-graphics.png"; // The path to your sprite sheet
+		renderer = new GameRenderer(spriteSheetPath);
+		updateOverlayRegion();
+	}
 
-		List<String> foodImageKeys = Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16");
-		food = new model.Food(foodImageKeys); // Initialize food with multiple images
+	/**
+	 * Checks whether frame timings are being recorded, i.e. the profiler overlay is shown or its samples are exported.
+	 *
+	 * @return true if profiling, false otherwise.
+	 */
+	private boolean isProfiling() {
+		return profilerVisible || profiler.isCsvEnabled();
+	}
 
-		// Initialize the paddle
-		double paddleWidth = 100; // Example width
-		double paddleHeight = 20; // Example height
-		double gameWidth = WIDTH; // Use the game's width for the paddle's movement range
+	/**
+	 * Shows or hides the profiler overlay.
+	 */
+	private void toggleProfilerOverlay() {
+		profilerVisible = !profilerVisible;
+		updateOverlayRegion();
+		renderer.invalidate(); // Clear the panel when it is hidden
+		startProfiling();
+	}
 
-		// Create a new Paddle instance with the specified dimensions and game width
-		paddle = new Paddle((int)paddleWidth, (int)paddleHeight, gameWidth);
+	/**
+	 * Starts or stops streaming profiler samples to rotating CSV files in the profiles directory.
+	 */
+	private void toggleProfilerCsv() {
+		if (profiler.isCsvEnabled()) {
+			profiler.stopCsv();
+		} else {
+			profiler.startCsv(new RotatingCsvWriter(Paths.get(PROFILE_DIRECTORY), "frames", PROFILE_FILE_BYTES, PROFILE_FILES));
+		}
+		startProfiling();
+	}
 
-		levels = new Levels(foodImageKeys);
-		levels.addInitialElements(paddle, food);
+	/**
+	 * Tells the engine whether to time its phases, and starts the profiler on a fresh frame so the toggle does not show up as a slow frame.
+	 */
+	private void startProfiling() {
+		engine.setProfiling(isProfiling());
+		profiler.reset();
+	}
 
+	/**
+	 * Reserves the region drawn over the game every frame: the score, plus the profiler panel below it when shown.
+	 */
+	private void updateOverlayRegion() {
+		if (profilerVisible) {
+			renderer.setOverlayRegion(0, 0, Math.max(SCORE_WIDTH, ProfilerOverlay.WIDTH), SCORE_HEIGHT + ProfilerOverlay.HEIGHT);
+		} else {
+			renderer.setOverlayRegion(0, 0, SCORE_WIDTH, SCORE_HEIGHT);
+		}
 	}
 
 	/**
@@ -302,12 +403,7 @@ public class GameSnakeFX extends Application {
 	 * @return The speed of the game in nanoseconds.
 	 */
 	private long determineSpeedBasedOnLevel(int level) {
-		switch (level) {
-			case 2: return 50_000_000;
-			case 3: return 25_000_000;
-			case 1:
-			default: return 100_000_000;
-		}
+		return Difficulty.speedForLevel(level);
 	}
 
 	/**
@@ -321,6 +417,9 @@ public class GameSnakeFX extends Application {
 				pauseOverlay.setVisible(true); // Show the overlay
 				musicPlayer.pauseMusic(); // Assuming this method is defined to pause the music
 			} else {
+				timestep.reset(); // Don't simulate the time spent paused
+				profiler.reset(); // Nor record it as a frame
+				renderer.invalidate(); // Redraw the whole board on resume
 				gameLoop.start(); // Start the game loop
 				pauseOverlay.setVisible(false); // Hide the overlay
 				musicPlayer.resumeMusic(); // Assuming this method is defined to resume the music
@@ -330,51 +429,50 @@ public class GameSnakeFX extends Application {
 	}
 
 	/**
-	 * Sets up the event handlers for the given scene.
+	 * Sets up the event handlers for the game's root. Key presses bubble up to it from the focused canvas; the handlers
+	 * are not put on the scene, which the menus share.
 	 *
-	 * @param scene The scene for which event handlers are set up.
+	 * @param gameRoot The root for which event handlers are set up.
 	 */
-	private void setupEventHandlers(Scene scene) {
-		scene.setOnKeyPressed(event -> {
+	private void setupEventHandlers(Pane gameRoot) {
+		gameRoot.setOnKeyPressed(event -> {
 			switch (event.getCode()) {
 				case UP:
-					snake.changeDirection(Direction.UP);
+					inputQueue.offer(Direction.UP, System.nanoTime());
 					break;
 				case DOWN:
-					snake.changeDirection(Direction.DOWN);
+					inputQueue.offer(Direction.DOWN, System.nanoTime());
 					break;
 				case LEFT:
-					snake.changeDirection(Direction.LEFT);
+					inputQueue.offer(Direction.LEFT, System.nanoTime());
 					break;
 				case RIGHT:
-					snake.changeDirection(Direction.RIGHT);
+					inputQueue.offer(Direction.RIGHT, System.nanoTime());
+					break;
+				case F3:
+					toggleProfilerOverlay();
+					break;
+				case F4:
+					toggleProfilerCsv();
+					break;
+				case F6:
+					autopilotEnabled = !autopilotEnabled && Autopilot.supports(engine.getColumns(), engine.getRows());
+					inputQueue.clear(); // Keys pressed while the autopilot steered should not fire when it lets go
 					break;
 			}
 		});
 
 	}
 
-	/**
-	 * Checks if the snake is colliding with food. If a collision occurs, the snake grows in size, the score increases by 10, and a new food item is generated and relocated elsewhere
-	 *.
-	 */
-	private void checkForFoodConsumption() {
-		if (snake.isCollidingWithFood(food)) {
-			snake.grow();//Snake grows in size
-			snake.increaseScore(10);//If the food is eaten by the snake score increases
-			food.relocateAndChangeImage();// New food item generated and relocated elsewhere
-		}
-	}
-
 	/**
 	 * Draws the score on the canvas.
 	 *
 	 * @param gc The GraphicsContext used for drawing on the canvas.
 	 */
 	private void drawScore(GraphicsContext gc) {
-		gc.setFont(Font.font("SansSerif", FontWeight.BOLD, 20));
+		gc.setFont(SCORE_FONT);
 		gc.setFill(Color.WHITE);
-		gc.fillText("SCORE : " + snake.getScore(), 20, 40);
+		gc.fillText("SCORE : " + engine.getScore(), 20, 40);
 	}
 
 	/**
@@ -397,13 +495,16 @@ public class GameSnakeFX extends Application {
 		mainMenuButton.getStyleClass().add("menu-button");//Design of the button
 
 		pauseMenu.getChildren().addAll(resumeButton, restartButton, mainMenuButton);
-		pauseMenu.setLayoutX(WIDTH / 2 - 50);//position of pause button
-		pauseMenu.setLayoutY(HEIGHT / 2 - 50);//position of pause button
+		pauseMenu.setLayoutX(GameUtil.WIDTH / 2 - 50);//position of pause button
+		pauseMenu.setLayoutY(GameUtil.HEIGHT / 2 - 50);//position of pause button
 		root.getChildren().add(pauseMenu);
 
 		// Implement button functionalities
 		resumeButton.setOnAction(event -> {
 			root.getChildren().remove(pauseMenu);
+			timestep.reset();
+			profiler.reset();
+			renderer.invalidate();
 			gameLoop.start();
 			musicPlayer.resumeMusic();
 			canvas.requestFocus();
@@ -430,14 +531,14 @@ public class GameSnakeFX extends Application {
 		// Clear all elements from the canvas
 		root.getChildren().clear();
 		applySelectedBackground();
-		canvas = new Canvas(WIDTH, HEIGHT);
+		canvas = new Canvas(GameUtil.WIDTH, GameUtil.HEIGHT);
 		root.getChildren().add(canvas);
 
 
 		// Game components are being re-initialized
 		initializeGame(canvas);
 
-		setupEventHandlers(scene); // Need to make sure that scene is being accessed
+		setupEventHandlers(layeredPane); // Key presses on the new canvas reach the game's root
 
 		// Ensure the canvas has focus
 		canvas.requestFocus();
@@ -446,12 +547,12 @@ public class GameSnakeFX extends Application {
 		startGameLoop(canvas.getGraphicsContext2D());
 		Button pauseButton = new Button();//Pause button
 		pauseButton.setGraphic(pauseView);
-		pauseButton.setLayoutX(WIDTH - 50);
+		pauseButton.setLayoutX(GameUtil.WIDTH - 50);
 		pauseButton.setLayoutY(10);
 
 		Button muteButton = new Button();//mute button
 		muteButton.setGraphic(muteView);
-		muteButton.setLayoutX(WIDTH - 100); // position next to the pause button
+		muteButton.setLayoutX(GameUtil.WIDTH - 100); // position next to the pause button
 		muteButton.setLayoutY(10);
 
 		root.getChildren().addAll(pauseButton, muteButton);
@@ -496,8 +597,8 @@ public class GameSnakeFX extends Application {
 		exitButton.getStyleClass().add("menu-button");//Css design
 
 		gameOverMenu.getChildren().addAll(restartButton, mainMenuButton, exitButton);
-		gameOverMenu.setLayoutX(WIDTH / 2 - 50); //Position of button
-		gameOverMenu.setLayoutY(HEIGHT / 2 - 50);
+		gameOverMenu.setLayoutX(GameUtil.WIDTH / 2 - 50); //Position of button
+		gameOverMenu.setLayoutY(GameUtil.HEIGHT / 2 - 50);
 
 		// Event handler for the restart button
 		restartButton.setOnAction(event -> {
@@ -533,7 +634,7 @@ public class GameSnakeFX extends Application {
 				finalPlayerName = "Anonymous"; // Use a default name if none was provided
 			}
 
-			int currentScore = snake.getScore(); // Assuming you have a way to get the current score
+			int currentScore = engine.getScore();
 			Leaderboard.saveHighScore(finalPlayerName, currentScore); // Update leaderboard with player name and score
 			showLeaderboard(); // Shows the leaderboard
 		});
@@ -561,7 +662,7 @@ public class GameSnakeFX extends Application {
 		}
 
 		// Load the background image
-		Image backgroundImage = new Image(getClass().getResource("/endGame.jpg").toExternalForm());
+		Image backgroundImage = AssetManager.getImage("/endGame.jpg");
 		BackgroundImage bgImage = new BackgroundImage(backgroundImage,
 				BackgroundRepeat.NO_REPEAT,
 				BackgroundRepeat.NO_REPEAT,
@@ -587,10 +688,16 @@ public class GameSnakeFX extends Application {
 			scoreList.getChildren().add(scoreText);
 		}
 
+		// Where this game placed among every game played
+		Text placement = new Text(Leaderboard.describePlacement(engine.getScore()));
+		placement.getStyleClass().add("scoreText"); // Applying score style
+		StackPane.setAlignment(placement, Pos.BOTTOM_CENTER);
+		StackPane.setMargin(placement, new Insets(0, 0, 30, 0));
+
 		// Adding components to layout, puts the title and score list on leaderboard stage
-		layout.getChildren().addAll(title, scoreList);
+		layout.getChildren().addAll(title, scoreList, placement);
 		// Scene setup
-		Scene scene = new Scene(layout,870, 560); // Size of the leaderboard
+		Scene scene = new Scene(layout, GameUtil.WIDTH, GameUtil.HEIGHT); // Size of the leaderboard
 		// CSS Style for Leaderboard
 		scene.getStylesheets().add(getClass().getResource("/leaderboard.css").toExternalForm());
 		leaderboardStage.setScene(scene);
@@ -605,6 +712,9 @@ public class GameSnakeFX extends Application {
 	public void stop() {
 		// This is called when the application is closed
 		musicPlayer.stopMusic(); // Ensure music is stopped when application exits
+		if (profiler != null) {
+			profiler.stopCsv(); // Flush and close any profiler export
+		}
 	}
 
 	/**
@@ -0,0 +1,87 @@
+package controller;
+
+import model.GameEngine;
+import model.ReplayFile;
+import model.ReplayPlayer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * @Project Replay Tool
+ * @Description Command line entry point that plays a recorded game back headlessly and reports whether it reproduces the recorded outcome.
+ * Usage: ReplayTool replay-file [speed] [start-tick]. Without a speed (or with 0) the replay runs as fast as possible; with one, e.g. 1000, it is paced at that multiple of real time.
+ * With a start tick, playback seeks to the nearest keyframe and continues from there.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ReplayTool {
+    /**
+     * Plays the replay named on the command line and exits with status 1 if it does not match its recording.
+     *
+     * @param args The replay file, an optional playback speed and an optional start tick.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayTool <replay-file> [speed] [start-tick]");
+            System.exit(2);
+        }
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+        long startTick = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        ReplayFile replay;
+        ReplayPlayer player;
+        try {
+            long openStart = System.nanoTime();
+            replay = new ReplayFile(Paths.get(args[0]));
+            long opened = System.nanoTime();
+            player = replay.seek(startTick);
+            System.out.printf("Opened in %.3f ms (%d keyframes), seeked to tick %d in %.3f ms%n",
+                    (opened - openStart) / 1e6, replay.getKeyframeCount(), player.getEngine().getTickCount(), (System.nanoTime() - opened) / 1e6);
+        } catch (IOException e) {
+            System.err.println("Could not read replay: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        long startTicks = player.getEngine().getTickCount();
+        long start = System.nanoTime();
+        if (speed <= 0) {
+            player.playToEnd();
+        } else {
+            // Run the steps due at this multiple of real time, sleeping briefly between batches
+            while (!player.isFinished()) {
+                long due = (long) ((System.nanoTime() - start) * speed / replay.getStepNanos()) - (player.getEngine().getTickCount() - startTicks);
+                if (due > 0) {
+                    player.advance((int) Math.min(due, Integer.MAX_VALUE));
+                } else {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        GameEngine engine = player.getEngine();
+        long ticks = engine.getTickCount() - startTicks;
+        double gameSeconds = ticks * replay.getStepNanos() / 1e9;
+        System.out.printf("Played %d ticks (%.1f s of game time) in %.3f s, %.0fx real time%n",
+                ticks, gameSeconds, elapsed / 1e9, gameSeconds / (elapsed / 1e9));
+        System.out.printf("Score %d, length %d, fingerprint %016x%n", engine.getScore(), engine.getSnake().getLength(), engine.fingerprint());
+        if (player.matchesRecording()) {
+            System.out.println("Outcome matches the recording");
+        } else {
+            System.out.printf("MISMATCH: recorded score %d, length %d, ticks %d, fingerprint %016x%n",
+                    replay.getScore(), replay.getSnakeLength(), replay.getEndTick(), replay.getFingerprint());
+            System.exit(1);
+        }
+        try {
+            replay.close();
+        } catch (IOException e) {
+            System.err.println("Could not close replay: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import util.AssetManager;
+import util.GameUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Project Screen Registry
+ * @Description Builds each FXML screen once, keeps its root and controller, and switches screens by swapping the root of the one scene
+ * on the primary stage. Going back to a screen is then a single root change, with no FXML parsing, controller initialisation or image decoding.
+ * Screens keep their state between visits, such as the name typed on the main menu.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ScreenRegistry {
+    public static final String MAIN_MENU = "/MainMenu.fxml";
+    public static final String SETTINGS = "/Settings.fxml";
+    private static final Map<String, String[]> definitions = new HashMap<>(); // Stylesheet and title of each screen
+    private static final Map<String, Screen> screens = new HashMap<>();
+    private static Scene scene; // The scene on the primary stage, created with the first screen shown
+
+    static {
+        definitions.put(MAIN_MENU, new String[]{"/menu.css", "Main Menu"});
+        definitions.put(SETTINGS, new String[]{"/Settings.css", "Settings"});
+    }
+
+    /**
+     * A built screen.
+     */
+    private static final class Screen {
+        private final Parent root;
+        private final Object controller;
+        private final String title;
+
+        /**
+         * Creates a screen.
+         *
+         * @param root       The screen's root node.
+         * @param controller The screen's controller.
+         * @param title      The window title while the screen is shown.
+         */
+        private Screen(Parent root, Object controller, String title) {
+            this.root = root;
+            this.controller = controller;
+            this.title = title;
+        }
+    }
+
+    /**
+     * Shows an FXML screen on the primary stage, building it the first time. Must be called on the FX thread.
+     *
+     * @param fxml The screen's FXML resource, e.g. {@link #MAIN_MENU}.
+     * @param <T>  The controller type.
+     * @return The screen's controller.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T show(String fxml) {
+        Screen screen = screens.computeIfAbsent(fxml, ScreenRegistry::build);
+        showRoot(screen.root, screen.title);
+        return (T) screen.controller;
+    }
+
+    /**
+     * Shows a root node built elsewhere, such as the game, on the primary stage. Must be called on the FX thread.
+     *
+     * @param root  The root node.
+     * @param title The window title.
+     */
+    public static void showRoot(Parent root, String title) {
+        Stage stage = GameScreenFX.getPrimaryStage();
+        if (scene == null) {
+            scene = new Scene(root, GameUtil.WIDTH, GameUtil.HEIGHT);
+        } else if (scene.getRoot() != root) {
+            scene.setRoot(root);
+        }
+        if (stage.getScene() != scene) {
+            stage.setScene(scene);
+        }
+        stage.setTitle(title);
+    }
+
+    /**
+     * Returns the scene on the primary stage.
+     *
+     * @return The scene, or null before the first screen is shown.
+     */
+    public static Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * Builds a screen from its FXML, which the asset manager has usually loaded already, and attaches its stylesheet to its root.
+     *
+     * @param fxml The screen's FXML resource.
+     * @return The screen.
+     */
+    private static Screen build(String fxml) {
+        FXMLLoader loader = AssetManager.fxml(fxml).join();
+        Parent root = loader.getRoot();
+        String[] definition = definitions.get(fxml);
+        if (definition != null) {
+            root.getStylesheets().add(ScreenRegistry.class.getResource(definition[0]).toExternalForm());
+        }
+        return new Screen(root, loader.getController(), definition != null ? definition[1] : "Snake Game");
+    }
+}
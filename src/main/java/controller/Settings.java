@@ -10,6 +10,9 @@ import javafx.scene.layout.*;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
+import util.AssetManager;
+import util.GameUtil;
+import util.ImageUtil;
 
 /**
  * @Project Settings
@@ -39,8 +42,21 @@ public class Settings {
     private Button confirmButton;
     private static int selectedSpeedLevel = 1; // Default speed that the game will be played in
     private static String selectedBackgroundPath = "/UI-background.png";
+    private static final int DEFAULT_SIMULATION_RATE = 200;
+    private static int simulationRate = DEFAULT_SIMULATION_RATE; // Simulation steps per second, independent of the display refresh rate
+    private static int boardColumns = Integer.getInteger("snake.columns", GameUtil.COLUMNS); // Board size in cells; larger boards scroll
+    private static int boardRows = Integer.getInteger("snake.rows", GameUtil.ROWS);
+
+    static {
+        try {
+            setSimulationRate(Integer.getInteger("snake.rate", DEFAULT_SIMULATION_RATE));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring snake.rate: " + e.getMessage());
+        }
+    }
     private int currentSpeedIndex = 0; // Tracks the speed level
     private int currentBackgroundIndex = 0; // Tracks the background
+    private static final double PREVIEW_SIZE = 150; // Size of the background preview, as set in Settings.fxml
     private final List<String> backgroundImages = Arrays.asList("/UI-background.png", "/UI-background2.png", "/UI-background3.png");
     private final List<Integer> speedLevels = Arrays.asList(1, 2, 3); // Speed levels
 
@@ -53,6 +69,63 @@ public class Settings {
         return selectedSpeedLevel;
     }
 
+    /**
+     * Retrieves the number of simulation steps run per second of game time.
+     *
+     * @return The simulation rate in hertz.
+     */
+    public static int getSimulationRate() {
+        return simulationRate;
+    }
+
+    /**
+     * Sets the number of simulation steps run per second of game time.
+     *
+     * @param rate The simulation rate in hertz.
+     * @throws IllegalArgumentException If the rate is not positive.
+     */
+    public static void setSimulationRate(int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Simulation rate must be positive: " + rate);
+        }
+        simulationRate = rate;
+    }
+
+    /**
+     * Retrieves the width of the board games are played on.
+     *
+     * @return The number of columns.
+     */
+    public static int getBoardColumns() {
+        return boardColumns;
+    }
+
+    /**
+     * Retrieves the height of the board games are played on.
+     *
+     * @return The number of rows.
+     */
+    public static int getBoardRows() {
+        return boardRows;
+    }
+
+    /**
+     * Sets the size of the board games are played on. Boards larger than the game area are viewed through a camera that follows the snake.
+     *
+     * @param columns The width of the board, in cells.
+     * @param rows    The height of the board, in cells.
+     * @throws IllegalArgumentException If a side is outside {@link GameUtil#MIN_BOARD_SIZE} to {@link GameUtil#MAX_BOARD_SIZE}.
+     */
+    public static void setBoardSize(int columns, int rows) {
+        if (columns < GameUtil.MIN_BOARD_SIZE || columns > GameUtil.MAX_BOARD_SIZE
+                || rows < GameUtil.MIN_BOARD_SIZE || rows > GameUtil.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board must be " + GameUtil.MIN_BOARD_SIZE + " to " + GameUtil.MAX_BOARD_SIZE
+                    + " cells a side: " + columns + "x" + rows);
+        }
+        boardColumns = columns;
+        boardRows = rows;
+    }
+
     /**
      * Retrieves the selected background path from the settings.
      *
@@ -104,17 +177,17 @@ public class Settings {
         chooseBackgroundTitle.setText("Choose Background");
         chooseBackgroundTitle.getStyleClass().add("background-title");
 
-        Image backImage = new Image(getClass().getResource("/back.png").toExternalForm());
+        Image backImage = AssetManager.getImage("/back.png");
         ImageView backImageView = new ImageView(backImage);
 
-        Image leftImage = new Image(getClass().getResource("/chevron-left.png").toExternalForm());
+        Image leftImage = AssetManager.getImage("/chevron-left.png");
         ImageView leftImageView = new ImageView(leftImage);
 
-        Image rightImage = new Image(getClass().getResource("/chevron-right.png").toExternalForm());
+        Image rightImage = AssetManager.getImage("/chevron-right.png");
         ImageView rightImageView = new ImageView(rightImage);
 
         // Sets background image
-        Image backgroundImage = new Image(getClass().getResource("/UI-background.png").toExternalForm());
+        Image backgroundImage = ImageUtil.getBackground("/UI-background.png");
         BackgroundImage bgImage = new BackgroundImage(backgroundImage,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundRepeat.NO_REPEAT,
@@ -200,7 +273,7 @@ public class Settings {
         }
 
         try {
-            Image image = new Image(imageUrl.toExternalForm());
+            Image image = AssetManager.getImage(imagePath, PREVIEW_SIZE, PREVIEW_SIZE); // Decoded at the preview's size, not the full background
             backgroundImage.setImage(image);
         } catch (Exception e) {
             e.printStackTrace();
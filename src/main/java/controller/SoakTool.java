@@ -0,0 +1,88 @@
+package controller;
+
+import model.Autopilot;
+import model.Direction;
+import model.GameEngine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Project Soak Tool
+ * @Description Command line load generator that plays games headlessly with the autopilot steering, back to back, for a fixed time.
+ * Usage: SoakTool [seconds] [threads] [speed-ms]. Each thread plays its own games with its own autopilot. At the end it reports how many
+ * games and steps ran, the step rate, the autopilot's planning time and the spread of scores.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class SoakTool {
+    private static final int MAX_SCORES = 1 << 20; // Scores kept per thread for the summary
+
+    /**
+     * Runs the soak test described on the command line.
+     *
+     * @param args The run time in seconds (default 10), the number of threads (default 1) and the snake speed in milliseconds (default 100).
+     */
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 10;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long speed = (args.length > 2 ? Long.parseLong(args[2]) : 100) * 1_000_000;
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        AtomicLong steps = new AtomicLong();
+        AtomicLong plans = new AtomicLong();
+        AtomicLong planNanos = new AtomicLong();
+        int[][] scores = new int[threads][];
+        int[] games = new int[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            workers[t] = new Thread(() -> {
+                Autopilot autopilot = new Autopilot();
+                int[] played = new int[1024];
+                long seed = worker * 1_000_003L;
+                while (System.nanoTime() < deadline) {
+                    GameEngine engine = new GameEngine(speed, GameEngine.DEFAULT_STEP_NANOS, seed++);
+                    long planned = 0;
+                    long planTime = 0;
+                    while (!engine.isGameOver() && System.nanoTime() < deadline) {
+                        Direction turn = null;
+                        if (engine.isMoveDue()) {
+                            long start = System.nanoTime();
+                            turn = autopilot.next(engine);
+                            planTime += System.nanoTime() - start;
+                            planned++;
+                        }
+                        engine.step(turn);
+                    }
+                    steps.addAndGet(engine.getTickCount());
+                    plans.addAndGet(planned);
+                    planNanos.addAndGet(planTime);
+                    if (engine.isGameOver() && games[worker] < MAX_SCORES) {
+                        if (games[worker] == played.length) {
+                            played = Arrays.copyOf(played, played.length * 2);
+                        }
+                        played[games[worker]++] = engine.getScore();
+                    }
+                }
+                scores[worker] = Arrays.copyOf(played, games[worker]);
+            }, "soak-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        int[] all = Arrays.stream(scores).flatMapToInt(Arrays::stream).sorted().toArray();
+        System.out.printf("%d games, %d steps in %d s on %d threads: %.0f steps/s%n", all.length, steps.get(), seconds, threads, steps.get() / (double) seconds);
+        System.out.printf("Autopilot: %d plans, %.1f us each on average%n", plans.get(), plans.get() == 0 ? 0 : planNanos.get() / 1e3 / plans.get());
+        if (all.length > 0) {
+            System.out.printf("Scores: min %d, median %d, max %d%n", all[0], all[all.length / 2], all[all.length - 1]);
+        }
+    }
+}
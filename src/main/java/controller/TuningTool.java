@@ -0,0 +1,299 @@
+package controller;
+
+import model.Autopilot;
+import model.Difficulty;
+import model.Direction;
+import model.GameEngine;
+import util.RankIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @Project Tuning Tool
+ * @Description Command line Monte Carlo runner for tuning the difficulty. It plays headless games with the autopilot steering for every
+ * combination of snake speed, paddle interval, food interval and paddle speed given, and reports how long the bot survived,
+ * how it scored and what killed it. Game i uses the same seed under every combination, so the combinations are compared on the same games.
+ * The games of a combination are split recursively across a ForkJoin pool, each leaf playing a run of seeds with its own autopilot
+ * and tallying into its own counts, which are merged on the way back up; the games share nothing, so the run scales with the cores.
+ * Usage: TuningTool [--games N] [--threads N] [--speeds 100,50,25] [--paddle-every 50] [--food-every 30] [--paddle-move 3]
+ * [--max-seconds 600] [--seed S] [--csv file]. Lists are comma separated; speeds are in milliseconds.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class TuningTool {
+    private static final String[] CAUSES = {"self", "wall", "paddle", "timeout"}; // Timeout: still alive at the game time limit
+    private static final int LEAF_GAMES = 16; // Games a task plays itself rather than splitting further
+    private static final List<String> OPTIONS = List.of("games", "threads", "speeds", "paddle-every", "food-every", "paddle-move",
+            "max-seconds", "seed", "csv");
+
+    /**
+     * The tallies of a run of games under one combination.
+     */
+    private static final class Outcome {
+        private final RankIndex scores = new RankIndex();
+        private final RankIndex survivalTenths = new RankIndex(); // Game time survived, in tenths of a second
+        private final long[] causes = new long[CAUSES.length];
+        private long games = 0;
+        private long steps = 0;
+
+        /**
+         * Adds another run's tallies to this one.
+         *
+         * @param other The other run.
+         */
+        private void merge(Outcome other) {
+            other.scores.forEach(scores::add);
+            other.survivalTenths.forEach(survivalTenths::add);
+            for (int i = 0; i < causes.length; i++) {
+                causes[i] += other.causes[i];
+            }
+            games += other.games;
+            steps += other.steps;
+        }
+    }
+
+    /**
+     * Plays the games with seeds from one index up to another, splitting the range while it is large.
+     */
+    private static final class Batch extends RecursiveTask<Outcome> {
+        private static final long serialVersionUID = 1L;
+        private final long speed;
+        private final Difficulty difficulty;
+        private final long baseSeed;
+        private final long maxNanos;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a batch.
+         *
+         * @param speed      The time between snake moves in nanoseconds.
+         * @param difficulty The difficulty to play at.
+         * @param baseSeed   The seed the game seeds are derived from.
+         * @param maxNanos   The game time after which a game still running is stopped.
+         * @param from       The index of the first game.
+         * @param to         One past the index of the last game.
+         */
+        private Batch(long speed, Difficulty difficulty, long baseSeed, long maxNanos, int from, int to) {
+            this.speed = speed;
+            this.difficulty = difficulty;
+            this.baseSeed = baseSeed;
+            this.maxNanos = maxNanos;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the batch, or splits it in two and merges the halves.
+         *
+         * @return The tallies of the batch's games.
+         */
+        @Override
+        protected Outcome compute() {
+            if (to - from > LEAF_GAMES) {
+                int middle = (from + to) >>> 1;
+                Batch left = new Batch(speed, difficulty, baseSeed, maxNanos, from, middle);
+                left.fork();
+                Outcome outcome = new Batch(speed, difficulty, baseSeed, maxNanos, middle, to).compute();
+                outcome.merge(left.join());
+                return outcome;
+            }
+            Outcome outcome = new Outcome();
+            Autopilot autopilot = new Autopilot();
+            for (int game = from; game < to; game++) {
+                GameEngine engine = new GameEngine(speed, GameEngine.DEFAULT_STEP_NANOS, seedFor(baseSeed, game), difficulty);
+                while (!engine.isGameOver() && engine.getElapsedNanos() < maxNanos) {
+                    Direction turn = engine.isMoveDue() ? autopilot.next(engine) : null;
+                    engine.step(turn);
+                }
+                outcome.scores.add(engine.getScore());
+                outcome.survivalTenths.add((int) (engine.getElapsedNanos() / 100_000_000));
+                outcome.causes[causeIndex(engine.getDeathCause())]++;
+                outcome.games++;
+                outcome.steps += engine.getTickCount();
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * Runs the sweep described on the command line and prints its report.
+     *
+     * @param args The options; see the class description.
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length || !args[i].startsWith("--") || !OPTIONS.contains(args[i].substring(2))) {
+                usage("Unknown option or missing value: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        int games = 0;
+        int threads = 0;
+        long[] speeds = null;
+        long[] paddleIntervals = null;
+        long[] foodIntervals = null;
+        long[] paddleMoves = null;
+        long maxSeconds = 0;
+        long baseSeed = 0;
+        try {
+            games = Integer.parseInt(options.getOrDefault("games", "1000"));
+            threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+            speeds = parseList(options.getOrDefault("speeds", "100,50,25"));
+            paddleIntervals = parseList(options.getOrDefault("paddle-every", String.valueOf(Difficulty.DEFAULT.getPaddleInterval())));
+            foodIntervals = parseList(options.getOrDefault("food-every", String.valueOf(Difficulty.DEFAULT.getFoodInterval())));
+            paddleMoves = parseList(options.getOrDefault("paddle-move", String.valueOf(Difficulty.DEFAULT.getPaddleMoveAmount())));
+            maxSeconds = Long.parseLong(options.getOrDefault("max-seconds", "600"));
+            baseSeed = Long.parseLong(options.getOrDefault("seed", "1"));
+        } catch (NumberFormatException e) {
+            usage("Not a number: " + e.getMessage());
+        }
+        if (games < 1 || threads < 1 || maxSeconds < 1 || maxSeconds > Long.MAX_VALUE / 1_000_000_000L) {
+            usage("--games, --threads and --max-seconds must be positive");
+        }
+        long maxNanos = maxSeconds * 1_000_000_000L;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<String> rows = new ArrayList<>();
+        rows.add("speed_ms,paddle_every,food_every,paddle_move,games,survival_mean_s,survival_p50_s,survival_p90_s,"
+                + "score_p10,score_p50,score_p90,score_max,self,wall,paddle,timeout");
+        System.out.printf("%d games per combination on %d threads%n", games, threads);
+        System.out.printf("%-5s %-6s %-5s %-5s | %-22s | %-25s | %s%n", "speed", "paddle", "food", "move",
+                "survival s mean/p50/p90", "score p10/p50/p90/max", "self/wall/paddle/timeout %");
+        long start = System.nanoTime();
+        long totalGames = 0;
+        long totalSteps = 0;
+        for (long speed : speeds) {
+            for (long paddleInterval : paddleIntervals) {
+                for (long foodInterval : foodIntervals) {
+                    for (long paddleMove : paddleMoves) {
+                        Difficulty difficulty = new Difficulty((int) paddleInterval, (int) foodInterval, (int) paddleMove);
+                        Outcome outcome = pool.invoke(new Batch(speed * 1_000_000, difficulty, baseSeed, maxNanos, 0, games));
+                        totalGames += outcome.games;
+                        totalSteps += outcome.steps;
+                        report(outcome, speed, difficulty, rows);
+                    }
+                }
+            }
+        }
+        pool.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Played %d games (%d steps) in %.1f s: %.0f games/s, %.0f steps/s%n",
+                totalGames, totalSteps, seconds, totalGames / seconds, totalSteps / seconds);
+
+        String csv = options.get("csv");
+        if (csv != null) {
+            try {
+                Files.write(Paths.get(csv), rows);
+                System.out.println("Wrote " + csv);
+            } catch (IOException e) {
+                System.err.println("Could not write " + csv + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Prints what was wrong with the command line and the usage, then exits.
+     *
+     * @param problem What was wrong.
+     */
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: TuningTool [--games N] [--threads N] [--speeds 100,50,25] [--paddle-every 50] [--food-every 30]"
+                + " [--paddle-move 3] [--max-seconds 600] [--seed S] [--csv file]");
+        System.exit(2);
+    }
+
+    /**
+     * Prints one combination's line of the report and adds its CSV row.
+     *
+     * @param outcome    The combination's tallies.
+     * @param speed      The snake speed, in milliseconds.
+     * @param difficulty The difficulty.
+     * @param rows       The CSV rows to add to.
+     */
+    private static void report(Outcome outcome, long speed, Difficulty difficulty, List<String> rows) {
+        double[] survival = {mean(outcome.survivalTenths) / 10, outcome.survivalTenths.percentile(50) / 10.0, outcome.survivalTenths.percentile(90) / 10.0};
+        int[] score = {outcome.scores.percentile(10), outcome.scores.percentile(50), outcome.scores.percentile(90), outcome.scores.scoreAt(0)};
+        double[] causes = new double[CAUSES.length];
+        for (int i = 0; i < causes.length; i++) {
+            causes[i] = 100.0 * outcome.causes[i] / outcome.games;
+        }
+        System.out.printf("%-5d %-6d %-5d %-5d | %6.1f %6.1f %6.1f     | %5d %5d %5d %6d     | %4.1f %4.1f %4.1f %4.1f%n",
+                speed, difficulty.getPaddleInterval(), difficulty.getFoodInterval(), difficulty.getPaddleMoveAmount(),
+                survival[0], survival[1], survival[2], score[0], score[1], score[2], score[3], causes[0], causes[1], causes[2], causes[3]);
+        rows.add(String.format("%d,%d,%d,%d,%d,%.2f,%.2f,%.2f,%d,%d,%d,%d,%d,%d,%d,%d", speed, difficulty.getPaddleInterval(),
+                difficulty.getFoodInterval(), difficulty.getPaddleMoveAmount(), outcome.games, survival[0], survival[1], survival[2],
+                score[0], score[1], score[2], score[3], outcome.causes[0], outcome.causes[1], outcome.causes[2], outcome.causes[3]));
+    }
+
+    /**
+     * Returns the mean of the values in an index.
+     *
+     * @param index The index.
+     * @return The mean, or 0 if it is empty.
+     */
+    private static double mean(RankIndex index) {
+        double[] sum = new double[1];
+        index.forEach((value, count) -> sum[0] += (double) value * count);
+        return index.size() == 0 ? 0 : sum[0] / index.size();
+    }
+
+    /**
+     * Derives a game's seed from the base seed and the game's index with the SplitMix64 mixer, so neighbouring games are unrelated.
+     *
+     * @param baseSeed The run's base seed.
+     * @param game     The game's index.
+     * @return The game's seed.
+     */
+    private static long seedFor(long baseSeed, int game) {
+        long z = baseSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Maps a death cause to its tally.
+     *
+     * @param cause The engine's death cause, or null if the game was stopped at the time limit.
+     * @return The index into {@link #CAUSES}.
+     */
+    private static int causeIndex(String cause) {
+        for (int i = 0; i < CAUSES.length - 1; i++) {
+            if (CAUSES[i].equals(cause)) {
+                return i;
+            }
+        }
+        return CAUSES.length - 1;
+    }
+
+    /**
+     * Parses a comma separated list of positive numbers, exiting with the usage if it is empty or holds anything else.
+     *
+     * @param list The list.
+     * @return The numbers.
+     * @throws NumberFormatException If an entry is not a number.
+     */
+    private static long[] parseList(String list) {
+        String[] parts = list.split(",", -1);
+        long[] values = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Long.parseLong(parts[i].trim());
+            if (values[i] < 1 || values[i] > Integer.MAX_VALUE) {
+                usage("List values must be positive: " + list);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,560 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @Project Arena
+ * @Description Headless multi-snake mode: hundreds to tens of thousands of computer-steered snakes share one board and move one cell every tick,
+ * under the rules of {@link Snake}: a snake dies on leaving the board or running into a body, may move into a tail that is moving on,
+ * cannot turn back on itself, and grows by one segment for each food it eats. Two heads entering the same cell both die.
+ * Snakes are stored as a struct of arrays: one primitive array per field, indexed by snake, with every body a fixed-capacity ring of cell
+ * indices in one shared array, so a tick walks flat arrays rather than objects. A shared occupancy grid holds the owner of every cell.
+ * Each tick runs in two phases. In the propose phase every snake picks its move by reading the grid as it stood at the start of the tick;
+ * snakes only write their own entries, so the phase is split across a ForkJoin pool, and each snake's random tie-break is a hash of the seed,
+ * the snake and the tick rather than a shared generator. The resolve phase then applies every move in snake order on one thread: it finds
+ * contested cells, kills the snakes that collided, moves and feeds the rest, and respawns the dead and eaten food from the arena's generator.
+ * The outcome is therefore the same for any number of threads.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class Arena {
+    public static final int MAX_LENGTH = 128; // Longest a snake grows; a power of two, the capacity of each body ring
+    private static final int RING_MASK = MAX_LENGTH - 1;
+    private static final int START_LENGTH = 3;
+    private static final int EMPTY = 0; // Grid values: empty, food, or the owning snake's index + 1
+    private static final int FOOD = -1;
+    private static final int CONTESTED = -1; // Claimer of a cell two heads want
+    private static final int SIGHT = 8; // Cells a snake looks ahead for food
+    private static final int SPAWN_ATTEMPTS = 32; // Random cells tried per respawn before waiting for the next tick
+    private static final int PROPOSE_CHUNK = 512; // Snakes a propose task handles itself rather than splitting further
+    private static final int[] DX = {0, 0, -1, 1}; // Step for each direction, in Direction order
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    private final int columns;
+    private final int rows;
+    private final int count; // Number of snakes
+    private final int foodTarget; // Foods kept on the board
+    private final long seed;
+    private final GameRandom random; // Respawns and food placement; only used in the resolve phase
+    private final ForkJoinPool pool;
+
+    // The board: the owner of every cell, and which snake claimed each cell in the current tick
+    private final int[] grid;
+    private final int[] claimTicks;
+    private final int[] claimers;
+
+    // The snakes, one entry per snake
+    private final int[] bodies; // Ring of cell indices per snake: segment i of snake s is at bodies[s * MAX_LENGTH + ((heads[s] + i) & RING_MASK)]
+    private final int[] heads; // Ring slot of each head
+    private final int[] lengths;
+    private final int[] growth; // Segments still to grow from food eaten
+    private final byte[] directions; // Direction ordinal each snake last moved in
+    private final boolean[] alive;
+    private final int[] scores;
+    private final int[] targets; // Cell each snake proposed to enter this tick, or -1 for off the board
+    private final byte[] proposed; // Direction of each proposed move
+
+    private int tick = 0;
+    private int foods = 0;
+    private long deaths = 0;
+    private long eaten = 0;
+    private long proposeNanos = 0; // Real time spent in each phase, summed over all ticks
+    private long resolveNanos = 0;
+
+    /**
+     * Creates an arena on the common ForkJoin pool.
+     *
+     * @param columns The width of the board, in cells.
+     * @param rows    The height of the board, in cells.
+     * @param snakes  The number of snakes.
+     * @param foods   The number of foods kept on the board.
+     * @param seed    The seed every random choice is derived from.
+     */
+    public Arena(int columns, int rows, int snakes, int foods, long seed) {
+        this(columns, rows, snakes, foods, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an arena with every snake placed at random, and the foods after them.
+     *
+     * @param columns The width of the board, in cells.
+     * @param rows    The height of the board, in cells.
+     * @param snakes  The number of snakes.
+     * @param foods   The number of foods kept on the board.
+     * @param seed    The seed every random choice is derived from.
+     * @param pool    The pool the propose phase runs on.
+     * @throws IllegalArgumentException If the board is outside the supported sizes or too small for the snakes.
+     */
+    public Arena(int columns, int rows, int snakes, int foods, long seed, ForkJoinPool pool) {
+        if (columns < util.GameUtil.MIN_BOARD_SIZE || columns > util.GameUtil.MAX_BOARD_SIZE
+                || rows < util.GameUtil.MIN_BOARD_SIZE || rows > util.GameUtil.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board must be " + util.GameUtil.MIN_BOARD_SIZE + " to " + util.GameUtil.MAX_BOARD_SIZE
+                    + " cells a side: " + columns + "x" + rows);
+        }
+        if ((long) snakes * START_LENGTH * 4 > (long) columns * rows) {
+            throw new IllegalArgumentException(snakes + " snakes do not fit on a " + columns + "x" + rows + " board");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.count = snakes;
+        this.foodTarget = foods;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        this.pool = pool;
+        grid = new int[columns * rows];
+        claimTicks = new int[columns * rows];
+        claimers = new int[columns * rows];
+        bodies = new int[snakes * MAX_LENGTH];
+        heads = new int[snakes];
+        lengths = new int[snakes];
+        growth = new int[snakes];
+        directions = new byte[snakes];
+        alive = new boolean[snakes];
+        scores = new int[snakes];
+        targets = new int[snakes];
+        proposed = new byte[snakes];
+        for (int s = 0; s < snakes; s++) {
+            spawn(s);
+        }
+        placeFoods();
+    }
+
+    /**
+     * Runs one tick: every live snake proposes a move in parallel, then the moves are resolved in snake order.
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        if (count <= PROPOSE_CHUNK) {
+            proposeRange(0, count);
+        } else {
+            pool.invoke(new Propose(0, count));
+        }
+        long proposedAt = System.nanoTime();
+        resolve();
+        proposeNanos += proposedAt - start;
+        resolveNanos += System.nanoTime() - proposedAt;
+    }
+
+    /**
+     * Proposes the moves of a range of snakes, splitting it while it is large.
+     */
+    private final class Propose extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a task.
+         *
+         * @param from The first snake.
+         * @param to   One past the last snake.
+         */
+        private Propose(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Proposes the range's moves, or splits it in two.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= PROPOSE_CHUNK) {
+                proposeRange(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Propose(from, middle), new Propose(middle, to));
+        }
+    }
+
+    /**
+     * Propose phase for a range of snakes. Reads the board and writes only the range's own targets.
+     *
+     * @param from The first snake.
+     * @param to   One past the last snake.
+     */
+    private void proposeRange(int from, int to) {
+        for (int s = from; s < to; s++) {
+            if (alive[s]) {
+                propose(s);
+            }
+        }
+    }
+
+    /**
+     * Picks a snake's move: of the three cells it can enter, the one that is safe, then nearest a food it can see straight ahead,
+     * then with the most free neighbours, with going straight and a per-tick random bonus breaking ties.
+     *
+     * @param s The snake.
+     */
+    private void propose(int s) {
+        int head = bodies[s * MAX_LENGTH + heads[s]];
+        int x = head % columns;
+        int y = head / columns;
+        int moving = directions[s];
+        long noise = mix(seed ^ ((long) s << 32) ^ tick);
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int d = 0; d < 4; d++) {
+            if (d == (moving ^ 1)) {
+                continue; // The snake cannot turn back on itself; opposite directions differ in the lowest bit
+            }
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            int score;
+            if (nx < 0 || nx >= columns || ny < 0 || ny >= rows || !isEnterable(ny * columns + nx)) {
+                score = -1000;
+            } else {
+                score = freeNeighbours(nx, ny) * 16 + foodAhead(nx, ny, d) * 32;
+            }
+            score += (d == moving ? 8 : 0) + (int) ((noise >>> (d * 4)) & 15);
+            if (score > bestScore) {
+                bestScore = score;
+                best = d;
+            }
+        }
+        int nx = x + DX[best];
+        int ny = y + DY[best];
+        proposed[s] = (byte) best;
+        targets[s] = nx < 0 || nx >= columns || ny < 0 || ny >= rows ? -1 : ny * columns + nx;
+    }
+
+    /**
+     * Checks whether a head may enter a cell as the board stood at the start of the tick: it is empty, a food, or a tail that moves on.
+     *
+     * @param cell The cell.
+     * @return true if entering it is not a collision.
+     */
+    private boolean isEnterable(int cell) {
+        int owner = grid[cell] - 1;
+        return owner < 0 || (tailMoves(owner) && bodies[owner * MAX_LENGTH + ((heads[owner] + lengths[owner] - 1) & RING_MASK)] == cell);
+    }
+
+    /**
+     * Checks whether a snake's tail leaves its cell this tick, which it does unless the snake is still growing.
+     *
+     * @param s The snake.
+     * @return true if the tail moves on.
+     */
+    private boolean tailMoves(int s) {
+        return growth[s] == 0 || lengths[s] == MAX_LENGTH;
+    }
+
+    /**
+     * Counts the neighbours of a cell that are on the board and not covered by a snake.
+     *
+     * @param x The cell's column.
+     * @param y The cell's row.
+     * @return From 0 to 4.
+     */
+    private int freeNeighbours(int x, int y) {
+        int free = 0;
+        for (int d = 0; d < 4; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (nx >= 0 && nx < columns && ny >= 0 && ny < rows && grid[ny * columns + nx] <= EMPTY) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Looks along a direction from a cell for a food, stopping at the first snake or the edge.
+     *
+     * @param x The cell's column.
+     * @param y The cell's row.
+     * @param d The direction ordinal.
+     * @return The closer the food the higher, up to {@link #SIGHT}; 0 if none is in sight.
+     */
+    private int foodAhead(int x, int y, int d) {
+        for (int distance = 0; distance < SIGHT; distance++) {
+            if (x < 0 || x >= columns || y < 0 || y >= rows) {
+                return 0;
+            }
+            int value = grid[y * columns + x];
+            if (value == FOOD) {
+                return SIGHT - distance;
+            }
+            if (value != EMPTY) {
+                return 0;
+            }
+            x += DX[d];
+            y += DY[d];
+        }
+        return 0;
+    }
+
+    /**
+     * Resolve phase: applies every proposed move in snake order. A snake dies if it left the board, shares its target with another head,
+     * or entered a body cell that does not move on this tick; collisions are judged against the board at the start of the tick.
+     * Then the surviving tails move on, the dead are cleared, the surviving heads move and eat, and the dead and eaten food are replaced.
+     */
+    private void resolve() {
+        tick++;
+        // Claim the targets, marking cells wanted by two heads as contested
+        for (int s = 0; s < count; s++) {
+            int target = targets[s];
+            if (alive[s] && target >= 0) {
+                if (claimTicks[target] != tick) {
+                    claimTicks[target] = tick;
+                    claimers[target] = s;
+                } else {
+                    claimers[target] = CONTESTED;
+                }
+            }
+        }
+        // Judge every move before any snake changes the board; a dying snake keeps its target at -1 from here on
+        for (int s = 0; s < count; s++) {
+            int target = targets[s];
+            if (alive[s] && (target < 0 || claimers[target] == CONTESTED || !isEnterable(target))) {
+                targets[s] = -1;
+            }
+        }
+        // Tails move on first, so heads can follow them into their cells; a growing snake's tail stays, making it a segment longer
+        for (int s = 0; s < count; s++) {
+            if (alive[s] && targets[s] >= 0) {
+                if (tailMoves(s)) {
+                    grid[bodies[s * MAX_LENGTH + ((heads[s] + lengths[s] - 1) & RING_MASK)]] = EMPTY;
+                    lengths[s]--;
+                    growth[s] = 0; // Growth beyond the longest a snake can be is dropped
+                } else {
+                    growth[s]--;
+                }
+            }
+        }
+        for (int s = 0; s < count; s++) {
+            if (alive[s] && targets[s] < 0) {
+                kill(s);
+            }
+        }
+        for (int s = 0; s < count; s++) {
+            if (alive[s]) {
+                advance(s);
+            }
+        }
+        for (int s = 0; s < count; s++) {
+            if (!alive[s]) {
+                spawn(s);
+            }
+        }
+        placeFoods();
+    }
+
+    /**
+     * Moves a surviving snake's head into its target, feeding it if the target holds food.
+     *
+     * @param s The snake.
+     */
+    private void advance(int s) {
+        int target = targets[s];
+        if (grid[target] == FOOD) {
+            growth[s]++;
+            scores[s] += GameEngine.FOOD_SCORE;
+            foods--;
+            eaten++;
+        }
+        heads[s] = (heads[s] - 1) & RING_MASK;
+        bodies[s * MAX_LENGTH + heads[s]] = target;
+        lengths[s]++;
+        directions[s] = proposed[s];
+        grid[target] = s + 1;
+    }
+
+    /**
+     * Removes a dead snake from the board.
+     *
+     * @param s The snake.
+     */
+    private void kill(int s) {
+        for (int i = 0; i < lengths[s]; i++) {
+            int cell = bodies[s * MAX_LENGTH + ((heads[s] + i) & RING_MASK)];
+            if (grid[cell] == s + 1) {
+                grid[cell] = EMPTY;
+            }
+        }
+        alive[s] = false;
+        lengths[s] = 0;
+        deaths++;
+    }
+
+    /**
+     * Places a snake of the starting length on a random empty row segment, heading right, with no score.
+     * If no space is found the snake stays dead and is tried again next tick.
+     *
+     * @param s The snake.
+     */
+    private void spawn(int s) {
+        for (int attempt = 0; attempt < SPAWN_ATTEMPTS; attempt++) {
+            int x = START_LENGTH - 1 + random.nextInt(columns - START_LENGTH);
+            int y = random.nextInt(rows);
+            int cell = y * columns + x;
+            if (grid[cell] != EMPTY || grid[cell - 1] != EMPTY || grid[cell - 2] != EMPTY || grid[cell + 1] != EMPTY) {
+                continue; // Also keep the cell ahead clear, so the snake does not spawn facing a body
+            }
+            heads[s] = 0;
+            for (int i = 0; i < START_LENGTH; i++) {
+                bodies[s * MAX_LENGTH + i] = cell - i;
+                grid[cell - i] = s + 1;
+            }
+            lengths[s] = START_LENGTH;
+            growth[s] = 0;
+            directions[s] = (byte) Direction.RIGHT.ordinal();
+            scores[s] = 0;
+            alive[s] = true;
+            return;
+        }
+    }
+
+    /**
+     * Tops the board up to its food count, each food on a random empty cell.
+     */
+    private void placeFoods() {
+        int cells = columns * rows;
+        for (int attempt = 0; foods < foodTarget && attempt < foodTarget * SPAWN_ATTEMPTS; attempt++) {
+            int cell = random.nextInt(cells);
+            if (grid[cell] == EMPTY) {
+                grid[cell] = FOOD;
+                foods++;
+            }
+        }
+    }
+
+    /**
+     * Scrambles a value with the SplitMix64 finaliser, for the snakes' random tie-breaks.
+     *
+     * @param z The value.
+     * @return The scrambled value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of every snake's position, length and score and of the tick, so runs on different numbers of threads
+     * can be checked to have played out identically.
+     *
+     * @return The state hash.
+     */
+    public long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ tick) * 0x100000001b3L;
+        for (int s = 0; s < count; s++) {
+            hash = (hash ^ (alive[s] ? bodies[s * MAX_LENGTH + heads[s]] : -1)) * 0x100000001b3L;
+            hash = (hash ^ lengths[s]) * 0x100000001b3L;
+            hash = (hash ^ scores[s]) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of ticks run.
+     *
+     * @return The tick count.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the number of snakes, alive or waiting to respawn.
+     *
+     * @return The snake count.
+     */
+    public int getSnakeCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of snakes on the board.
+     *
+     * @return The live snake count.
+     */
+    public int getAliveCount() {
+        int live = 0;
+        for (int s = 0; s < count; s++) {
+            if (alive[s]) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Returns the length of a snake.
+     *
+     * @param s The snake.
+     * @return The number of segments, 0 while it waits to respawn.
+     */
+    public int getLength(int s) {
+        return lengths[s];
+    }
+
+    /**
+     * Returns the score of a snake since it last spawned.
+     *
+     * @param s The snake.
+     * @return The score.
+     */
+    public int getScore(int s) {
+        return scores[s];
+    }
+
+    /**
+     * Returns the number of snakes that have died.
+     *
+     * @return The death count.
+     */
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Returns the number of foods eaten.
+     *
+     * @return The eaten count.
+     */
+    public long getEaten() {
+        return eaten;
+    }
+
+    /**
+     * Returns the real time spent in the propose phase of every tick.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getProposeNanos() {
+        return proposeNanos;
+    }
+
+    /**
+     * Returns the real time spent in the resolve phase of every tick.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getResolveNanos() {
+        return resolveNanos;
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,342 @@
+package model;
+
+import util.GameUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Project Autopilot
+ * @Description Steers the snake on its own, for attract mode and soak tests. Each move it runs a breadth-first search from the head
+ * and turns along the shortest path to the nearest food. The search knows when each cell will be free: a body segment is passable
+ * once the tail has moved past it by the time the head arrives, and a paddle blocks the cells it is predicted to sweep while the head
+ * would be in them. If no food can be reached it heads for the neighbour with the most room. All the search state lives in primitive
+ * arrays sized to the board and reused between moves: the board is padded with a ring of wall cells so the search needs no bounds checks,
+ * cells reached are told apart from earlier searches by a generation number, and the few body and food marks are undone after each plan,
+ * so planning never allocates.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class Autopilot {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] DX = {0, 0, -1, 1}; // Step for each direction, in Direction order
+    private static final int[] DY = {-1, 1, 0, 0};
+    private static final int WALL = Integer.MAX_VALUE; // Moves until a wall cell frees up: never
+    private static final long MAX_CELLS = 1 << 22; // Largest board searched, at about fourteen bytes of search state a cell
+
+    private int columns;
+    private int rows;
+    private int stride; // Width of the padded board; cell (x, y) has index (y + 1) * stride + x + 1
+    private final int[] offsets = new int[4]; // Index step for each direction on the padded board
+    private int[] queue = new int[0]; // Open set of the search: cells in the order they were reached
+    private int[] seen = new int[0]; // Generation in which each cell was reached
+    private byte[] firstMove = new byte[0]; // Direction of the first move on the path to each reached cell
+    private int[] blockedFor = new int[0]; // Moves until each cell is free: the body's cells count down, walls never free up
+    private boolean[] food = new boolean[0];
+    private int[] paddleRowMark = new int[0]; // Generation in which each padded row was found to have a paddle in it
+    private int generation = 0;
+    private final int[] room = new int[4]; // Cells reachable through each first move, for the fallback
+
+    // Paddle predictions for the current plan, one entry per paddle
+    private double[] paddleCentre = new double[0];
+    private double[] paddleVelocity = new double[0]; // Pixels per nanosecond
+    private double[] paddleLow = new double[0]; // Range the paddle's centre bounces within
+    private double[] paddleHigh = new double[0];
+    private double[] paddleHalfWidth = new double[0];
+    private int[] paddleTopRow = new int[0];
+    private int[] paddleBottomRow = new int[0];
+    private int paddleCount = 0;
+    private long speed; // Time between moves, which sets when the head reaches each cell
+    private long untilMove; // Time until the next move, when the head enters the first cell of its path
+
+    private int lastDistance = -1;
+
+    /**
+     * Chooses the turn for the snake's next move in a running game.
+     *
+     * @param engine The game.
+     * @return The direction to move in next, or null to keep going straight.
+     */
+    public Direction next(GameEngine engine) {
+        Levels levels = engine.getLevels();
+        Snake snake = engine.getSnake();
+        long untilMove = Math.max(0, snake.getLastMoveTime() + snake.getSpeed() - engine.getElapsedNanos());
+        return plan(snake, levels.getFoods(), levels.getPaddles(), untilMove);
+    }
+
+    /**
+     * Chooses the direction of the snake's next move: along the shortest safe path to the nearest food, or towards the most room
+     * if no food can be reached.
+     *
+     * @param snake     The snake.
+     * @param foods     The foods on the board.
+     * @param paddles   The paddles on the board.
+     * @param untilMove The time until the snake's next move, in nanoseconds.
+     * @return The direction to move in next, or null if every neighbouring cell is blocked.
+     */
+    public Direction plan(Snake snake, List<Food> foods, List<Paddle> paddles, long untilMove) {
+        this.untilMove = untilMove;
+        prepare(snake, foods, paddles);
+        int headX = snake.getX(0);
+        int headY = snake.getY(0);
+        Direction direction = null;
+        if (headX >= 0 && headX < columns && headY >= 0 && headY < rows) {
+            direction = search((headY + 1) * stride + headX + 1, snake.getDirection(0));
+        }
+        mark(snake, foods, false);
+        return direction;
+    }
+
+    /**
+     * Searches outwards from the head, one move at a time, until it reaches a food or runs out of cells.
+     *
+     * @param start  The head's cell.
+     * @param moving The direction the head last moved in.
+     * @return The first move towards the nearest food, or towards the most room if none is reachable, or null if no move is safe.
+     */
+    private Direction search(int start, Direction moving) {
+        int head = 0;
+        int tail = 0;
+        seen[start] = generation;
+        seen[start + offsets[moving.opposite().ordinal()]] = generation; // The snake cannot turn back on itself
+        room[0] = room[1] = room[2] = room[3] = 0;
+        lastDistance = -1;
+
+        // The first move: each neighbour starts its own branch
+        for (int d = 0; d < 4; d++) {
+            int next = start + offsets[d];
+            if (seen[next] != generation && isFree(next, 1)) {
+                seen[next] = generation;
+                firstMove[next] = (byte) d;
+                if (food[next]) {
+                    lastDistance = 1;
+                    return DIRECTIONS[d];
+                }
+                room[d]++;
+                queue[tail++] = next;
+            }
+        }
+
+        int arrival = 2; // Move on which the head enters the cells being reached
+        int layerEnd = tail;
+        while (head < tail) {
+            if (head == layerEnd) {
+                arrival++;
+                layerEnd = tail;
+            }
+            int cell = queue[head++];
+            int move = firstMove[cell];
+            for (int d = 0; d < 4; d++) {
+                int next = cell + offsets[d];
+                if (seen[next] == generation || !isFree(next, arrival)) {
+                    continue;
+                }
+                seen[next] = generation;
+                firstMove[next] = (byte) move;
+                if (food[next]) {
+                    lastDistance = arrival;
+                    return DIRECTIONS[move];
+                }
+                room[move]++;
+                queue[tail++] = next;
+            }
+        }
+
+        // No food is reachable: head for the most room
+        int best = -1;
+        for (int d = 0; d < 4; d++) {
+            if (room[d] > 0 && (best < 0 || room[d] > room[best])) {
+                best = d;
+            }
+        }
+        return best < 0 ? null : DIRECTIONS[best];
+    }
+
+    /**
+     * Checks whether the head can be in a cell on a given move: off the walls, clear of the body by then, and out of every paddle's way.
+     *
+     * @param cell    The cell on the padded board.
+     * @param arrival The move on which the head would enter the cell, 1 being the next move.
+     * @return true if the cell is safe then.
+     */
+    private boolean isFree(int cell, int arrival) {
+        if (blockedFor[cell] > arrival) {
+            return false;
+        }
+        int row = cell / stride;
+        return paddleRowMark[row] != generation || !isPaddleInWay(cell - row * stride - 1, row - 1, arrival);
+    }
+
+    /**
+     * Returns the length of the path found by the last plan.
+     *
+     * @return The number of moves to the food, or -1 if no food was reachable.
+     */
+    public int getLastDistance() {
+        return lastDistance;
+    }
+
+    /**
+     * Starts a new generation and records where the body, the foods and the paddles are, growing the arrays if the board has.
+     *
+     * @param snake   The snake.
+     * @param foods   The foods.
+     * @param paddles The paddles.
+     */
+    private void prepare(Snake snake, List<Food> foods, List<Paddle> paddles) {
+        speed = snake.getSpeed();
+        if (snake.getColumns() != columns || snake.getRows() != rows) {
+            resize(snake.getColumns(), snake.getRows());
+        }
+        if (++generation == 0) {
+            // Wrapped around after four billion plans; old marks could match again
+            Arrays.fill(seen, 0);
+            Arrays.fill(paddleRowMark, 0);
+            generation = 1;
+        }
+        mark(snake, foods, true);
+
+        paddleCount = paddles.size();
+        if (paddleCentre.length < paddleCount) {
+            int capacity = Math.max(paddleCount, 2 * paddleCentre.length);
+            paddleCentre = new double[capacity];
+            paddleVelocity = new double[capacity];
+            paddleLow = new double[capacity];
+            paddleHigh = new double[capacity];
+            paddleHalfWidth = new double[capacity];
+            paddleTopRow = new int[capacity];
+            paddleBottomRow = new int[capacity];
+        }
+        for (int i = 0; i < paddleCount; i++) {
+            Paddle paddle = paddles.get(i);
+            paddleCentre[i] = paddle.getCentreX();
+            paddleVelocity[i] = (double) paddle.getMoveAmount() / Paddle.REFERENCE_FRAME_NANOS;
+            paddleLow[i] = paddle.getMin();
+            paddleHigh[i] = Math.max(paddle.getMin(), paddle.getMax() - paddle.getWidth());
+            paddleHalfWidth[i] = paddle.getWidth() / 2.0;
+            paddleTopRow[i] = (int) Math.floor(paddle.getY() / GameUtil.CELL_SIZE);
+            paddleBottomRow[i] = (int) Math.ceil((paddle.getY() + paddle.getHeight()) / GameUtil.CELL_SIZE) - 1;
+            for (int row = Math.max(0, paddleTopRow[i]); row <= Math.min(rows - 1, paddleBottomRow[i]); row++) {
+                paddleRowMark[row + 1] = generation;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the autopilot can steer on a board. Its search state is sized to the whole board, so very large boards are refused.
+     *
+     * @param columns The board's width.
+     * @param rows    The board's height.
+     * @return true if the board is small enough to search.
+     */
+    public static boolean supports(int columns, int rows) {
+        return (long) columns * rows <= MAX_CELLS;
+    }
+
+    /**
+     * Reallocates the search arrays for a board of a new size and walls off its border.
+     *
+     * @param columns The board's width.
+     * @param rows    The board's height.
+     */
+    private void resize(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        stride = columns + 2;
+        int cells = stride * (rows + 2);
+        queue = new int[cells];
+        seen = new int[cells];
+        firstMove = new byte[cells];
+        blockedFor = new int[cells];
+        food = new boolean[cells];
+        paddleRowMark = new int[rows + 2];
+        generation = 0;
+        for (int x = 0; x < stride; x++) {
+            blockedFor[x] = WALL;
+            blockedFor[cells - stride + x] = WALL;
+        }
+        for (int row = 1; row <= rows; row++) {
+            blockedFor[row * stride] = WALL;
+            blockedFor[row * stride + stride - 1] = WALL;
+        }
+        for (int d = 0; d < 4; d++) {
+            offsets[d] = DX[d] + DY[d] * stride;
+        }
+    }
+
+    /**
+     * Marks or unmarks the body and the foods on the board.
+     *
+     * @param snake  The snake.
+     * @param foods  The foods.
+     * @param marked true to mark them before a search, false to undo the marks after it.
+     */
+    private void mark(Snake snake, List<Food> foods, boolean marked) {
+        // Segment i is left behind by the tail after length - i moves
+        int length = snake.getLength();
+        for (int i = 1; i < length; i++) {
+            int x = snake.getX(i);
+            int y = snake.getY(i);
+            if (x >= 0 && x < columns && y >= 0 && y < rows) {
+                int cell = (y + 1) * stride + x + 1;
+                // A segment grown on top of the tail shares its cell; the cell frees when the earlier of them leaves
+                blockedFor[cell] = marked ? Math.max(blockedFor[cell], length - i) : 0;
+            }
+        }
+        for (int i = 0; i < foods.size(); i++) {
+            Food item = foods.get(i);
+            food[(item.getY() + 1) * stride + item.getX() + 1] = marked;
+        }
+    }
+
+    /**
+     * Checks whether a paddle is predicted to sweep over a cell while the head would be in it.
+     *
+     * @param x       The cell's x-coordinate.
+     * @param y       The cell's y-coordinate.
+     * @param arrival The move on which the head would enter the cell, 1 being the next move.
+     * @return true if a paddle would hit the head there.
+     */
+    private boolean isPaddleInWay(int x, int y, int arrival) {
+        // The head sits in the cell from its arrival until the following move
+        double enter = untilMove + (double) (arrival - 1) * speed;
+        double leave = enter + speed;
+        double left = (double) x * GameUtil.CELL_SIZE;
+        double right = left + GameUtil.CELL_SIZE;
+        for (int i = 0; i < paddleCount; i++) {
+            if (y < paddleTopRow[i] || y > paddleBottomRow[i]) {
+                continue;
+            }
+            double from = predictCentre(i, enter);
+            double to = predictCentre(i, leave);
+            double sweptLeft = Math.min(from, to) - paddleHalfWidth[i];
+            double sweptRight = Math.max(from, to) + paddleHalfWidth[i];
+            if (left < sweptRight && right > sweptLeft) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Predicts where a paddle's centre will be, folding its straight-line motion back and forth between the ends of its range.
+     *
+     * @param paddle The paddle's index.
+     * @param nanos  The time from now, in nanoseconds.
+     * @return The predicted x-coordinate of the centre.
+     */
+    private double predictCentre(int paddle, double nanos) {
+        double low = paddleLow[paddle];
+        double span = paddleHigh[paddle] - low;
+        double centre = paddleCentre[paddle];
+        if (span <= 0 || centre <= low || centre >= paddleHigh[paddle]) {
+            return centre; // Outside its range a paddle reverses every step, so it jitters in place
+        }
+        double position = centre + paddleVelocity[paddle] * nanos;
+        double folded = (position - low) % (2 * span);
+        if (folded < 0) {
+            folded += 2 * span;
+        }
+        return low + (folded <= span ? folded : 2 * span - folded);
+    }
+}
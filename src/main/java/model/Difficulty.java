@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * @Project Difficulty
+ * @Description The tunable numbers behind how hard a game gets: how often paddles and foods are added as the score rises, and how fast
+ * paddles move. The snake's speed for each level of the settings screen lives here too. A game keeps one Difficulty for its whole length;
+ * the tuning runner plays the same seeds under different ones to compare them.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class Difficulty {
+    public static final Difficulty DEFAULT = new Difficulty(50, 30, Paddle.DEFAULT_MOVE_AMOUNT);
+    private final int paddleInterval;
+    private final int foodInterval;
+    private final int paddleMoveAmount;
+
+    /**
+     * Creates a difficulty.
+     *
+     * @param paddleInterval   Points between one paddle being added and the next.
+     * @param foodInterval     Points between one food being added and the next.
+     * @param paddleMoveAmount Pixels each paddle moves per reference frame.
+     */
+    public Difficulty(int paddleInterval, int foodInterval, int paddleMoveAmount) {
+        if (paddleInterval <= 0 || foodInterval <= 0 || paddleMoveAmount <= 0) {
+            throw new IllegalArgumentException("Intervals and paddle speed must be positive");
+        }
+        this.paddleInterval = paddleInterval;
+        this.foodInterval = foodInterval;
+        this.paddleMoveAmount = paddleMoveAmount;
+    }
+
+    /**
+     * Returns the time between snake moves for a speed level chosen on the settings screen.
+     *
+     * @param level The speed level: 1, 2 or 3.
+     * @return The time between moves in nanoseconds; level 1's for any other value.
+     */
+    public static long speedForLevel(int level) {
+        switch (level) {
+            case 2: return 50_000_000;
+            case 3: return 25_000_000;
+            case 1:
+            default: return 100_000_000;
+        }
+    }
+
+    /**
+     * Returns the points between one paddle being added and the next.
+     *
+     * @return The paddle interval.
+     */
+    public int getPaddleInterval() {
+        return paddleInterval;
+    }
+
+    /**
+     * Returns the points between one food being added and the next.
+     *
+     * @return The food interval.
+     */
+    public int getFoodInterval() {
+        return foodInterval;
+    }
+
+    /**
+     * Returns how far each paddle moves per reference frame.
+     *
+     * @return The distance in pixels.
+     */
+    public int getPaddleMoveAmount() {
+        return paddleMoveAmount;
+    }
+
+    /**
+     * Describes the difficulty, e.g. for a report.
+     *
+     * @return The settings as text.
+     */
+    @Override
+    public String toString() {
+        return "paddle every " + paddleInterval + ", food every " + foodInterval + ", paddle move " + paddleMoveAmount;
+    }
+}
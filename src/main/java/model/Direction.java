@@ -7,5 +7,19 @@ package model;
  * @version 1.0
  */
 public enum Direction {
-    UP, DOWN, LEFT, RIGHT
+    UP, DOWN, LEFT, RIGHT;
+
+    /**
+     * Returns the direction pointing the other way.
+     *
+     * @return The opposite direction.
+     */
+    public Direction opposite() {
+        switch (this) {
+            case UP: return DOWN;
+            case DOWN: return UP;
+            case LEFT: return RIGHT;
+            default: return LEFT;
+        }
+    }
 }
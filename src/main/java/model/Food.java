@@ -1,51 +1,97 @@
 package model;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-
 import java.util.List;
 import java.util.Random;
 
 /**
  * @Project Food
- * @Description Represents the food entities in the game. Responsible for managing the food's appearance, location, and rendering on the canvas.
+ * @Description Represents the food entities in the game. Responsible for managing the food's appearance key and location on the board.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
  */
 public class Food {
-	private Image image;
-	private int x, y; // Position of the food on the canvas
+	private String imageKey; // Key of the image used to render the food
+	private int x, y; // Position of the food on the board, in cells
 	private final List<String> imageKeys;// List of image keys for different foods
-	private final Random random = new Random();
+	private final FreeCells freeCells; // Cells the food may be placed in
+	private boolean placed = false; // Whether the food currently blocks its cell
+	private final Random random; // Source of the food's images and positions
+
+	/**
+	 * Constructor for Food. Initializes the food with a list of image keys and places it in a free cell.
+	 *
+	 * @param imageKeys List of keys representing different food images.
+	 * @param freeCells Index of the cells not covered by the snake, paddles or other foods.
+	 */
+	public Food(List<String> imageKeys, FreeCells freeCells) {
+		this(imageKeys, freeCells, new Random());
+	}
 
 	/**
-	 * Constructor for Food. Initializes the food with a list of image keys.
+	 * Constructor for Food. Initializes the food with a list of image keys and places it in a free cell, drawing every
+	 * image and position from the given generator so games can be reproduced.
 	 *
 	 * @param imageKeys List of keys representing different food images.
+	 * @param freeCells Index of the cells not covered by the snake, paddles or other foods.
+	 * @param random The generator shared by everything random in the game.
 	 */
-	public Food(List<String> imageKeys) {
+	public Food(List<String> imageKeys, FreeCells freeCells, Random random) {
 		this.imageKeys = imageKeys;
+		this.freeCells = freeCells;
+		this.random = random;
 		relocateAndChangeImage();
 	}
 
+	/**
+	 * Recreates a food from saved state, blocking its cell if it was placed. Used when restoring a snapshot.
+	 *
+	 * @param imageKeys List of keys representing different food images.
+	 * @param freeCells Index of the cells not covered by the snake, paddles or other foods.
+	 * @param random The generator shared by everything random in the game.
+	 * @param imageKey The key of the food's current image.
+	 * @param x The x-coordinate of the food.
+	 * @param y The y-coordinate of the food.
+	 * @param placed Whether the food blocks its cell.
+	 */
+	Food(List<String> imageKeys, FreeCells freeCells, Random random, String imageKey, int x, int y, boolean placed) {
+		this.imageKeys = imageKeys;
+		this.freeCells = freeCells;
+		this.random = random;
+		this.imageKey = imageKey;
+		this.x = x;
+		this.y = y;
+		this.placed = placed;
+		if (placed) {
+			freeCells.block(x, y);
+		}
+	}
+
 	/**
 	 * Relocates the current food item and changes its image.
-	 * Generates a new image and random coordinates for the food item.
+	 * Picks a new image key and a uniformly random free cell, so the food never lands on the snake, a paddle or another food.
+	 * If the board is completely full the food stays where it is.
 	 */
 	public void relocateAndChangeImage() {
-		String key = imageKeys.get(random.nextInt(imageKeys.size()));
-		image = util.ImageUtil.getImage(key);
-		x = random.nextInt(util.GameUtil.WIDTH / util.GameUtil.CELL_SIZE);
-		y = random.nextInt(util.GameUtil.HEIGHT / util.GameUtil.CELL_SIZE);
+		imageKey = imageKeys.get(random.nextInt(imageKeys.size()));
+		if (placed) {
+			freeCells.unblock(x, y);
+		}
+		int cell = freeCells.sample(random);
+		if (cell >= 0) {
+			x = cell % freeCells.getColumns();
+			y = cell / freeCells.getColumns();
+		}
+		freeCells.block(x, y);
+		placed = true;
 	}
 
 	/**
-	 * Draws the food item on the canvas using the provided GraphicsContext object.
+	 * Gets the key of the image the food should be rendered with.
 	 *
-	 * @param gc The GraphicsContext object used to draw the food.
+	 * @return Image key of the food.
 	 */
-	public void draw(GraphicsContext gc) {
-		gc.drawImage(image, x * util.GameUtil.CELL_SIZE, y * util.GameUtil.CELL_SIZE, util.GameUtil.CELL_SIZE, util.GameUtil.CELL_SIZE);
+	public String getImageKey() {
+		return imageKey;
 	}
 
 	/**
@@ -66,6 +112,15 @@ public class Food {
 		return y;
 	}
 
+	/**
+	 * Checks whether the food blocks its cell in the free cell index, for saving in a snapshot.
+	 *
+	 * @return true if the food has been placed, false otherwise.
+	 */
+	boolean isPlaced() {
+		return placed;
+	}
+
 
 }
 
@@ -0,0 +1,326 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * @Project Free Cells
+ * @Description Index of the board cells not covered by the snake, a paddle or a food. Free cells are kept in a dense array with a
+ * position index so a cell can be removed by swapping the last entry into its place, and a uniformly random free cell can be picked
+ * in constant time however full the board is. Boards too large for per-cell arrays keep one occupancy bit per cell instead, with the
+ * free cells of every 64-cell word counted in a Fenwick tree; a free cell is picked by drawing its rank among the free cells and
+ * descending the tree to it, which is uniform and takes O(log n) however full the board is. Cells covered by more than one thing at once
+ * are rare, so on those boards the extra blockers are counted in a small open-addressing table.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class FreeCells {
+    private static final int DENSE_LIMIT = 1 << 22; // Most cells indexed densely, at ten bytes a cell; larger boards use under two bits a cell
+    private final int columns; // Width of the board, in cells
+    private final int rows; // Height of the board, in cells
+    private final int cells;
+    private final int[] free; // Indices of the free cells; the first `count` entries are valid. Null on a large board
+    private final int[] positions; // Position of each cell in `free`, or -1 when it is blocked
+    private final short[] blockers; // Number of things covering each cell
+    private int count;
+
+    // Large boards: a bit per cell, free counts per word, and the blockers beyond the first in a linear-probing table
+    private final long[] blocked; // Bit set for every covered cell, and for the padding past the last cell
+    private final int[] wordFree; // Fenwick tree, 1-based, of the free cells in each word of `blocked`
+    private int[] extraKeys; // Cell index + 1 in each slot, 0 for an empty slot
+    private short[] extraCounts; // Blockers of the cell beyond the first
+    private int extraSize = 0;
+    private int hashShift; // 32 minus log2 of the table size
+
+    /**
+     * Creates an index in which every cell of the board is free.
+     *
+     * @param columns The width of the board, in cells.
+     * @param rows    The height of the board, in cells.
+     */
+    public FreeCells(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = columns * rows;
+        this.count = cells;
+        if (cells > DENSE_LIMIT) {
+            this.free = null;
+            this.positions = null;
+            this.blockers = null;
+            int words = (cells + 63) >>> 6;
+            this.blocked = new long[words];
+            if ((cells & 63) != 0) {
+                blocked[words - 1] = -1L << (cells & 63); // Padding past the last cell is never free
+            }
+            this.wordFree = new int[words + 1];
+            for (int i = 1; i <= words; i++) {
+                wordFree[i] += Long.bitCount(~blocked[i - 1]);
+                int parent = i + (i & -i);
+                if (parent <= words) {
+                    wordFree[parent] += wordFree[i];
+                }
+            }
+            this.extraKeys = new int[64];
+            this.extraCounts = new short[64];
+            this.hashShift = 32 - 6;
+            return;
+        }
+        this.blocked = null;
+        this.wordFree = null;
+        this.free = new int[cells];
+        this.positions = new int[cells];
+        this.blockers = new short[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            free[cell] = cell;
+            positions[cell] = cell;
+        }
+    }
+
+    /**
+     * Records that something now covers a cell. The cell stops being free when it gets its first blocker.
+     * Cells outside the board are ignored.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     */
+    public void block(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return;
+        }
+        int cell = y * columns + x;
+        if (free == null) {
+            long bit = 1L << cell;
+            if ((blocked[cell >>> 6] & bit) == 0) {
+                blocked[cell >>> 6] |= bit;
+                addFree(cell >>> 6, -1);
+                count--;
+                return;
+            }
+            int slot = findSlot(cell);
+            if (extraKeys[slot] == 0) {
+                extraKeys[slot] = cell + 1;
+                if (++extraSize * 2 > extraKeys.length) {
+                    growTable();
+                    slot = findSlot(cell);
+                }
+            }
+            extraCounts[slot]++;
+            return;
+        }
+        if (blockers[cell]++ == 0) {
+            // Swap the last free cell into this one's place
+            int position = positions[cell];
+            int last = free[--count];
+            free[position] = last;
+            positions[last] = position;
+            positions[cell] = -1;
+        }
+    }
+
+    /**
+     * Records that something no longer covers a cell. The cell becomes free when its last blocker leaves.
+     * Cells outside the board are ignored.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     */
+    public void unblock(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return;
+        }
+        int cell = y * columns + x;
+        if (free == null) {
+            long bit = 1L << cell;
+            if ((blocked[cell >>> 6] & bit) == 0) {
+                return;
+            }
+            int slot = extraSize == 0 ? -1 : findSlot(cell);
+            if (slot >= 0 && extraKeys[slot] != 0) {
+                if (--extraCounts[slot] == 0) {
+                    removeSlot(slot);
+                }
+                return;
+            }
+            blocked[cell >>> 6] &= ~bit;
+            addFree(cell >>> 6, 1);
+            count++;
+            return;
+        }
+        if (--blockers[cell] == 0) {
+            free[count] = cell;
+            positions[cell] = count++;
+        }
+    }
+
+    /**
+     * Checks whether a cell is on the board and not covered by anything.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return true if the cell is free, false otherwise.
+     */
+    public boolean isFree(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return false;
+        }
+        int cell = y * columns + x;
+        return free == null ? (blocked[cell >>> 6] & (1L << cell)) == 0 : blockers[cell] == 0;
+    }
+
+    /**
+     * Returns the number of free cells.
+     *
+     * @return The free cell count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Picks a free cell uniformly at random.
+     *
+     * @param random The random number generator to draw from.
+     * @return The cell index (y * columns + x), or -1 if the board is full.
+     */
+    public int sample(Random random) {
+        if (count == 0) {
+            return -1;
+        }
+        if (free != null) {
+            return free[random.nextInt(count)];
+        }
+        // Descend the Fenwick tree to the word holding the free cell of the drawn rank, then find the cell within the word
+        int rank = random.nextInt(count);
+        int word = 0;
+        for (int step = Integer.highestOneBit(blocked.length); step > 0; step >>= 1) {
+            if (word + step <= blocked.length && wordFree[word + step] <= rank) {
+                word += step;
+                rank -= wordFree[word];
+            }
+        }
+        long freeBits = ~blocked[word];
+        for (int i = 0; i < rank; i++) {
+            freeBits &= freeBits - 1;
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(freeBits);
+    }
+
+    /**
+     * Adds to the free count of a word in the Fenwick tree.
+     *
+     * @param word  The index of the word in the occupancy bits.
+     * @param delta The change in its free cells.
+     */
+    private void addFree(int word, int delta) {
+        for (int i = word + 1; i < wordFree.length; i += i & -i) {
+            wordFree[i] += delta;
+        }
+    }
+
+    /**
+     * Finds the slot of a cell in the extra blocker table: the slot holding it, or the empty slot where it would go.
+     *
+     * @param cell The cell index.
+     * @return The slot.
+     */
+    private int findSlot(int cell) {
+        int mask = extraKeys.length - 1;
+        int slot = ((cell + 1) * 0x9E3779B9) >>> hashShift;
+        while (extraKeys[slot] != 0 && extraKeys[slot] != cell + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot of the extra blocker table, moving later entries of its probe run back so every entry stays reachable.
+     *
+     * @param slot The slot to empty.
+     */
+    private void removeSlot(int slot) {
+        int mask = extraKeys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; extraKeys[next] != 0; next = (next + 1) & mask) {
+            int home = (extraKeys[next] * 0x9E3779B9) >>> hashShift;
+            // The entry may fill the hole only if its home slot is not between the hole and its current slot
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                extraKeys[hole] = extraKeys[next];
+                extraCounts[hole] = extraCounts[next];
+                hole = next;
+            }
+        }
+        extraKeys[hole] = 0;
+        extraCounts[hole] = 0;
+        extraSize--;
+    }
+
+    /**
+     * Doubles the extra blocker table and reinserts its entries.
+     */
+    private void growTable() {
+        int[] oldKeys = extraKeys;
+        short[] oldCounts = extraCounts;
+        extraKeys = new int[oldKeys.length * 2];
+        extraCounts = new short[oldKeys.length * 2];
+        hashShift--;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = findSlot(oldKeys[i] - 1);
+                extraKeys[slot] = oldKeys[i];
+                extraCounts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the width of the board, for turning cell indices back into coordinates.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the free cell at a position of the dense array. Sampling depends on this order, so snapshots save it.
+     *
+     * @param position The position, from 0 to {@link #size()} - 1.
+     * @return The cell index.
+     */
+    int getFreeAt(int position) {
+        if (free == null) {
+            throw new UnsupportedOperationException("A large board does not keep its free cells in order");
+        }
+        return free[position];
+    }
+
+    /**
+     * Reorders the free cells to match a saved order, so sampling after a restore picks the same cells as the original game.
+     *
+     * @param cells The free cells in their saved order.
+     * @return true if the cells are exactly the current free set and were applied, false if they do not match.
+     */
+    boolean restoreOrder(int[] cells) {
+        if (free == null || cells.length != count) {
+            return false;
+        }
+        for (int cell : cells) {
+            if (cell < 0 || cell >= blockers.length || blockers[cell] != 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            free[i] = cells[i];
+            positions[cells[i]] = i;
+        }
+        return true;
+    }
+}
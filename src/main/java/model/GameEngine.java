@@ -0,0 +1,442 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @Project Game Engine
+ * @Description Headless simulation core of the game. Owns the snake, foods, paddles and level progression and advances them one fixed step at a time.
+ * Has no JavaFX dependency so games can be simulated without a Stage.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class GameEngine {
+    public static final long DEFAULT_STEP_NANOS = 5_000_000; // 200 Hz, a whole divisor of every snake speed
+    public static final List<String> FOOD_IMAGE_KEYS = Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16");
+    public static final int FOOD_SCORE = 10; // Points awarded for each food eaten
+    private final Snake snake;
+    private final Levels levels;
+    private final long stepNanos;
+    private final long snakeSpeed;
+    private final long seed; // Seed of the generator behind every random choice in the game
+    private final GameRandom random; // The generator itself, shared by the level, foods and paddles
+    private final Difficulty difficulty;
+    private long elapsedNanos = 0; // Simulated time since the game started
+    private long tickCount = 0;
+    private boolean gameOver = false;
+    private String deathCause; // What the snake hit, once the game is over
+    private boolean profiling = false; // Whether the time spent in each phase is measured
+    private long simulationNanos = 0; // Total real time spent in the simulation phase while profiling
+    private long collisionNanos = 0; // Total real time spent in the collision phase while profiling
+
+    /**
+     * Creates a new game with the default snake, food and paddle, stepping at {@link #DEFAULT_STEP_NANOS}.
+     *
+     * @param snakeSpeed The time between snake moves in nanoseconds.
+     */
+    public GameEngine(long snakeSpeed) {
+        this(snakeSpeed, DEFAULT_STEP_NANOS);
+    }
+
+    /**
+     * Creates a new game with the default snake, food and paddle.
+     *
+     * @param snakeSpeed The time between snake moves in nanoseconds.
+     * @param stepNanos  The simulated time covered by each call to {@link #step(Direction)}; should not exceed the snake speed.
+     */
+    public GameEngine(long snakeSpeed, long stepNanos) {
+        this(snakeSpeed, stepNanos, new Random().nextLong());
+    }
+
+    /**
+     * Creates a new game with the default snake, food and paddle, reproducibly: every random choice comes from one generator
+     * created from the seed, so two games with the same seed, speeds and inputs play out identically.
+     *
+     * @param snakeSpeed The time between snake moves in nanoseconds.
+     * @param stepNanos  The simulated time covered by each call to {@link #step(Direction)}; should not exceed the snake speed.
+     * @param seed       The seed of the game's random number generator.
+     */
+    public GameEngine(long snakeSpeed, long stepNanos, long seed) {
+        this(snakeSpeed, stepNanos, seed, Difficulty.DEFAULT);
+    }
+
+    /**
+     * Creates a new reproducible game whose paddles and foods are added, and whose paddles move, as the given difficulty says.
+     *
+     * @param snakeSpeed The time between snake moves in nanoseconds.
+     * @param stepNanos  The simulated time covered by each call to {@link #step(Direction)}; should not exceed the snake speed.
+     * @param seed       The seed of the game's random number generator.
+     * @param difficulty The level progression and paddle speed.
+     */
+    public GameEngine(long snakeSpeed, long stepNanos, long seed, Difficulty difficulty) {
+        this(snakeSpeed, stepNanos, seed, difficulty, util.GameUtil.COLUMNS, util.GameUtil.ROWS);
+    }
+
+    /**
+     * Creates a new reproducible game on a board of the given size. The default board matches the game area; larger boards
+     * are shown through a camera that follows the head.
+     *
+     * @param snakeSpeed The time between snake moves in nanoseconds.
+     * @param stepNanos  The simulated time covered by each call to {@link #step(Direction)}; should not exceed the snake speed.
+     * @param seed       The seed of the game's random number generator.
+     * @param difficulty The level progression and paddle speed.
+     * @param columns    The width of the board, in cells.
+     * @param rows       The height of the board, in cells.
+     * @throws IllegalArgumentException If a side of the board is outside {@link util.GameUtil#MIN_BOARD_SIZE} to {@link util.GameUtil#MAX_BOARD_SIZE}.
+     */
+    public GameEngine(long snakeSpeed, long stepNanos, long seed, Difficulty difficulty, int columns, int rows) {
+        if (columns < util.GameUtil.MIN_BOARD_SIZE || columns > util.GameUtil.MAX_BOARD_SIZE
+                || rows < util.GameUtil.MIN_BOARD_SIZE || rows > util.GameUtil.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board must be " + util.GameUtil.MIN_BOARD_SIZE + " to " + util.GameUtil.MAX_BOARD_SIZE
+                    + " cells a side: " + columns + "x" + rows);
+        }
+        this.stepNanos = stepNanos;
+        this.difficulty = difficulty;
+        this.snakeSpeed = snakeSpeed;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        int initialX = 5; // Initial X position of the snake
+        int initialY = 5; // Initial Y position of the snake
+        int initialSize = 3; // Initial size of the snake
+        FreeCells freeCells = new FreeCells(columns, rows);
+        snake = new Snake(initialX, initialY, initialSize, snakeSpeed, columns, rows, freeCells);
+
+        levels = new Levels(FOOD_IMAGE_KEYS, freeCells, random, difficulty);
+        Paddle paddle = new Paddle(100, 20, util.GameUtil.boardWidth(columns), util.GameUtil.boardHeight(rows),
+                random, difficulty.getPaddleMoveAmount());
+        levels.addInitialElements(paddle, new Food(FOOD_IMAGE_KEYS, freeCells, random));
+    }
+
+    /**
+     * Assembles a game from restored parts, part way through. Used when restoring a snapshot.
+     *
+     * @param snakeSpeed   The time between snake moves in nanoseconds.
+     * @param stepNanos    The simulated time covered by each step.
+     * @param seed         The seed the game was started with.
+     * @param random       The generator, already set to its saved state.
+     * @param snake        The restored snake.
+     * @param levels       The restored level, sharing the generator.
+     * @param tickCount    The number of steps already run.
+     * @param elapsedNanos The simulated time already elapsed.
+     */
+    GameEngine(long snakeSpeed, long stepNanos, long seed, GameRandom random, Snake snake, Levels levels, long tickCount, long elapsedNanos) {
+        this.snakeSpeed = snakeSpeed;
+        this.stepNanos = stepNanos;
+        this.seed = seed;
+        this.random = random;
+        this.difficulty = Difficulty.DEFAULT; // Snapshots are only taken of games at the default difficulty
+        this.snake = snake;
+        this.levels = levels;
+        this.tickCount = tickCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Advances the game by one fixed step. Applies the input, moves the paddles and the snake,
+     * then resolves collisions, food and level progression once. Does nothing once the game is over.
+     *
+     * @param input The direction requested for this step, or null to keep the current direction.
+     */
+    public void step(Direction input) {
+        if (gameOver) {
+            return;
+        }
+        if (input != null) {
+            snake.changeDirection(input);
+        }
+        GameEvents.TickEvent tick = new GameEvents.TickEvent();
+        tick.begin();
+        if (profiling) {
+            long start = System.nanoTime();
+            simulate();
+            long simulated = System.nanoTime();
+            resolveCollisions();
+            simulationNanos += simulated - start;
+            collisionNanos += System.nanoTime() - simulated;
+        } else {
+            simulate();
+            resolveCollisions();
+        }
+        if (tick.shouldCommit()) {
+            tick.tick = tickCount;
+            tick.snakeLength = snake.getLength();
+            tick.commit();
+        }
+    }
+
+    /**
+     * Checks whether the snake moves on the next step, which is the step a turn should be handed to.
+     *
+     * @return true if the next step moves the snake.
+     */
+    public boolean isMoveDue() {
+        return !gameOver && snake.isMoveDue(elapsedNanos + stepNanos);
+    }
+
+    /**
+     * Turns measuring the real time spent in the simulation and collision phases on or off. Off by default so normal play does not pay for the clock reads.
+     *
+     * @param profiling true to measure the phases, false to stop.
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    /**
+     * Returns the total real time spent in the simulation phase of all steps run while profiling.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getSimulationNanos() {
+        return simulationNanos;
+    }
+
+    /**
+     * Returns the total real time spent in the collision phase of all steps run while profiling.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getCollisionNanos() {
+        return collisionNanos;
+    }
+
+    /**
+     * Simulation phase of a step: advances the clock and moves every paddle and the snake.
+     */
+    private void simulate() {
+        elapsedNanos += stepNanos;
+        tickCount++;
+
+        levels.movePaddles(stepNanos);
+        snake.move(elapsedNanos);
+    }
+
+    /**
+     * Collision phase of a step: ends the game if the snake hit itself, a wall or a paddle,
+     * otherwise lets it eat any food under its head and updates the level for the new score.
+     */
+    private void resolveCollisions() {
+        if (snake.isGameOver()) {
+            endGame("self");
+            return;
+        }
+        if (snake.isOutOfBounds()) {
+            endGame("wall");
+            return;
+        }
+        if (levels.isPaddleHit(snake)) {
+            endGame("paddle");
+            return;
+        }
+
+        for (Food food : levels.getFoods()) {
+            if (snake.isCollidingWithFood(food)) {
+                snake.grow(); // Snake grows in size
+                snake.increaseScore(FOOD_SCORE); // Increase score
+                GameEvents.FoodEatenEvent eaten = new GameEvents.FoodEatenEvent();
+                if (eaten.shouldCommit()) {
+                    eaten.x = food.getX();
+                    eaten.y = food.getY();
+                    eaten.score = snake.getScore();
+                    eaten.snakeLength = snake.getLength();
+                    eaten.commit();
+                }
+                food.relocateAndChangeImage(); // Relocate and change the food image
+            }
+        }
+        levels.updateLevel(snake.getScore());
+    }
+
+    /**
+     * Ends the game and records what the snake hit.
+     *
+     * @param cause What the snake hit: self, wall or paddle.
+     */
+    private void endGame(String cause) {
+        gameOver = true;
+        deathCause = cause;
+        GameEvents.CollisionEvent collision = new GameEvents.CollisionEvent();
+        if (collision.shouldCommit()) {
+            collision.kind = cause;
+            collision.x = snake.getX(0);
+            collision.y = snake.getY(0);
+            collision.commit();
+        }
+        GameEvents.GameOverEvent over = new GameEvents.GameOverEvent();
+        if (over.shouldCommit()) {
+            over.score = snake.getScore();
+            over.ticks = tickCount;
+            over.snakeLength = snake.getLength();
+            over.commit();
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the game state: the clock, score, every snake segment, food and paddle.
+     * Two runs that end with the same fingerprint ended in the same state, which is how replays check an engine change
+     * did not alter gameplay.
+     *
+     * @return The state hash.
+     */
+    public long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, tickCount);
+        hash = mix(hash, snake.getScore());
+        hash = mix(hash, snake.getLength());
+        for (int i = 0; i < snake.getLength(); i++) {
+            hash = mix(hash, snake.getX(i));
+            hash = mix(hash, snake.getY(i));
+        }
+        for (Food food : levels.getFoods()) {
+            hash = mix(hash, food.getX());
+            hash = mix(hash, food.getY());
+        }
+        for (Paddle paddle : levels.getPaddles()) {
+            hash = mix(hash, Double.doubleToLongBits(paddle.getX()));
+            hash = mix(hash, Double.doubleToLongBits(paddle.getY()));
+        }
+        return hash;
+    }
+
+    /**
+     * Folds the eight bytes of a value into an FNV-1a hash.
+     *
+     * @param hash  The hash so far.
+     * @param value The value to add.
+     * @return The updated hash.
+     */
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the snake has hit itself, a wall or a paddle, false otherwise.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the snake controlled by the player.
+     *
+     * @return The snake.
+     */
+    public Snake getSnake() {
+        return snake;
+    }
+
+    /**
+     * Returns the level state holding the paddles and foods.
+     *
+     * @return The levels.
+     */
+    public Levels getLevels() {
+        return levels;
+    }
+
+    /**
+     * Returns the current score.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return snake.getScore();
+    }
+
+    /**
+     * Returns the number of steps simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the simulated time covered by each step.
+     *
+     * @return The step length in nanoseconds.
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Returns what ended the game.
+     *
+     * @return "self", "wall" or "paddle", or null while the game is running.
+     */
+    public String getDeathCause() {
+        return deathCause;
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return snake.getColumns();
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return snake.getRows();
+    }
+
+    /**
+     * Returns the difficulty the game is played at.
+     *
+     * @return The difficulty.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the seed of the game's random number generator.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the time between snake moves.
+     *
+     * @return The snake speed in nanoseconds.
+     */
+    public long getSnakeSpeed() {
+        return snakeSpeed;
+    }
+
+    /**
+     * Returns the game's random number generator, for saving its state in a snapshot.
+     *
+     * @return The generator.
+     */
+    GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Returns the simulated time since the game started.
+     *
+     * @return The elapsed simulated time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,243 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * @Project Game Events
+ * @Description JDK Flight Recorder events emitted by the game engine and the game screen, so a recording can line up ticks, food, spawns, collisions, input latency and startup times with GC and JIT activity.
+ * Every event is disabled by default and costs only an enabled check when off. Enable them from a recording's settings (the "snake.*" event names),
+ * or start a recording with {@link #startRecording(Path)}.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Snake Game";
+
+    private GameEvents() {
+    }
+
+    /**
+     * Starts a recording of the default JDK events plus every game event, written to the given file when the JVM exits.
+     *
+     * @param destination The file to write the recording to.
+     * @return The running recording.
+     * @throws IOException If the destination cannot be used or the default settings cannot be read.
+     */
+    public static Recording startRecording(Path destination) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the default recording settings", e);
+        }
+        recording.setName("Snake Game");
+        recording.enable(TickEvent.class);
+        recording.enable(FoodEatenEvent.class);
+        recording.enable(PaddleSpawnedEvent.class);
+        recording.enable(FoodSpawnedEvent.class);
+        recording.enable(CollisionEvent.class);
+        recording.enable(GameOverEvent.class);
+        recording.enable(InputLatencyEvent.class);
+        recording.enable(StartupEvent.class);
+        recording.setToDisk(true);
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Records the key-to-move latency of a finished game, if the event is enabled.
+     *
+     * @param p50Nanos The median latency, in nanoseconds.
+     * @param p95Nanos The 95th percentile latency, in nanoseconds.
+     * @param p99Nanos The 99th percentile latency, in nanoseconds.
+     * @param turns    The number of turns measured.
+     * @param dropped  The key presses dropped because the queue was full.
+     */
+    public static void inputLatency(long p50Nanos, long p95Nanos, long p99Nanos, long turns, long dropped) {
+        InputLatencyEvent event = new InputLatencyEvent();
+        if (event.isEnabled()) {
+            event.p50 = p50Nanos;
+            event.p95 = p95Nanos;
+            event.p99 = p99Nanos;
+            event.turns = turns;
+            event.dropped = dropped;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records how long a stage of startup took, if the event is enabled.
+     *
+     * @param stage  What became ready, e.g. the main menu.
+     * @param nanos  The time it took, in nanoseconds.
+     * @param assets The number of assets loaded by then.
+     */
+    public static void startup(String stage, long nanos, int assets) {
+        StartupEvent event = new StartupEvent();
+        if (event.isEnabled()) {
+            event.stage = stage;
+            event.time = nanos;
+            event.assets = assets;
+            event.commit();
+        }
+    }
+
+    /**
+     * One fixed simulation step. Its duration covers the simulation and collision phases.
+     */
+    @Name("snake.Tick")
+    @Label("Tick")
+    @Description("One fixed simulation step")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class TickEvent extends Event {
+        @Label("Tick")
+        long tick;
+        @Label("Snake Length")
+        int snakeLength;
+    }
+
+    /**
+     * The snake ate a food.
+     */
+    @Name("snake.FoodEaten")
+    @Label("Food Eaten")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class FoodEatenEvent extends Event {
+        @Label("X")
+        int x;
+        @Label("Y")
+        int y;
+        @Label("Score")
+        int score;
+        @Label("Snake Length")
+        int snakeLength;
+    }
+
+    /**
+     * The level added a paddle.
+     */
+    @Name("snake.PaddleSpawned")
+    @Label("Paddle Spawned")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PaddleSpawnedEvent extends Event {
+        @Label("Score")
+        int score;
+        @Label("Paddle Count")
+        int paddleCount;
+    }
+
+    /**
+     * The level added a food.
+     */
+    @Name("snake.FoodSpawned")
+    @Label("Food Spawned")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class FoodSpawnedEvent extends Event {
+        @Label("Score")
+        int score;
+        @Label("Food Count")
+        int foodCount;
+    }
+
+    /**
+     * The snake hit itself, a wall or a paddle.
+     */
+    @Name("snake.Collision")
+    @Label("Collision")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class CollisionEvent extends Event {
+        @Label("Kind")
+        @Description("What the snake hit: self, wall or paddle")
+        String kind;
+        @Label("X")
+        int x;
+        @Label("Y")
+        int y;
+    }
+
+    /**
+     * The game ended.
+     */
+    @Name("snake.GameOver")
+    @Label("Game Over")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class GameOverEvent extends Event {
+        @Label("Score")
+        int score;
+        @Label("Ticks")
+        long ticks;
+        @Label("Snake Length")
+        int snakeLength;
+    }
+
+    /**
+     * The time from key presses to the moves that made their turns, over one game.
+     */
+    @Name("snake.InputLatency")
+    @Label("Input Latency")
+    @Description("Key-to-move latency percentiles over one game")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class InputLatencyEvent extends Event {
+        @Label("p50")
+        @Timespan
+        long p50;
+        @Label("p95")
+        @Timespan
+        long p95;
+        @Label("p99")
+        @Timespan
+        long p99;
+        @Label("Turns")
+        long turns;
+        @Label("Dropped Presses")
+        long dropped;
+    }
+
+    /**
+     * A stage of startup finished: the main menu after launch, or the first frame of a game after it started.
+     */
+    @Name("snake.Startup")
+    @Label("Startup")
+    @Description("Time until the main menu or a game's first frame was ready")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class StartupEvent extends Event {
+        @Label("Stage")
+        String stage;
+        @Label("Time")
+        @Timespan
+        long time;
+        @Label("Assets Loaded")
+        int assets;
+    }
+}
@@ -0,0 +1,67 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * @Project Game Random
+ * @Description The game's random number generator. Produces exactly the same sequence as java.util.Random for the same seed,
+ * but its internal state can be read and restored, so a replay keyframe can resume the game's randomness mid-game.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private long state; // The 48-bit linear congruential state, as in java.util.Random
+
+    /**
+     * Creates a generator from a seed.
+     *
+     * @param seed The seed.
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Resets the generator as if it had just been created with the given seed.
+     *
+     * @param seed The seed.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Advances the state and returns its top bits. Every other method of Random is built on this one.
+     *
+     * @param bits The number of random bits wanted, at most 32.
+     * @return The random bits.
+     */
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Returns the internal state, for saving in a snapshot.
+     *
+     * @return The state.
+     */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Restores an internal state saved by {@link #getState()}.
+     *
+     * @param state The state.
+     */
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+}
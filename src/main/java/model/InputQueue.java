@@ -0,0 +1,101 @@
+package model;
+
+/**
+ * @Project Input Queue
+ * @Description Holds the direction keys pressed between snake moves so that none are lost: each move takes one entry, oldest first.
+ * A turn is checked against the direction the snake last actually moved in, not against the turn queued before it, so two quick presses
+ * such as UP then LEFT while moving right make two turns instead of the second one reversing the snake into itself.
+ * The queue is a fixed ring of primitives and never allocates; presses beyond its capacity are dropped.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class InputQueue {
+    public static final int CAPACITY = 4; // Presses held at most; more than this many between moves is mashing, not steering
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final byte[] directions = new byte[CAPACITY];
+    private final long[] pressedAt = new long[CAPACITY]; // When each press happened, in System.nanoTime
+    private int first = 0;
+    private int size = 0;
+    private long lastPressedAt = 0;
+    private long dropped = 0;
+
+    /**
+     * Adds a press to the back of the queue. A press repeating the one before it is ignored, since it could not turn the snake.
+     *
+     * @param direction The direction pressed.
+     * @param nanos     When it was pressed, in System.nanoTime.
+     * @return true if the press was queued.
+     */
+    public boolean offer(Direction direction, long nanos) {
+        if (size > 0 && directions[(first + size - 1) % CAPACITY] == direction.ordinal()) {
+            return false;
+        }
+        if (size == CAPACITY) {
+            dropped++;
+            return false;
+        }
+        int slot = (first + size) % CAPACITY;
+        directions[slot] = (byte) direction.ordinal();
+        pressedAt[slot] = nanos;
+        size++;
+        return true;
+    }
+
+    /**
+     * Takes the oldest press that turns the snake. Presses in the direction it is already moving, or straight back into itself,
+     * are discarded on the way, so they do not cost a move.
+     *
+     * @param moving The direction the snake last moved in.
+     * @return The turn to make on this move, or null if there is none.
+     */
+    public Direction poll(Direction moving) {
+        while (size > 0) {
+            Direction direction = DIRECTIONS[directions[first]];
+            long nanos = pressedAt[first];
+            first = (first + 1) % CAPACITY;
+            size--;
+            if (direction != moving && direction != moving.opposite()) {
+                lastPressedAt = nanos;
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns when the press last returned by {@link #poll(Direction)} happened.
+     *
+     * @return The press time, in System.nanoTime.
+     */
+    public long getLastPressedAt() {
+        return lastPressedAt;
+    }
+
+    /**
+     * Returns the number of presses waiting.
+     *
+     * @return The queue length.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of presses dropped because the queue was full.
+     *
+     * @return The dropped count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Empties the queue and resets its counts, for a new game.
+     */
+    public void clear() {
+        first = 0;
+        size = 0;
+        dropped = 0;
+    }
+}
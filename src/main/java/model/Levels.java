@@ -2,6 +2,7 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * @Project Levels
@@ -15,6 +16,10 @@ public class Levels {
     private int lastPaddleAddedScore = 0;
     private int lastFoodAddedScore = 0;
     private final List<String> foodImageKeys; // List of image keys for different foods
+    private final PaddleGrid paddleGrid; // Broadphase index of the cells each paddle covers
+    private final FreeCells freeCells; // Cells not covered by the snake, paddles or foods
+    private final Random random; // Source of the positions of new paddles and foods
+    private final Difficulty difficulty; // How often paddles and foods are added, and how fast paddles move
 
     /**
      * Manages the different levels of the game including the paddles and foods.
@@ -23,9 +28,49 @@ public class Levels {
      * @param foodImageKeys List of keys representing different food images.
      */
     public Levels(List<String> foodImageKeys) {
+        this(foodImageKeys, new FreeCells(util.GameUtil.COLUMNS, util.GameUtil.ROWS));
+    }
+
+    /**
+     * Manages the different levels of the game including the paddles and foods, sharing a free cell index with the snake
+     * so new foods are only placed in empty cells.
+     *
+     * @param foodImageKeys List of keys representing different food images.
+     * @param freeCells Index of the cells not covered by the snake, paddles or foods.
+     */
+    public Levels(List<String> foodImageKeys, FreeCells freeCells) {
+        this(foodImageKeys, freeCells, new Random());
+    }
+
+    /**
+     * Manages the different levels of the game including the paddles and foods, drawing the positions of new paddles and foods
+     * from the given generator so games can be reproduced.
+     *
+     * @param foodImageKeys List of keys representing different food images.
+     * @param freeCells Index of the cells not covered by the snake, paddles or foods.
+     * @param random The generator shared by everything random in the game.
+     */
+    public Levels(List<String> foodImageKeys, FreeCells freeCells, Random random) {
+        this(foodImageKeys, freeCells, random, Difficulty.DEFAULT);
+    }
+
+    /**
+     * Manages the different levels of the game including the paddles and foods, adding them as often as the given difficulty says.
+     * The board is the size of the free cell index.
+     *
+     * @param foodImageKeys List of keys representing different food images.
+     * @param freeCells Index of the cells not covered by the snake, paddles or foods.
+     * @param random The generator shared by everything random in the game.
+     * @param difficulty The intervals at which paddles and foods are added, and the speed of new paddles.
+     */
+    public Levels(List<String> foodImageKeys, FreeCells freeCells, Random random, Difficulty difficulty) {
+        this.random = random;
+        this.difficulty = difficulty;
         paddles = new ArrayList<>();
         foods = new ArrayList<>();
         this.foodImageKeys = foodImageKeys; // Initialize with a list of food image keys
+        this.freeCells = freeCells;
+        this.paddleGrid = new PaddleGrid(freeCells.getColumns(), freeCells.getRows(), util.GameUtil.CELL_SIZE, freeCells);
     }
 
     /**
@@ -35,28 +80,89 @@ public class Levels {
      * @param initialFood The initial food element to be added.
      */
     public void addInitialElements(Paddle initialPaddle, Food initialFood) {
-        paddles.add(initialPaddle);
+        addPaddle(initialPaddle);
+        // The food was placed before the paddle existed, so move it if the paddle now covers it
+        if (paddleGrid.countAt(initialFood.getX(), initialFood.getY()) > 0) {
+            initialFood.relocateAndChangeImage();
+        }
         foods.add(initialFood);
     }
 
     /**
      * Updates the level of the game based on the player's score. Adds new paddles and food items
-     * based on specific score thresholds.
+     * each time the score reaches a multiple of the difficulty's intervals.
      *
      * @param score The current score of the player.
      */
     public void updateLevel(int score) {
-        // Handle adding new paddles every 50 points
-        if (score >= 50 && score % 50 == 0 && score > lastPaddleAddedScore) {
-            paddles.add(new Paddle(100, 20, 870)); // Modify with actual game width and paddle dimensions
+        // Handle adding new paddles every paddle interval, 50 points by default
+        int paddleInterval = difficulty.getPaddleInterval();
+        if (score >= paddleInterval && score % paddleInterval == 0 && score > lastPaddleAddedScore) {
+            addPaddle(new Paddle(100, 20, util.GameUtil.boardWidth(freeCells.getColumns()), util.GameUtil.boardHeight(freeCells.getRows()),
+                    random, difficulty.getPaddleMoveAmount()));
             lastPaddleAddedScore = score;
+            GameEvents.PaddleSpawnedEvent spawned = new GameEvents.PaddleSpawnedEvent();
+            if (spawned.shouldCommit()) {
+                spawned.score = score;
+                spawned.paddleCount = paddles.size();
+                spawned.commit();
+            }
         }
 
-        // Handle adding new food every 30 points
-        if (score >= 30 && score % 30 == 0 && score > lastFoodAddedScore) {
-            foods.add(new Food(foodImageKeys)); // Use the same foodImageKeys for new food
+        // Handle adding new food every food interval, 30 points by default
+        int foodInterval = difficulty.getFoodInterval();
+        if (score >= foodInterval && score % foodInterval == 0 && score > lastFoodAddedScore) {
+            foods.add(new Food(foodImageKeys, freeCells, random)); // Use the same foodImageKeys for new food
             lastFoodAddedScore = score;
+            GameEvents.FoodSpawnedEvent spawned = new GameEvents.FoodSpawnedEvent();
+            if (spawned.shouldCommit()) {
+                spawned.score = score;
+                spawned.foodCount = foods.size();
+                spawned.commit();
+            }
+        }
+    }
+
+    /**
+     * Adds a paddle to the game and registers it in the paddle grid.
+     *
+     * @param paddle The paddle to add.
+     */
+    private void addPaddle(Paddle paddle) {
+        paddles.add(paddle);
+        paddleGrid.update(paddles.size() - 1, paddle);
+    }
+
+    /**
+     * Moves every paddle and updates the cells it covers in the paddle grid.
+     *
+     * @param elapsedNanos The simulated time covered by this move, in nanoseconds.
+     */
+    public void movePaddles(long elapsedNanos) {
+        for (int i = 0; i < paddles.size(); i++) {
+            Paddle paddle = paddles.get(i);
+            paddle.move(elapsedNanos);
+            paddleGrid.update(i, paddle);
+        }
+    }
+
+    /**
+     * Checks if the snake's head is touching any paddle. Only the paddles registered in the head's cell are tested.
+     *
+     * @param snake The snake to check.
+     * @return true if the head overlaps a paddle, false otherwise.
+     */
+    public boolean isPaddleHit(Snake snake) {
+        int headX = snake.getX(0);
+        int headY = snake.getY(0);
+        int[] candidates = paddleGrid.paddlesAt(headX, headY);
+        int count = paddleGrid.countAt(headX, headY);
+        for (int i = 0; i < count; i++) {
+            if (snake.checkCollisionWithPaddle(paddles.get(candidates[i]))) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
@@ -68,6 +174,15 @@ public class Levels {
         return paddles;
     }
 
+    /**
+     * Returns the index of cells not covered by the snake, paddles or foods.
+     *
+     * @return The free cell index.
+     */
+    public FreeCells getFreeCells() {
+        return freeCells;
+    }
+
     /**
      * Returns the list of foods in the game.
      *
@@ -76,4 +191,48 @@ public class Levels {
     public List<Food> getFoods() {
         return foods;
     }
+
+    /**
+     * Returns the score at which the last paddle was added, for saving in a snapshot.
+     *
+     * @return The score.
+     */
+    int getLastPaddleAddedScore() {
+        return lastPaddleAddedScore;
+    }
+
+    /**
+     * Returns the score at which the last food was added, for saving in a snapshot.
+     *
+     * @return The score.
+     */
+    int getLastFoodAddedScore() {
+        return lastFoodAddedScore;
+    }
+
+    /**
+     * Fills an empty level with saved paddles, foods and counters. Used when restoring a snapshot.
+     *
+     * @param savedPaddles The paddles, in their original order.
+     * @param savedFoods The foods, in their original order.
+     * @param lastPaddleAddedScore The score at which the last paddle was added.
+     * @param lastFoodAddedScore The score at which the last food was added.
+     */
+    void restore(List<Paddle> savedPaddles, List<Food> savedFoods, int lastPaddleAddedScore, int lastFoodAddedScore) {
+        for (Paddle paddle : savedPaddles) {
+            addPaddle(paddle);
+        }
+        foods.addAll(savedFoods);
+        this.lastPaddleAddedScore = lastPaddleAddedScore;
+        this.lastFoodAddedScore = lastFoodAddedScore;
+    }
+
+    /**
+     * Returns the food image keys, so restored foods use the same list.
+     *
+     * @return The food image keys.
+     */
+    List<String> getFoodImageKeys() {
+        return foodImageKeys;
+    }
 }
@@ -1,98 +1,206 @@
 package model;
 
-import javafx.geometry.Rectangle2D;
-import javafx.scene.paint.Color;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.geometry.Point2D;
-import javafx.scene.shape.Rectangle;
-
-import java.awt.*;
+import java.util.Random;
 
 /**
  * @Project Paddle
- * @Description Represents a paddle in the game. Manages the paddle's movement, position, and rendering.
+ * @Description Represents a paddle in the game. Manages the paddle's movement and position.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
  */
 public class Paddle {
-    public static final Color INNER_COLOR = Color.GREEN;
-    public static final int DEFAULT_MOVE_AMOUNT = 3;
-    private final Rectangle paddleFace;
-    private Point2D ballPoint; // Current position of the paddle
+    public static final int DEFAULT_MOVE_AMOUNT = 3; // Pixels moved per reference frame
+    public static final long REFERENCE_FRAME_NANOS = 1_000_000_000L / 60; // Paddle speeds are tuned for 60 Hz
+    private final int width; // Width of the paddle face
+    private final int height; // Height of the paddle face
+    private double centreX; // Current x-coordinate of the paddle's centre
+    private final double y; // Current y-coordinate of the paddle's top edge
     private int moveAmount; // How much the paddle should move per action
     private final double min; // minimum x-coordinate of the paddle's movement
     private final double max; // maximum x-coordinate of the paddle's movement
 
     /**
-     * Represents a paddle in the game. Manages the paddle's movement, position, and rendering.
+     * Represents a paddle in the game. Manages the paddle's movement and position.
      *
      * @param width The width of the paddle.
      * @param height The height of the paddle.
      * @param gameWidth The width of the game area to constrain the paddle's movement.
      */
     public Paddle(int width, int height, double gameWidth) {
-        // Generate a random x-coordinate within the bounds of the container
-        int x = (int) (Math.random() * (870 - width + 10));
+        this(width, height, gameWidth, new Random());
+    }
 
-        // Generate a random y-coordinate within the bounds of the container
-        int y = (int) (Math.random() * (560 - height - 40));
+    /**
+     * Represents a paddle in the game, placed using the given random number generator so games can be reproduced.
+     *
+     * @param width The width of the paddle.
+     * @param height The height of the paddle.
+     * @param gameWidth The width of the game area to constrain the paddle's movement.
+     * @param random The generator the paddle's position is drawn from.
+     */
+    public Paddle(int width, int height, double gameWidth, Random random) {
+        this(width, height, gameWidth, random, DEFAULT_MOVE_AMOUNT);
+    }
 
-        // Set the paddle's initial position
-        this.ballPoint = new Point2D(x, y);
+    /**
+     * Represents a paddle in the game moving at the given speed, placed using the given random number generator so games can be reproduced.
+     *
+     * @param width The width of the paddle.
+     * @param height The height of the paddle.
+     * @param gameWidth The width of the game area to constrain the paddle's movement.
+     * @param random The generator the paddle's position is drawn from.
+     * @param moveAmount The distance moved per reference frame, in pixels.
+     */
+    public Paddle(int width, int height, double gameWidth, Random random, int moveAmount) {
+        this(width, height, gameWidth, util.GameUtil.HEIGHT, random, moveAmount);
+    }
+
+    /**
+     * Represents a paddle in the game on a board of the given size, moving at the given speed and placed using the given random number generator.
+     *
+     * @param width The width of the paddle.
+     * @param height The height of the paddle.
+     * @param gameWidth The width of the game area to constrain the paddle's movement.
+     * @param gameHeight The height of the game area the paddle is placed in.
+     * @param random The generator the paddle's position is drawn from.
+     * @param moveAmount The distance moved per reference frame, in pixels.
+     */
+    public Paddle(int width, int height, double gameWidth, double gameHeight, Random random, int moveAmount) {
+        this.width = width;
+        this.height = height;
 
-        // Initialize paddleFace as Rectangle
-        this.paddleFace = new Rectangle(width, height);
-        this.paddleFace.setFill(INNER_COLOR); // Set color if needed
+        // Generate a random x-coordinate within the bounds of the container
+        this.centreX = (int) (random.nextDouble() * (gameWidth - width + 10));
+
+        // Generate a random y-coordinate within the bounds of the container
+        this.y = (int) (random.nextDouble() * (gameHeight - height - 40));
 
-        // Set the initial position of the paddle
+        // Set the movement range of the paddle
         this.min = 40;
         this.max = gameWidth + 40;
-        this.moveAmount = DEFAULT_MOVE_AMOUNT;
+        this.moveAmount = moveAmount;
+    }
 
-        updatePaddlePosition();
+    /**
+     * Recreates a paddle from saved state, without drawing a new position. Used when restoring a snapshot.
+     *
+     * @param width The width of the paddle.
+     * @param height The height of the paddle.
+     * @param centreX The x-coordinate of the paddle's centre.
+     * @param y The y-coordinate of the paddle's top edge.
+     * @param moveAmount The signed distance moved per reference frame.
+     * @param min The minimum x-coordinate of the paddle's movement.
+     * @param max The maximum x-coordinate of the paddle's movement.
+     */
+    Paddle(int width, int height, double centreX, double y, int moveAmount, double min, double max) {
+        this.width = width;
+        this.height = height;
+        this.centreX = centreX;
+        this.y = y;
+        this.moveAmount = moveAmount;
+        this.min = min;
+        this.max = max;
     }
 
     /**
      * Moves the paddle horizontally within the game area. If the paddle reaches the boundary, it reverses its direction.
-     * The paddle's position is updated after moving.
+     * The distance covered is scaled by the elapsed time, so paddles move at the same speed whatever the simulation rate.
+     *
+     * @param elapsedNanos The simulated time covered by this move, in nanoseconds.
      */
-    public void move() {
-        double newX = ballPoint.getX() + moveAmount;
+    public void move(long elapsedNanos) {
+        double newX = centreX + moveAmount * (double) elapsedNanos / REFERENCE_FRAME_NANOS;
 
-        if (newX <= min || newX + paddleFace.getWidth() >= max) {
+        if (newX <= min || newX + width >= max) {
             moveAmount = -moveAmount; // Reverse direction
         }
 
-        ballPoint = new Point2D(newX, ballPoint.getY());
-        updatePaddlePosition();
+        centreX = newX;
+    }
+
+    /**
+     * Checks whether the paddle face overlaps the given rectangle. Touching edges do not count as overlapping.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param w The width of the rectangle.
+     * @param h The height of the rectangle.
+     * @return true if the paddle face and the rectangle overlap, false otherwise.
+     */
+    public boolean intersects(double x, double y, double w, double h) {
+        double faceX = getX();
+        return x < faceX + width && x + w > faceX && y < this.y + height && y + h > this.y;
+    }
+
+    /**
+     * Gets the x-coordinate of the paddle face's left edge.
+     *
+     * @return The x-coordinate of the paddle face.
+     */
+    public double getX() {
+        return centreX - width / 2.0;
+    }
+
+    /**
+     * Gets the y-coordinate of the paddle face's top edge.
+     *
+     * @return The y-coordinate of the paddle face.
+     */
+    public double getY() {
+        return y;
     }
 
     /**
-     * Updates the position of the paddle based on the current position of the ball.
-     * The X coordinate of the paddle face is set to the X coordinate of the ball minus half of the paddle face width.
-     * The Y coordinate of the paddle face is set to the Y coordinate of the ball.
+     * Gets the width of the paddle face.
+     *
+     * @return The width of the paddle face.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the paddle face.
+     *
+     * @return The height of the paddle face.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the x-coordinate of the paddle's centre, for saving in a snapshot.
+     *
+     * @return The centre x-coordinate.
+     */
+    double getCentreX() {
+        return centreX;
+    }
+
+    /**
+     * Returns the signed distance the paddle moves per reference frame, for saving in a snapshot.
+     *
+     * @return The move amount.
      */
-    private void updatePaddlePosition() {
-        paddleFace.setX(ballPoint.getX() - paddleFace.getWidth() / 2);
-        paddleFace.setY(ballPoint.getY());
+    int getMoveAmount() {
+        return moveAmount;
     }
 
     /**
-     * Draws the Paddle on the provided GraphicsContext.
+     * Returns the minimum x-coordinate of the paddle's movement, for saving in a snapshot.
      *
-     * @param gc The GraphicsContext on which to draw the Paddle.
+     * @return The minimum x-coordinate.
      */
-    public void draw(GraphicsContext gc) {
-        gc.setFill(INNER_COLOR);
-        gc.fillRect(paddleFace.getX(), paddleFace.getY(), paddleFace.getWidth(), paddleFace.getHeight());
+    double getMin() {
+        return min;
     }
 
     /**
-     * Retrieves the paddle face rectangle.
+     * Returns the maximum x-coordinate of the paddle's movement, for saving in a snapshot.
      *
-     * @return The paddle face rectangle.
+     * @return The maximum x-coordinate.
      */
-    public Rectangle getPaddleFace() {
-        return this.paddleFace;
+    double getMax() {
+        return max;
     }
 }
@@ -0,0 +1,181 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * @Project Paddle Grid
+ * @Description Uniform grid broadphase for paddles. Each board cell lists the paddles whose face overlaps it, kept up to date as the paddles move,
+ * so finding the paddles that could touch a cell costs the same however many paddles are on the board. A row's lists are only allocated
+ * once a paddle enters the row, so a large board costs memory for the rows its paddles cross rather than for every cell.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class PaddleGrid {
+    private static final int[] NO_PADDLES = new int[0];
+    private final int columns; // Width of the board, in cells
+    private final int rows; // Height of the board, in cells
+    private final int cellSize; // Size of a cell, in pixels
+    private final int[][][] cellPaddles; // Per row, the paddle indices overlapping each cell; rows and lists allocated on first use
+    private final int[][] cellCounts; // Per row, the number of valid entries in each cell's list
+    private final FreeCells freeCells; // Told when a paddle starts or stops covering a cell, or null
+    private int[] ranges = new int[0]; // minColumn, maxColumn, minRow, maxRow covered by each paddle; maxColumn < minColumn when none
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param columns  The width of the board, in cells.
+     * @param rows     The height of the board, in cells.
+     * @param cellSize The size of a cell, in pixels.
+     */
+    public PaddleGrid(int columns, int rows, int cellSize) {
+        this(columns, rows, cellSize, null);
+    }
+
+    /**
+     * Creates an empty grid that keeps the given free cell index up to date.
+     *
+     * @param columns   The width of the board, in cells.
+     * @param rows      The height of the board, in cells.
+     * @param cellSize  The size of a cell, in pixels.
+     * @param freeCells Index of free cells to block and unblock as paddles move, or null.
+     */
+    public PaddleGrid(int columns, int rows, int cellSize, FreeCells freeCells) {
+        this.freeCells = freeCells;
+        this.columns = columns;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.cellPaddles = new int[rows][][];
+        this.cellCounts = new int[rows][];
+    }
+
+    /**
+     * Registers or re-registers a paddle at its current position. Only the cells it enters or leaves are touched,
+     * and nothing is done when it still covers the same cells.
+     *
+     * @param index  The paddle's index in the level's paddle list.
+     * @param paddle The paddle.
+     */
+    public void update(int index, Paddle paddle) {
+        if (ranges.length < (index + 1) * 4) {
+            int oldLength = ranges.length;
+            ranges = Arrays.copyOf(ranges, Math.max((index + 1) * 4, oldLength * 2));
+            for (int i = oldLength; i < ranges.length; i += 4) {
+                ranges[i] = 0;
+                ranges[i + 1] = -1; // Empty range
+                ranges[i + 2] = 0;
+                ranges[i + 3] = -1;
+            }
+        }
+
+        // Cells the face overlaps; touching edges do not count, matching Paddle.intersects
+        int minColumn = Math.max(0, (int) Math.floor(paddle.getX() / cellSize));
+        int maxColumn = Math.min(columns - 1, (int) Math.ceil((paddle.getX() + paddle.getWidth()) / cellSize) - 1);
+        int minRow = Math.max(0, (int) Math.floor(paddle.getY() / cellSize));
+        int maxRow = Math.min(rows - 1, (int) Math.ceil((paddle.getY() + paddle.getHeight()) / cellSize) - 1);
+
+        int base = index * 4;
+        int oldMinColumn = ranges[base], oldMaxColumn = ranges[base + 1], oldMinRow = ranges[base + 2], oldMaxRow = ranges[base + 3];
+        if (oldMinColumn == minColumn && oldMaxColumn == maxColumn && oldMinRow == minRow && oldMaxRow == maxRow) {
+            return;
+        }
+        for (int row = oldMinRow; row <= oldMaxRow; row++) {
+            for (int column = oldMinColumn; column <= oldMaxColumn; column++) {
+                if (column < minColumn || column > maxColumn || row < minRow || row > maxRow) {
+                    remove(row, column, index);
+                    if (freeCells != null) {
+                        freeCells.unblock(column, row);
+                    }
+                }
+            }
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                if (column < oldMinColumn || column > oldMaxColumn || row < oldMinRow || row > oldMaxRow) {
+                    add(row, column, index);
+                    if (freeCells != null) {
+                        freeCells.block(column, row);
+                    }
+                }
+            }
+        }
+        ranges[base] = minColumn;
+        ranges[base + 1] = maxColumn;
+        ranges[base + 2] = minRow;
+        ranges[base + 3] = maxRow;
+    }
+
+    /**
+     * Returns the indices of the paddles overlapping a cell. Only the first {@link #countAt(int, int)} entries are valid,
+     * and the array must not be modified.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The paddle indices registered in the cell.
+     */
+    public int[] paddlesAt(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return NO_PADDLES;
+        }
+        int[][] row = cellPaddles[y];
+        int[] paddles = row == null ? null : row[x];
+        return paddles == null ? NO_PADDLES : paddles;
+    }
+
+    /**
+     * Returns the number of paddles overlapping a cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The number of paddles registered in the cell.
+     */
+    public int countAt(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return 0;
+        }
+        return cellCounts[y] == null ? 0 : cellCounts[y][x];
+    }
+
+    /**
+     * Appends a paddle to a cell's list, growing the list when it is full.
+     *
+     * @param row    The cell's row.
+     * @param column The cell's column.
+     * @param index  The paddle index.
+     */
+    private void add(int row, int column, int index) {
+        if (cellPaddles[row] == null) {
+            cellPaddles[row] = new int[columns][];
+            cellCounts[row] = new int[columns];
+        }
+        int[] paddles = cellPaddles[row][column];
+        int count = cellCounts[row][column];
+        if (paddles == null) {
+            paddles = new int[2];
+            cellPaddles[row][column] = paddles;
+        } else if (count == paddles.length) {
+            paddles = Arrays.copyOf(paddles, count * 2);
+            cellPaddles[row][column] = paddles;
+        }
+        paddles[count] = index;
+        cellCounts[row][column] = count + 1;
+    }
+
+    /**
+     * Removes a paddle from a cell's list by swapping the last entry into its place.
+     *
+     * @param row    The cell's row.
+     * @param column The cell's column.
+     * @param index  The paddle index.
+     */
+    private void remove(int row, int column, int index) {
+        int[] paddles = cellPaddles[row][column];
+        int count = cellCounts[row][column];
+        for (int i = 0; i < count; i++) {
+            if (paddles[i] == index) {
+                paddles[i] = paddles[count - 1];
+                cellCounts[row][column] = count - 1;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * @Project Replay
+ * @Description A recorded game: the seed and speeds it was started with, every direction input and the tick it was applied on,
+ * the outcome the game reached, and keyframe snapshots taken every few seconds. Replaying the inputs into a fresh engine with the same seed
+ * reproduces the game exactly; starting from a keyframe reproduces it from that tick on.
+ * Binary layout: the magic "SNKR", a version byte, the seed as 8 big-endian bytes, then varints for the snake speed and step length.
+ * Each input follows as one varint holding the ticks since the previous input times four, plus the direction, plus one, so a turn usually takes one or two bytes.
+ * A 0 varint ends the inputs, and the outcome follows: varints for the final tick, score and snake length, then the 8-byte state fingerprint.
+ * Version 2 files then hold the keyframe snapshots, an index of 32-byte entries (tick, snapshot offset, offset of the first input at or after
+ * the tick, tick of the input before it) and a 24-byte footer (outcome offset, index offset, keyframe count, the magic "SNKI"),
+ * so a reader can find any keyframe from the end of the file without reading the rest.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class Replay {
+    static final byte[] MAGIC = {'S', 'N', 'K', 'R'};
+    static final byte[] INDEX_MAGIC = {'S', 'N', 'K', 'I'};
+    static final int VERSION = 2;
+    static final int INDEX_ENTRY_BYTES = 32;
+    static final int FOOTER_BYTES = 24;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final long seed;
+    private final long snakeSpeed;
+    private final long stepNanos;
+    private final long[] inputTicks; // Tick on which each input was applied, ascending
+    private final byte[] inputDirections; // Ordinal of each input's direction
+    private final long endTick;
+    private final int score;
+    private final int snakeLength;
+    private final long fingerprint;
+    private final long[] keyframeTicks; // Tick of each keyframe, ascending
+    private final int[] keyframeOffsets; // Start of each keyframe's snapshot in keyframeData
+    private final int[] keyframeInputs; // Index of the first input applied at or after each keyframe
+    private final byte[] keyframeData; // The snapshots, back to back
+
+    /**
+     * Creates a replay from its parts.
+     *
+     * @param seed            The seed of the game's random number generator.
+     * @param snakeSpeed      The time between snake moves, in nanoseconds.
+     * @param stepNanos       The simulated time per step, in nanoseconds.
+     * @param inputTicks      The tick each input was applied on, ascending.
+     * @param inputDirections The ordinal of each input's direction.
+     * @param endTick         The tick count when the recording ended.
+     * @param score           The score when the recording ended.
+     * @param snakeLength     The snake length when the recording ended.
+     * @param fingerprint     The engine's state fingerprint when the recording ended.
+     * @param keyframeTicks   The tick of each keyframe, ascending.
+     * @param keyframeOffsets The start of each keyframe's snapshot in the keyframe data.
+     * @param keyframeInputs  The index of the first input applied at or after each keyframe.
+     * @param keyframeData    The snapshots, back to back.
+     */
+    Replay(long seed, long snakeSpeed, long stepNanos, long[] inputTicks, byte[] inputDirections,
+           long endTick, int score, int snakeLength, long fingerprint,
+           long[] keyframeTicks, int[] keyframeOffsets, int[] keyframeInputs, byte[] keyframeData) {
+        this.seed = seed;
+        this.snakeSpeed = snakeSpeed;
+        this.stepNanos = stepNanos;
+        this.inputTicks = inputTicks;
+        this.inputDirections = inputDirections;
+        this.endTick = endTick;
+        this.score = score;
+        this.snakeLength = snakeLength;
+        this.fingerprint = fingerprint;
+        this.keyframeTicks = keyframeTicks;
+        this.keyframeOffsets = keyframeOffsets;
+        this.keyframeInputs = keyframeInputs;
+        this.keyframeData = keyframeData;
+    }
+
+    /**
+     * Reads a whole replay file into memory. Use {@link ReplayFile} to seek in long replays without loading them.
+     *
+     * @param path The file to read.
+     * @return The replay.
+     * @throws IOException If the file cannot be read or is not a valid replay.
+     */
+    public static Replay read(Path path) throws IOException {
+        return parse(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Decodes a replay.
+     *
+     * @param buffer The encoded replay, from its position to its limit.
+     * @return The replay.
+     * @throws IOException If the data is not a valid replay.
+     */
+    public static Replay parse(ByteBuffer buffer) throws IOException {
+        try {
+            int start = buffer.position();
+            int version = readHeader(buffer);
+            long seed = buffer.getLong();
+            long snakeSpeed = readVarint(buffer);
+            long stepNanos = readVarint(buffer);
+
+            long[] ticks = new long[16];
+            byte[] directions = new byte[16];
+            int[] offsets = new int[16]; // Where each input starts, for matching the keyframe index
+            int count = 0;
+            long tick = 0;
+            int offset = buffer.position() - start;
+            for (long value = readVarint(buffer); value != 0; value = readVarint(buffer)) {
+                if (count == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, count * 2);
+                    directions = Arrays.copyOf(directions, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                tick += (value - 1) >>> 2;
+                ticks[count] = tick;
+                directions[count] = (byte) ((value - 1) & 3);
+                offsets[count] = offset;
+                count++;
+                offset = buffer.position() - start;
+            }
+            int endOffset = offset; // The terminator, which keyframes after the last input point at
+
+            long endTick = readVarint(buffer);
+            int score = (int) readVarint(buffer);
+            int snakeLength = (int) readVarint(buffer);
+            long fingerprint = buffer.getLong();
+
+            long[] keyframeTicks = new long[0];
+            int[] keyframeOffsets = new int[0];
+            int[] keyframeInputs = new int[0];
+            byte[] keyframeData = new byte[0];
+            if (version >= 2) {
+                int footer = buffer.limit() - FOOTER_BYTES;
+                checkIndexMagic(buffer, footer + 20);
+                int indexOffset = (int) buffer.getLong(footer + 8);
+                int keyframes = buffer.getInt(footer + 16);
+                keyframeTicks = new long[keyframes];
+                keyframeOffsets = new int[keyframes];
+                keyframeInputs = new int[keyframes];
+                int dataStart = keyframes == 0 ? indexOffset : (int) buffer.getLong(start + indexOffset + 8);
+                for (int i = 0; i < keyframes; i++) {
+                    int entry = start + indexOffset + i * INDEX_ENTRY_BYTES;
+                    keyframeTicks[i] = buffer.getLong(entry);
+                    keyframeOffsets[i] = (int) buffer.getLong(entry + 8) - dataStart;
+                    int inputOffset = (int) buffer.getLong(entry + 16);
+                    int input = inputOffset == endOffset ? count : Arrays.binarySearch(offsets, 0, count, inputOffset);
+                    if (input < 0) {
+                        throw new IOException("Keyframe index does not match the inputs");
+                    }
+                    keyframeInputs[i] = input;
+                }
+                keyframeData = new byte[indexOffset - dataStart];
+                buffer.position(start + dataStart);
+                buffer.get(keyframeData);
+            }
+            return new Replay(seed, snakeSpeed, stepNanos, Arrays.copyOf(ticks, count), Arrays.copyOf(directions, count),
+                    endTick, score, snakeLength, fingerprint, keyframeTicks, keyframeOffsets, keyframeInputs, keyframeData);
+        } catch (RuntimeException e) {
+            throw new IOException("Truncated or corrupt replay", e);
+        }
+    }
+
+    /**
+     * Encodes the replay in the binary format described above.
+     *
+     * @return The encoded bytes.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + inputTicks.length * 2 + keyframeData.length + keyframeTicks.length * INDEX_ENTRY_BYTES);
+        writeHeader(out, seed, snakeSpeed, stepNanos);
+        long[] inputOffsets = new long[inputTicks.length + 1];
+        long previous = 0;
+        for (int i = 0; i < inputTicks.length; i++) {
+            inputOffsets[i] = out.size();
+            writeInput(out, inputTicks[i] - previous, inputDirections[i]);
+            previous = inputTicks[i];
+        }
+        inputOffsets[inputTicks.length] = out.size();
+        writeVarint(out, 0);
+
+        long outcomeOffset = out.size();
+        writeVarint(out, endTick);
+        writeVarint(out, score);
+        writeVarint(out, snakeLength);
+        Snapshot.writeLong(out, fingerprint);
+
+        long dataStart = out.size();
+        out.write(keyframeData, 0, keyframeData.length);
+        long indexOffset = out.size();
+        for (int i = 0; i < keyframeTicks.length; i++) {
+            int input = keyframeInputs[i];
+            Snapshot.writeLong(out, keyframeTicks[i]);
+            Snapshot.writeLong(out, dataStart + keyframeOffsets[i]);
+            Snapshot.writeLong(out, inputOffsets[input]);
+            Snapshot.writeLong(out, input == 0 ? 0 : inputTicks[input - 1]);
+        }
+        Snapshot.writeLong(out, outcomeOffset);
+        Snapshot.writeLong(out, indexOffset);
+        int keyframes = keyframeTicks.length;
+        out.write(keyframes >>> 24);
+        out.write(keyframes >>> 16);
+        out.write(keyframes >>> 8);
+        out.write(keyframes);
+        out.write(INDEX_MAGIC, 0, INDEX_MAGIC.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the replay to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        Files.write(path, toBytes());
+    }
+
+    /**
+     * Prepares playback of the game from the given tick, starting from the nearest keyframe at or before it
+     * and simulating forward the remaining steps.
+     *
+     * @param tick The tick to start from; clamped to the end of the recording.
+     * @return A player positioned at the tick.
+     * @throws IOException If a keyframe is malformed.
+     */
+    public ReplayPlayer seek(long tick) throws IOException {
+        int keyframe = nearestKeyframe(keyframeTicks, keyframeTicks.length, tick);
+        ReplayPlayer player;
+        if (keyframe < 0) {
+            player = new ReplayPlayer(this);
+        } else {
+            int input = keyframeInputs[keyframe];
+            GameEngine engine = Snapshot.read(ByteBuffer.wrap(keyframeData, keyframeOffsets[keyframe], keyframeData.length - keyframeOffsets[keyframe]),
+                    snakeSpeed, stepNanos, seed);
+            player = new ReplayPlayer(engine, encodeInputs(input), input == 0 ? 0 : inputTicks[input - 1],
+                    endTick, score, snakeLength, fingerprint);
+        }
+        player.advanceTo(tick);
+        return player;
+    }
+
+    /**
+     * Finds the last keyframe at or before a tick.
+     *
+     * @param ticks The keyframe ticks, ascending.
+     * @param count The number of keyframes.
+     * @param tick  The tick.
+     * @return The keyframe index, or -1 if the tick is before the first keyframe.
+     */
+    static int nearestKeyframe(long[] ticks, int count, long tick) {
+        int low = 0;
+        int high = count - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ticks[mid] <= tick) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Encodes the inputs from the given one onwards, deltas relative to the input before it, followed by the terminator.
+     *
+     * @param from The index of the first input to encode.
+     * @return A buffer positioned at the first input.
+     */
+    ByteBuffer encodeInputs(int from) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 + (inputTicks.length - from) * 2);
+        long previous = from == 0 ? 0 : inputTicks[from - 1];
+        for (int i = from; i < inputTicks.length; i++) {
+            writeInput(out, inputTicks[i] - previous, inputDirections[i]);
+            previous = inputTicks[i];
+        }
+        writeVarint(out, 0);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    /**
+     * Writes the magic, version, seed and speeds.
+     *
+     * @param out        The stream to write to.
+     * @param seed       The seed.
+     * @param snakeSpeed The snake speed, in nanoseconds.
+     * @param stepNanos  The step length, in nanoseconds.
+     */
+    static void writeHeader(ByteArrayOutputStream out, long seed, long snakeSpeed, long stepNanos) {
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        Snapshot.writeLong(out, seed);
+        writeVarint(out, snakeSpeed);
+        writeVarint(out, stepNanos);
+    }
+
+    /**
+     * Writes one input.
+     *
+     * @param out       The stream to write to.
+     * @param delta     The ticks since the previous input, or since the start for the first one.
+     * @param direction The ordinal of the input's direction.
+     */
+    static void writeInput(ByteArrayOutputStream out, long delta, int direction) {
+        writeVarint(out, ((delta << 2) | direction) + 1);
+    }
+
+    /**
+     * Checks the magic and version at the buffer's position.
+     *
+     * @param buffer The buffer to read from.
+     * @return The format version, 1 for files without keyframes.
+     * @throws IOException If the data is not a replay of a supported version.
+     */
+    static int readHeader(ByteBuffer buffer) throws IOException {
+        for (byte expected : MAGIC) {
+            if (buffer.get() != expected) {
+                throw new IOException("Not a replay file");
+            }
+        }
+        int version = buffer.get();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Checks the magic that ends the keyframe index footer.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The absolute position of the magic.
+     * @throws IOException If the magic is missing.
+     */
+    static void checkIndexMagic(ByteBuffer buffer, int offset) throws IOException {
+        for (int i = 0; i < INDEX_MAGIC.length; i++) {
+            if (buffer.get(offset + i) != INDEX_MAGIC[i]) {
+                throw new IOException("Replay keyframe index is missing");
+            }
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint: seven bits per byte, low bits first, with the top bit set on every byte but the last.
+     *
+     * @param out   The stream to write to.
+     * @param value The value, treated as unsigned.
+     */
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value.
+     * @throws IOException If the varint is longer than ten bytes.
+     */
+    static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    /**
+     * Returns the seed of the recorded game.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the time between snake moves in the recorded game.
+     *
+     * @return The snake speed in nanoseconds.
+     */
+    public long getSnakeSpeed() {
+        return snakeSpeed;
+    }
+
+    /**
+     * Returns the simulated time per step in the recorded game.
+     *
+     * @return The step length in nanoseconds.
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Returns the number of recorded inputs.
+     *
+     * @return The input count.
+     */
+    public int getInputCount() {
+        return inputTicks.length;
+    }
+
+    /**
+     * Returns the tick an input was applied on.
+     *
+     * @param index The input index.
+     * @return The tick.
+     */
+    public long getInputTick(int index) {
+        return inputTicks[index];
+    }
+
+    /**
+     * Returns the direction of an input.
+     *
+     * @param index The input index.
+     * @return The direction.
+     */
+    public Direction getInputDirection(int index) {
+        return DIRECTIONS[inputDirections[index]];
+    }
+
+    /**
+     * Returns the tick count when the recording ended.
+     *
+     * @return The final tick.
+     */
+    public long getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Returns the score when the recording ended.
+     *
+     * @return The final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the snake length when the recording ended.
+     *
+     * @return The final snake length.
+     */
+    public int getSnakeLength() {
+        return snakeLength;
+    }
+
+    /**
+     * Returns the engine's state fingerprint when the recording ended.
+     *
+     * @return The final fingerprint.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the number of keyframes in the replay.
+     *
+     * @return The keyframe count.
+     */
+    public int getKeyframeCount() {
+        return keyframeTicks.length;
+    }
+}
@@ -0,0 +1,206 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @Project Replay File
+ * @Description A replay file opened for seeking. The file is memory-mapped and only its header, outcome and footer are read on open,
+ * so opening costs the same however long the game was. Seeking binary-searches the keyframe index, restores the snapshot at or before
+ * the target tick and simulates the few remaining steps, decoding inputs straight from the mapped file.
+ * Files written before keyframes were added can still be opened; seeking in them plays from the start.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ReplayFile implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long seed;
+    private final long snakeSpeed;
+    private final long stepNanos;
+    private final int inputsOffset; // Start of the first input
+    private final long endTick;
+    private final int score;
+    private final int snakeLength;
+    private final long fingerprint;
+    private final int indexOffset; // Start of the keyframe index, or 0 if there is none
+    private final int keyframeCount;
+
+    /**
+     * Opens and maps a replay file.
+     *
+     * @param path The file to open.
+     * @throws IOException If the file cannot be read or is not a valid replay.
+     */
+    public ReplayFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int version = Replay.readHeader(buffer);
+            seed = buffer.getLong();
+            snakeSpeed = Replay.readVarint(buffer);
+            stepNanos = Replay.readVarint(buffer);
+            inputsOffset = buffer.position();
+
+            if (version >= 2) {
+                int footer = buffer.limit() - Replay.FOOTER_BYTES;
+                Replay.checkIndexMagic(buffer, footer + 20);
+                buffer.position((int) buffer.getLong(footer));
+                indexOffset = (int) buffer.getLong(footer + 8);
+                keyframeCount = buffer.getInt(footer + 16);
+            } else {
+                // No footer: walk the inputs to reach the outcome
+                while (Replay.readVarint(buffer) != 0) {
+                    continue;
+                }
+                indexOffset = 0;
+                keyframeCount = 0;
+            }
+            endTick = Replay.readVarint(buffer);
+            score = (int) Replay.readVarint(buffer);
+            snakeLength = (int) Replay.readVarint(buffer);
+            fingerprint = buffer.getLong();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        } catch (RuntimeException e) {
+            channel.close();
+            throw new IOException("Truncated or corrupt replay", e);
+        }
+    }
+
+    /**
+     * Prepares playback from the given tick, starting from the nearest keyframe at or before it.
+     *
+     * @param tick The tick to start from; clamped to the end of the recording.
+     * @return A player positioned at the tick.
+     * @throws IOException If the keyframe or inputs are malformed.
+     */
+    public ReplayPlayer seek(long tick) throws IOException {
+        int keyframe = nearestKeyframe(tick);
+        GameEngine engine;
+        int inputOffset;
+        long previousTick;
+        try {
+            if (keyframe < 0) {
+                engine = new GameEngine(snakeSpeed, stepNanos, seed);
+                inputOffset = inputsOffset;
+                previousTick = 0;
+            } else {
+                int entry = indexOffset + keyframe * Replay.INDEX_ENTRY_BYTES;
+                ByteBuffer snapshot = buffer.duplicate();
+                snapshot.position((int) buffer.getLong(entry + 8));
+                engine = Snapshot.read(snapshot, snakeSpeed, stepNanos, seed);
+                inputOffset = (int) buffer.getLong(entry + 16);
+                previousTick = buffer.getLong(entry + 24);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt replay keyframe", e);
+        }
+        ByteBuffer inputs = buffer.duplicate();
+        inputs.position(inputOffset);
+        ReplayPlayer player = new ReplayPlayer(engine, inputs, previousTick, endTick, score, snakeLength, fingerprint);
+        player.advanceTo(tick);
+        return player;
+    }
+
+    /**
+     * Binary-searches the index for the last keyframe at or before a tick, reading entries from the mapped file.
+     *
+     * @param tick The tick.
+     * @return The keyframe index, or -1 if the tick is before the first keyframe.
+     */
+    private int nearestKeyframe(long tick) {
+        int low = 0;
+        int high = keyframeCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(indexOffset + mid * Replay.INDEX_ENTRY_BYTES) <= tick) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the tick of a keyframe.
+     *
+     * @param index The keyframe index.
+     * @return The tick the keyframe was taken on.
+     */
+    public long getKeyframeTick(int index) {
+        return buffer.getLong(indexOffset + index * Replay.INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * Returns the number of keyframes in the file.
+     *
+     * @return The keyframe count.
+     */
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * Returns the simulated time per step.
+     *
+     * @return The step length in nanoseconds.
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Returns the tick count when the recording ended.
+     *
+     * @return The final tick.
+     */
+    public long getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Returns the score when the recording ended.
+     *
+     * @return The final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the snake length when the recording ended.
+     *
+     * @return The final length.
+     */
+    public int getSnakeLength() {
+        return snakeLength;
+    }
+
+    /**
+     * Returns the engine's state fingerprint when the recording ended.
+     *
+     * @return The final fingerprint.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Closes the file. The mapping is released when it is garbage collected.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * @Project Replay Player
+ * @Description Plays a replay back headlessly by feeding its recorded inputs into an engine, either a fresh one built from the recorded seed and speeds
+ * or one restored from a keyframe. Inputs are decoded from the encoded replay as playback reaches them, so a player can read straight from a mapped file.
+ * Steps run as fast as the caller asks, so a game can be checked in a fraction of the time it took to play.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ReplayPlayer {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final GameEngine engine;
+    private final ByteBuffer inputs; // Encoded inputs from the next one on, ending with the terminator
+    private final long endTick;
+    private final int score;
+    private final int snakeLength;
+    private final long fingerprint;
+    private long nextInputTick = -1; // Tick of the next input, or -1 when there are no more
+    private Direction nextInputDirection;
+
+    /**
+     * Prepares a replay for playback from its first tick.
+     *
+     * @param replay The replay to play.
+     */
+    public ReplayPlayer(Replay replay) {
+        this(new GameEngine(replay.getSnakeSpeed(), replay.getStepNanos(), replay.getSeed()), replay.encodeInputs(0), 0,
+                replay.getEndTick(), replay.getScore(), replay.getSnakeLength(), replay.getFingerprint());
+    }
+
+    /**
+     * Prepares playback from an engine in any state.
+     *
+     * @param engine        The engine, at the tick the inputs continue from.
+     * @param inputs        The encoded inputs from the first one not yet applied, ending with the terminator.
+     * @param previousTick  The tick of the input before the first one, or 0 if there is none.
+     * @param endTick       The tick count when the recording ended.
+     * @param score         The score when the recording ended.
+     * @param snakeLength   The snake length when the recording ended.
+     * @param fingerprint   The engine's state fingerprint when the recording ended.
+     */
+    ReplayPlayer(GameEngine engine, ByteBuffer inputs, long previousTick, long endTick, int score, int snakeLength, long fingerprint) {
+        this.engine = engine;
+        this.inputs = inputs;
+        this.endTick = endTick;
+        this.score = score;
+        this.snakeLength = snakeLength;
+        this.fingerprint = fingerprint;
+        this.nextInputTick = previousTick;
+        readNextInput();
+    }
+
+    /**
+     * Decodes the next input, adding its delta to the tick of the one before it.
+     */
+    private void readNextInput() {
+        long value;
+        try {
+            value = Replay.readVarint(inputs);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt replay input", e);
+        }
+        if (value == 0) {
+            nextInputTick = -1;
+            return;
+        }
+        nextInputTick += (value - 1) >>> 2;
+        nextInputDirection = DIRECTIONS[(int) ((value - 1) & 3)];
+    }
+
+    /**
+     * Runs up to the given number of steps, stopping early when the replay ends.
+     *
+     * @param steps The maximum number of steps to run.
+     * @return The number of steps run.
+     */
+    public int advance(int steps) {
+        int run = 0;
+        while (run < steps && !isFinished()) {
+            Direction input = null;
+            if (nextInputTick == engine.getTickCount()) {
+                input = nextInputDirection;
+                readNextInput();
+            }
+            engine.step(input);
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * Runs until the engine reaches the given tick or the replay ends.
+     *
+     * @param tick The tick to stop at.
+     */
+    public void advanceTo(long tick) {
+        while (engine.getTickCount() < tick && !isFinished()) {
+            advance((int) Math.min(Integer.MAX_VALUE, tick - engine.getTickCount()));
+        }
+    }
+
+    /**
+     * Runs the replay to its end.
+     *
+     * @return The engine in its final state.
+     */
+    public GameEngine playToEnd() {
+        while (!isFinished()) {
+            advance(Integer.MAX_VALUE);
+        }
+        return engine;
+    }
+
+    /**
+     * Checks whether playback has reached the end of the recording or the game is over.
+     *
+     * @return true if there is nothing left to play, false otherwise.
+     */
+    public boolean isFinished() {
+        return engine.isGameOver() || engine.getTickCount() >= endTick;
+    }
+
+    /**
+     * Checks whether the game ended in exactly the recorded state. A mismatch means the engine no longer plays the game the way it was recorded.
+     *
+     * @return true if the tick count, score, snake length and state fingerprint all match the recording.
+     */
+    public boolean matchesRecording() {
+        return engine.getTickCount() == endTick
+                && engine.getScore() == score
+                && engine.getSnake().getLength() == snakeLength
+                && engine.fingerprint() == fingerprint;
+    }
+
+    /**
+     * Returns the engine the replay is played into.
+     *
+     * @return The engine.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+}
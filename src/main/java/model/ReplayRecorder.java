@@ -0,0 +1,106 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * @Project Replay Recorder
+ * @Description Records a game as it is played: the engine's seed and speeds, each direction input with the tick it is applied on,
+ * and a keyframe snapshot of the whole game every ten seconds of game time so playback can seek without simulating from the start.
+ * Recording an input is a couple of array writes, so it can run inside the game loop. A keyframe is about 2.5 KB on the default board,
+ * most of it the order of the free cell index: food placement samples by position in that order, so it is saved rather than rebuilt.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ReplayRecorder {
+    static final long KEYFRAME_INTERVAL_NANOS = 10_000_000_000L; // Game time between keyframes
+    private final GameEngine engine;
+    private final long keyframeInterval; // Ticks between keyframes
+    private long[] ticks = new long[64];
+    private byte[] directions = new byte[64];
+    private int count = 0;
+    private final ByteArrayOutputStream keyframeData = new ByteArrayOutputStream(4096);
+    private long[] keyframeTicks = new long[16];
+    private int[] keyframeOffsets = new int[16];
+    private int[] keyframeInputs = new int[16];
+    private int keyframeCount = 0;
+
+    /**
+     * Starts recording a game. Must be created before the first step.
+     *
+     * @param engine The game to record.
+     */
+    public ReplayRecorder(GameEngine engine) {
+        if (!canRecord(engine)) {
+            throw new IllegalArgumentException("Replays only cover games on the default board, not " + engine.getColumns() + "x" + engine.getRows());
+        }
+        this.engine = engine;
+        this.keyframeInterval = Math.max(1, KEYFRAME_INTERVAL_NANOS / engine.getStepNanos());
+    }
+
+    /**
+     * Checks whether a game can be recorded. Replays and their snapshots assume the default board.
+     *
+     * @param engine The game.
+     * @return true if the game is on the default board.
+     */
+    public static boolean canRecord(GameEngine engine) {
+        return engine.getColumns() == util.GameUtil.COLUMNS && engine.getRows() == util.GameUtil.ROWS;
+    }
+
+    /**
+     * Advances the recorded game by one step, recording the input if there is one and a keyframe when one is due.
+     * Use this in place of {@link GameEngine#step(Direction)}.
+     *
+     * @param input The direction requested for this step, or null to keep the current direction.
+     */
+    public void step(Direction input) {
+        if (!engine.isGameOver()) {
+            long tick = engine.getTickCount();
+            if (tick > 0 && tick % keyframeInterval == 0) {
+                addKeyframe(tick);
+            }
+            if (input != null) {
+                if (count == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, count * 2);
+                    directions = Arrays.copyOf(directions, count * 2);
+                }
+                ticks[count] = tick;
+                directions[count] = (byte) input.ordinal();
+                count++;
+            }
+        }
+        engine.step(input);
+    }
+
+    /**
+     * Snapshots the game before the step on the given tick runs.
+     *
+     * @param tick The current tick.
+     */
+    private void addKeyframe(long tick) {
+        if (keyframeCount == keyframeTicks.length) {
+            keyframeTicks = Arrays.copyOf(keyframeTicks, keyframeCount * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+            keyframeInputs = Arrays.copyOf(keyframeInputs, keyframeCount * 2);
+        }
+        keyframeTicks[keyframeCount] = tick;
+        keyframeOffsets[keyframeCount] = keyframeData.size();
+        keyframeInputs[keyframeCount] = count; // Inputs recorded so far all came before this tick
+        keyframeCount++;
+        Snapshot.write(engine, keyframeData);
+    }
+
+    /**
+     * Returns the replay of everything recorded so far, with the game's current state as its outcome.
+     *
+     * @return The replay.
+     */
+    public Replay toReplay() {
+        return new Replay(engine.getSeed(), engine.getSnakeSpeed(), engine.getStepNanos(),
+                Arrays.copyOf(ticks, count), Arrays.copyOf(directions, count),
+                engine.getTickCount(), engine.getScore(), engine.getSnake().getLength(), engine.fingerprint(),
+                Arrays.copyOf(keyframeTicks, keyframeCount), Arrays.copyOf(keyframeOffsets, keyframeCount),
+                Arrays.copyOf(keyframeInputs, keyframeCount), keyframeData.toByteArray());
+    }
+}
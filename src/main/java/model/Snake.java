@@ -1,15 +1,5 @@
 package model;
 
-import javafx.geometry.Bounds;
-import javafx.geometry.Point2D;
-import javafx.geometry.Rectangle2D;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import javafx.scene.shape.Rectangle;
-
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * @Project Snake Game
  * @Description The Snake class represents the snake in the game. It is responsible for managing the snake's movement, growth, and collision detection.
@@ -17,180 +7,83 @@ import java.util.List;
  * @version 1.0
  */
 public class Snake {
-    private final List<Objects> body;
-    private final List<Direction> segmentDirections;
-    private final LinkedList<Point2D> turnPoints = new LinkedList<>();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int MIN_CAPACITY = 16; // Must be a power of two
+    // The body is a ring buffer: segment i (0 = head) lives in slot (head + i) & (capacity - 1)
+    private int[] xs;
+    private int[] ys;
+    private int[] directionBits; // Direction each segment last moved in, packed two bits per slot
+    private int head = 0; // Slot holding the head segment
+    private int length = 0; // Number of segments in the body
+    private final int columns; // Width of the board, in cells
+    private final int rows; // Height of the board, in cells
+    private final long[] occupied; // One bit per board cell, set while a segment covers it
+    private final FreeCells freeCells; // Told when the snake enters or leaves a cell, or null
     private Direction currentDirection;
-    private Direction previousDirection;
-    private final int size;
     private final long speed;
     private long lastMoveTime = 0;
     private int score = 0;
     private boolean gameOver = false;
-    private final Image spriteSheet;
-    private static final int SPRITE_SIZE = 64;  // assuming each sprite is 64x64 pixels
-    private static final Rectangle2D BODY_STRAIGHT_SPRITE = new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
+    private long moveCount = 0; // Number of cells the head has advanced since the snake was created
 
 
     /**
-     * Constructor for Snake. Initializes the snake with the provided parameters.
+     * Constructor for Snake. Initializes the snake with the provided parameters on a board the size of the game area.
      *
-     * @param spriteSheetPath Path to the sprite sheet image.
      * @param initialX        Initial X-coordinate of the snake.
      * @param initialY        Initial Y-coordinate of the snake.
      * @param initialSize     Initial size of the snake.
-     * @param segmentSize     Size of each snake segment.
      * @param speed           Movement speed of the snake.
      */
-    public Snake(String spriteSheetPath, int initialX, int initialY, int initialSize, int segmentSize, long speed) {
-        this.size = segmentSize;
-        this.speed = speed;
-        this.currentDirection = Direction.RIGHT;
-        this.previousDirection = this.currentDirection;
-
-        // Load the sprite sheet
-        this.spriteSheet = new Image(spriteSheetPath);
-
-        // Initialize the snake's body
-        this.body = new LinkedList<>();
-        for (int i = 0; i < initialSize; i++) {
-            this.body.add(new Objects(initialX - i, initialY));
-        }
-
-        segmentDirections = new LinkedList<>();
-        for (int i = 0; i < initialSize; i++) {
-            segmentDirections.add(Direction.RIGHT); // Assuming snake initially moves right
-        }
-    }
-
-    /**
-     * Returns the sprite representing the head of the snake based on the current direction.
-     *
-     * @return The sprite representing the head of the snake.
-     */
-    private Rectangle2D getHeadSprite() {
-        switch (currentDirection) {
-            case UP:
-                return new Rectangle2D(SPRITE_SIZE * 3, 0, SPRITE_SIZE, SPRITE_SIZE);
-            case DOWN:
-                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
-            case LEFT:
-                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
-            case RIGHT:
-                // No rotation needed
-                return new Rectangle2D(SPRITE_SIZE * 4, 0, SPRITE_SIZE, SPRITE_SIZE);
-            default:
-                return new Rectangle2D(SPRITE_SIZE * 4, 0, SPRITE_SIZE, SPRITE_SIZE);
-        }
-    }
-
-    /**
-     * Returns the sprite representing the tail of the snake based on the given direction.
-     *
-     * @param direction The direction of the next segment from the tail.
-     * @return The sprite representing the tail of the snake.
-     */
-    private Rectangle2D getTailSprite(Direction direction) {
-        switch (direction) {
-            case UP:
-                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
-            case DOWN:
-                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE);
-            case LEFT:
-                return new Rectangle2D(SPRITE_SIZE * 3, SPRITE_SIZE * 3, SPRITE_SIZE, SPRITE_SIZE);
-            case RIGHT:
-                // No rotation needed
-                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
-            default:
-                return new Rectangle2D(SPRITE_SIZE * 4, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
-        }
-    }
-
-    /**
-     * Returns the sprite representing a segment of the snake's body based on the given direction.
-     *
-     * @param direction The direction of the segment.
-     * @return The sprite representing the segment of the snake's body.
-     */
-    private Rectangle2D getBodySprite(Direction direction) {
-        switch (direction) {
-            case UP:
-            case DOWN:
-                return new Rectangle2D(SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
-            case RIGHT:
-            case LEFT:
-            default:
-                return new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
-        }
+    public Snake(int initialX, int initialY, int initialSize, long speed) {
+        this(initialX, initialY, initialSize, speed, util.GameUtil.COLUMNS, util.GameUtil.ROWS);
     }
 
     /**
-     * Returns the sprite representing a segment of the snake's body when there is a turn in direction between this segment and the next segment.
+     * Constructor for Snake. Initializes the snake with the provided parameters.
      *
-     * @param thisSegmentDirection The direction of this segment.
-     * @param nextSegmentDirection The direction of the next segment.
-     * @return The sprite representing the segment of the snake's body for a turn.
+     * @param initialX        Initial X-coordinate of the snake.
+     * @param initialY        Initial Y-coordinate of the snake.
+     * @param initialSize     Initial size of the snake.
+     * @param speed           Movement speed of the snake.
+     * @param columns         Width of the board, in cells.
+     * @param rows            Height of the board, in cells.
      */
-    private Rectangle2D getTurnSprite(Direction thisSegmentDirection, Direction nextSegmentDirection) {
-        if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.RIGHT)|| (thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.DOWN)) {
-            // Curve turning up to right // Curve turning left to down
-            return new Rectangle2D(0, 0, SPRITE_SIZE, SPRITE_SIZE);
-        } else if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.LEFT) || (thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.DOWN)) {
-            // Curve turning up to left // Curve turning right to down
-            return new Rectangle2D(SPRITE_SIZE * 2, 0, SPRITE_SIZE, SPRITE_SIZE);
-        } else if ((thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.UP) || (thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.RIGHT)) {
-            // Curve turning left to up // Curve turning down to right
-            return new Rectangle2D(0, SPRITE_SIZE, SPRITE_SIZE, SPRITE_SIZE);
-        } else if ((thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.LEFT) ||(thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.UP) ) {
-            // Curve turning down to left // Curve turning right to up
-            return new Rectangle2D(SPRITE_SIZE * 2, SPRITE_SIZE * 2, SPRITE_SIZE, SPRITE_SIZE);
-        } else {
-            // No turn, use the straight body sprite
-            return BODY_STRAIGHT_SPRITE;
-        }
+    public Snake(int initialX, int initialY, int initialSize, long speed, int columns, int rows) {
+        this(initialX, initialY, initialSize, speed, columns, rows, null);
     }
 
     /**
-     * Draws the snake on the provided GraphicsContext.
+     * Constructor for Snake. Initializes the snake with the provided parameters and keeps the given free cell index up to date.
      *
-     * @param gc The GraphicsContext on which to draw the snake.
+     * @param initialX        Initial X-coordinate of the snake.
+     * @param initialY        Initial Y-coordinate of the snake.
+     * @param initialSize     Initial size of the snake.
+     * @param speed           Movement speed of the snake.
+     * @param columns         Width of the board, in cells.
+     * @param rows            Height of the board, in cells.
+     * @param freeCells       Index of free cells to block and unblock as the snake moves, or null.
      */
-    public void draw(GraphicsContext gc) {
-        for (int i = 0; i < body.size(); i++) {
-            Objects segment = body.get(i);
-            // Determine the sprite to use
-            Rectangle2D spriteToUse;
-
-            // Draw the segment using the appropriate sprite
-            if (i == 0) {
-                // Head of the snake
-                spriteToUse = getHeadSprite();
-            } else if (i == body.size() - 1) {
-                // Tail of the snake
-                Direction nextSegmentDirection = segmentDirections.get(i - 1);
-                spriteToUse = getTailSprite(nextSegmentDirection);
-            } else {
-                // Body of the snake
-                Direction thisSegmentDirection = segmentDirections.get(i);
-                Direction nextSegmentDirection = segmentDirections.get(i - 1);
-                if (thisSegmentDirection != nextSegmentDirection) {
-                    // This segment is a turn
-                    spriteToUse = getTurnSprite(thisSegmentDirection, nextSegmentDirection);
-                } else {
-                    // This segment is straight
-                    spriteToUse = getBodySprite(nextSegmentDirection);
-                }
-            }
+    public Snake(int initialX, int initialY, int initialSize, long speed, int columns, int rows, FreeCells freeCells) {
+        this.speed = speed;
+        this.freeCells = freeCells;
+        this.columns = columns;
+        this.rows = rows;
+        this.occupied = new long[(int) (((long) columns * rows + 63) >>> 6)];
+        this.currentDirection = Direction.RIGHT;
 
-            // Draw the segment using the appropriate sprite
-            gc.drawImage(
-                    spriteSheet,
-                    spriteToUse.getMinX(), spriteToUse.getMinY(),
-                    spriteToUse.getWidth(), spriteToUse.getHeight(),
-                    segment.getX() * size, segment.getY() * size,
-                    size, size // Scale sprite to the desired size
-            );
+        // Initialize the snake's body
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, initialSize) - 1) << 1;
+        xs = new int[capacity];
+        ys = new int[capacity];
+        directionBits = new int[capacity >>> 4];
+        for (int i = 0; i < initialSize; i++) {
+            xs[i] = initialX - i;
+            ys[i] = initialY;
+            setSlotDirection(i, Direction.RIGHT); // Assuming snake initially moves right
+            setOccupied(initialX - i, initialY, true);
         }
+        length = initialSize;
     }
 
     /**
@@ -198,46 +91,49 @@ public class Snake {
      * If the current time minus the last move time is greater than or equal to the speed,
      * update the snake's position and check for collisions with the body.
      * If a collision occurs, set the game over flag to true.
+     * Moves are scheduled a whole speed interval apart, so the snake keeps its rate even when the caller's time step does not divide the speed.
      *
-     * @param currentTime The current time in milliseconds.
+     * @param currentTime The current simulated time in nanoseconds.
      */
     public void move(long currentTime) {
         if (currentTime - lastMoveTime >= speed) {
-            Objects head = body.get(0);
-            Objects newHead = new Objects(head.getX(), head.getY());
+            int mask = xs.length - 1;
+            int newX = xs[head];
+            int newY = ys[head];
 
             switch (currentDirection) {
-                case UP: newHead.setY(head.getY() - 1); break;
-                case DOWN: newHead.setY(head.getY() + 1); break;
-                case LEFT: newHead.setX(head.getX() - 1); break;
-                case RIGHT: newHead.setX(head.getX() + 1); break;
+                case UP: newY--; break;
+                case DOWN: newY++; break;
+                case LEFT: newX--; break;
+                case RIGHT: newX++; break;
             }
 
-            // Check if the new head position collides with body
-            for (int i = 0; i < body.size(); i++) {
-                if (newHead.equals(body.get(i))) {
-                    gameOver = true;
-                    return;
-                }
+            // The tail leaves its cell this move, unless a segment grown on top of it stays behind
+            int tail = (head + length - 1) & mask;
+            int tailX = xs[tail];
+            int tailY = ys[tail];
+            int beforeTail = (tail - 1) & mask;
+            boolean tailVacates = length == 1 || xs[beforeTail] != tailX || ys[beforeTail] != tailY;
+
+            // Check if the new head position collides with body; moving into a vacating tail cell is allowed
+            if (isOccupied(newX, newY) && !(tailVacates && newX == tailX && newY == tailY)) {
+                gameOver = true;
+                return;
             }
-
-            // When the head turns, add the point to the turnPoints list
-            if (currentDirection != previousDirection) {
-                turnPoints.add(new Point2D(head.getX(), head.getY()));
-                previousDirection = currentDirection; // Don't forget to update the previousDirection
+            if (tailVacates) {
+                setOccupied(tailX, tailY, false);
             }
 
-            // Move the snake forward by adding the new head and removing the last segment
-            body.add(0, newHead);
-            body.remove(body.size() - 1);
-
-            // Update the segment directions to propagate the turn through the body
-            for (int i = segmentDirections.size() - 1; i > 0; i--) {
-                segmentDirections.set(i, segmentDirections.get(i - 1));
-            }
-            segmentDirections.set(0, currentDirection);
+            // Move the snake forward: the slot before the head becomes the new head and the last segment drops off,
+            // so every other segment keeps its position and direction without being copied
+            head = (head - 1) & mask;
+            xs[head] = newX;
+            ys[head] = newY;
+            setSlotDirection(head, currentDirection);
+            setOccupied(newX, newY, true);
 
-            lastMoveTime = currentTime;
+            lastMoveTime += speed;
+            moveCount++;
         }
     }
 
@@ -249,9 +145,10 @@ public class Snake {
      * @return true if the head is out of bounds, false otherwise.
      */
     public boolean isOutOfBounds() {
-        Objects head = body.get(0);
-        boolean xOut = head.getX() < 0 || head.getX() >= util.GameUtil.WIDTH / util.GameUtil.CELL_SIZE;
-        boolean yOut = head.getY() < 0 || head.getY() >= util.GameUtil.HEIGHT / util.GameUtil.CELL_SIZE;
+        int headX = xs[head];
+        int headY = ys[head];
+        boolean xOut = headX < 0 || headX >= columns;
+        boolean yOut = headY < 0 || headY >= rows;
         return xOut || yOut;
     }
 
@@ -269,14 +166,116 @@ public class Snake {
      * The new segment is placed at the position of the current tail and continues in the same direction as the last segment.
      */
     public void grow() {
-        Objects tail = body.get(body.size() - 1);
+        if (length == xs.length) {
+            resize(xs.length << 1);
+        }
+        int mask = xs.length - 1;
+        int tail = (head + length - 1) & mask;
+        int newTail = (head + length) & mask;
         // Add a new segment at the position of the current tail (it will move in the next update)
-        body.add(new Objects(tail.getX(), tail.getY()));
+        xs[newTail] = xs[tail];
+        ys[newTail] = ys[tail];
 
-        // It's crucial to also add the direction of the last segment to the segmentDirections list
         // The new segment will initially continue in the same direction as the last segment
-        Direction tailDirection = segmentDirections.get(segmentDirections.size() - 1);
-        segmentDirections.add(tailDirection);
+        setSlotDirection(newTail, getSlotDirection(tail));
+        length++;
+    }
+
+    /**
+     * Copies the body into larger arrays, unwrapping the ring so the head lands in slot 0.
+     * Only called when the snake grows past its capacity, so moving never allocates.
+     *
+     * @param capacity The new capacity, a power of two.
+     */
+    private void resize(int capacity) {
+        int mask = xs.length - 1;
+        int[] newXs = new int[capacity];
+        int[] newYs = new int[capacity];
+        int[] newDirectionBits = new int[capacity >>> 4];
+        for (int i = 0; i < length; i++) {
+            int slot = (head + i) & mask;
+            newXs[i] = xs[slot];
+            newYs[i] = ys[slot];
+            newDirectionBits[i >>> 4] |= ((directionBits[slot >>> 4] >>> ((slot & 15) << 1)) & 3) << ((i & 15) << 1);
+        }
+        xs = newXs;
+        ys = newYs;
+        directionBits = newDirectionBits;
+        head = 0;
+    }
+
+    /**
+     * Checks whether any segment of the snake covers the given cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return true if the cell is on the board and covered by the snake, false otherwise.
+     */
+    public boolean isOccupied(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return false;
+        }
+        int cell = y * columns + x;
+        return (occupied[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Sets or clears the occupancy bit of a cell and updates the free cell index. Cells outside the board are ignored.
+     * Only called when the bit actually changes, so each call is one block or unblock.
+     *
+     * @param x     The x-coordinate of the cell.
+     * @param y     The y-coordinate of the cell.
+     * @param value true to mark the cell as covered, false to free it.
+     */
+    private void setOccupied(int x, int y, boolean value) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return;
+        }
+        int cell = y * columns + x;
+        if (value) {
+            occupied[cell >>> 6] |= 1L << cell;
+        } else {
+            occupied[cell >>> 6] &= ~(1L << cell);
+        }
+        if (freeCells != null) {
+            if (value) {
+                freeCells.block(x, y);
+            } else {
+                freeCells.unblock(x, y);
+            }
+        }
+    }
+
+    /**
+     * Reads the direction stored for a ring buffer slot.
+     *
+     * @param slot The ring buffer slot.
+     * @return The direction of the segment in that slot.
+     */
+    private Direction getSlotDirection(int slot) {
+        return DIRECTIONS[(directionBits[slot >>> 4] >>> ((slot & 15) << 1)) & 3];
+    }
+
+    /**
+     * Stores the direction for a ring buffer slot.
+     *
+     * @param slot      The ring buffer slot.
+     * @param direction The direction of the segment in that slot.
+     */
+    private void setSlotDirection(int slot, Direction direction) {
+        int shift = (slot & 15) << 1;
+        int word = slot >>> 4;
+        directionBits[word] = (directionBits[word] & ~(3 << shift)) | (direction.ordinal() << shift);
+    }
+
+    /**
+     * Checks whether a move is due at the given time, i.e. whether {@link #move(long)} would advance the head.
+     *
+     * @param currentTime The simulated time in nanoseconds.
+     * @return true if the snake moves at that time.
+     */
+    public boolean isMoveDue(long currentTime) {
+        return currentTime - lastMoveTime >= speed;
     }
 
     /**
@@ -290,29 +289,6 @@ public class Snake {
                 (currentDirection == Direction.LEFT && newDirection != Direction.RIGHT) ||
                 (currentDirection == Direction.RIGHT && newDirection != Direction.LEFT)) {
             currentDirection = newDirection;
-            rotateHeadImage();
-        }
-    }
-
-    /**
-     * Rotates the head image of the snake based on its current direction.
-     * The head image is selected from a sprite sheet, with each direction having its own image.
-     *
-     * @return The rectangle representing the rotated head image of the snake.
-     */
-    private Rectangle2D rotateHeadImage() {
-        // Assuming your sprite sheet has the head images in the order: up, right, down, left
-        switch (currentDirection) {
-            case UP:
-                return new Rectangle2D(0, 0, SPRITE_SIZE, SPRITE_SIZE);
-            case RIGHT:
-                return new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
-            case DOWN:
-                return new Rectangle2D(2 * SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
-            case LEFT:
-                return new Rectangle2D(3 * SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
-            default:
-                return new Rectangle2D(SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE);
         }
     }
 
@@ -323,8 +299,7 @@ public class Snake {
      * @return true if the head of the snake is colliding with the food, false otherwise.
      */
     public boolean isCollidingWithFood(model.Food food) {
-        Objects head = body.get(0);
-        return head.getX() == food.getX() && head.getY() == food.getY();
+        return xs[head] == food.getX() && ys[head] == food.getY();
     }
 
     /**
@@ -334,26 +309,12 @@ public class Snake {
      * @return true if the head of the snake is colliding with the paddle, false otherwise.
      */
     public boolean checkCollisionWithPaddle(Paddle paddle) {
-        Objects head = body.get(0); // Assuming this gives you the head of the snake
-        Rectangle2D headRect = new Rectangle2D(
-                head.getX() * util.GameUtil.CELL_SIZE,
-                head.getY() * util.GameUtil.CELL_SIZE,
+        return paddle.intersects(
+                xs[head] * util.GameUtil.CELL_SIZE,
+                ys[head] * util.GameUtil.CELL_SIZE,
                 util.GameUtil.CELL_SIZE,
                 util.GameUtil.CELL_SIZE
         );
-
-        Rectangle paddleFace = paddle.getPaddleFace();
-
-        // Convert Bounds to Rectangle2D for intersection check
-        Bounds bounds = paddleFace.getBoundsInLocal();
-        Rectangle2D paddleRect = new Rectangle2D(
-                bounds.getMinX(),
-                bounds.getMinY(),
-                bounds.getWidth(),
-                bounds.getHeight()
-        );
-
-        return headRect.intersects(paddleRect);
     }
 
     /**
@@ -373,4 +334,131 @@ public class Snake {
     public int getScore() {
         return score;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the direction the snake's head is currently facing.
+     *
+     * @return The current direction of the snake.
+     */
+    public Direction getCurrentDirection() {
+        return currentDirection;
+    }
+
+    /**
+     * Returns how many cells the head has advanced since the snake was created.
+     *
+     * @return The number of moves made.
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the width of the board the snake moves on.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the height of the board the snake moves on.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the time between the snake's moves.
+     *
+     * @return The move interval in nanoseconds.
+     */
+    public long getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Returns the number of segments in the snake's body.
+     *
+     * @return The length of the snake.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the x-coordinate of a body segment.
+     *
+     * @param index The segment index, 0 being the head.
+     * @return The x-coordinate of the segment, in cells.
+     */
+    public int getX(int index) {
+        return xs[(head + index) & (xs.length - 1)];
+    }
+
+    /**
+     * Returns the y-coordinate of a body segment.
+     *
+     * @param index The segment index, 0 being the head.
+     * @return The y-coordinate of the segment, in cells.
+     */
+    public int getY(int index) {
+        return ys[(head + index) & (ys.length - 1)];
+    }
+
+    /**
+     * Returns the direction a body segment last moved in.
+     *
+     * @param index The segment index, 0 being the head.
+     * @return The direction of the segment.
+     */
+    public Direction getDirection(int index) {
+        return getSlotDirection((head + index) & (xs.length - 1));
+    }
+
+    /**
+     * Returns the simulated time the next move is scheduled from, for saving in a snapshot.
+     *
+     * @return The time of the last move in nanoseconds.
+     */
+    long getLastMoveTime() {
+        return lastMoveTime;
+    }
+
+    /**
+     * Replaces the whole state of an empty snake with a saved one, marking its cells occupied. Used when restoring a snapshot.
+     *
+     * @param segmentXs        The x-coordinate of each segment, head first.
+     * @param segmentYs        The y-coordinate of each segment, head first.
+     * @param segmentDirections The direction of each segment, head first.
+     * @param currentDirection The direction the snake is heading.
+     * @param lastMoveTime     The time of the last move, in nanoseconds.
+     * @param score            The score.
+     * @param moveCount        The number of moves made.
+     */
+    void restore(int[] segmentXs, int[] segmentYs, Direction[] segmentDirections, Direction currentDirection,
+                 long lastMoveTime, int score, long moveCount) {
+        int count = segmentXs.length;
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, count) - 1) << 1;
+        xs = new int[capacity];
+        ys = new int[capacity];
+        directionBits = new int[capacity >>> 4];
+        head = 0;
+        for (int i = 0; i < count; i++) {
+            xs[i] = segmentXs[i];
+            ys[i] = segmentYs[i];
+            setSlotDirection(i, segmentDirections[i]);
+            if (!isOccupied(segmentXs[i], segmentYs[i])) {
+                setOccupied(segmentXs[i], segmentYs[i], true);
+            }
+        }
+        length = count;
+        this.currentDirection = currentDirection;
+        this.lastMoveTime = lastMoveTime;
+        this.score = score;
+        this.moveCount = moveCount;
+    }
+}
@@ -0,0 +1,180 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Project Snapshot
+ * @Description Saves and restores the complete state of a running game: the clock, the random number generator, the snake's body,
+ * every paddle and food, the level counters and the order of the free cell index. A restored game plays on exactly as the original did,
+ * which is what replay keyframes rely on.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+final class Snapshot {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Snapshot() {
+    }
+
+    /**
+     * Appends the state of a game to a stream.
+     *
+     * @param engine The game, which must not be over.
+     * @param out    The stream to write to.
+     */
+    static void write(GameEngine engine, ByteArrayOutputStream out) {
+        Replay.writeVarint(out, engine.getTickCount());
+        Replay.writeVarint(out, engine.getElapsedNanos());
+        writeLong(out, engine.getRandom().getState());
+
+        Snake snake = engine.getSnake();
+        Replay.writeVarint(out, snake.getLength());
+        out.write(snake.getCurrentDirection().ordinal());
+        writeSigned(out, snake.getLastMoveTime());
+        Replay.writeVarint(out, snake.getScore());
+        Replay.writeVarint(out, snake.getMoveCount());
+        for (int i = 0; i < snake.getLength(); i++) {
+            writeSigned(out, snake.getX(i));
+            writeSigned(out, snake.getY(i));
+            out.write(snake.getDirection(i).ordinal());
+        }
+
+        Levels levels = engine.getLevels();
+        Replay.writeVarint(out, levels.getLastPaddleAddedScore());
+        Replay.writeVarint(out, levels.getLastFoodAddedScore());
+        Replay.writeVarint(out, levels.getPaddles().size());
+        for (Paddle paddle : levels.getPaddles()) {
+            Replay.writeVarint(out, paddle.getWidth());
+            Replay.writeVarint(out, paddle.getHeight());
+            writeLong(out, Double.doubleToLongBits(paddle.getCentreX()));
+            writeLong(out, Double.doubleToLongBits(paddle.getY()));
+            writeSigned(out, paddle.getMoveAmount());
+            writeLong(out, Double.doubleToLongBits(paddle.getMin()));
+            writeLong(out, Double.doubleToLongBits(paddle.getMax()));
+        }
+        List<String> imageKeys = levels.getFoodImageKeys();
+        Replay.writeVarint(out, levels.getFoods().size());
+        for (Food food : levels.getFoods()) {
+            Replay.writeVarint(out, imageKeys.indexOf(food.getImageKey()));
+            writeSigned(out, food.getX());
+            writeSigned(out, food.getY());
+            out.write(food.isPlaced() ? 1 : 0);
+        }
+
+        FreeCells freeCells = levels.getFreeCells();
+        Replay.writeVarint(out, freeCells.size());
+        for (int i = 0; i < freeCells.size(); i++) {
+            Replay.writeVarint(out, freeCells.getFreeAt(i));
+        }
+    }
+
+    /**
+     * Rebuilds a game from a saved state.
+     *
+     * @param in         The buffer holding the state, read from its position.
+     * @param snakeSpeed The time between snake moves, in nanoseconds.
+     * @param stepNanos  The simulated time per step, in nanoseconds.
+     * @param seed       The seed the game was started with.
+     * @return The restored game.
+     * @throws IOException If the state is malformed.
+     */
+    static GameEngine read(ByteBuffer in, long snakeSpeed, long stepNanos, long seed) throws IOException {
+        long tickCount = Replay.readVarint(in);
+        long elapsedNanos = Replay.readVarint(in);
+        GameRandom random = new GameRandom(seed);
+        random.setState(in.getLong());
+
+        int columns = util.GameUtil.COLUMNS;
+        int rows = util.GameUtil.ROWS;
+        FreeCells freeCells = new FreeCells(columns, rows);
+
+        int length = (int) Replay.readVarint(in);
+        Direction currentDirection = DIRECTIONS[in.get() & 3];
+        long lastMoveTime = readSigned(in);
+        int score = (int) Replay.readVarint(in);
+        long moveCount = Replay.readVarint(in);
+        int[] xs = new int[length];
+        int[] ys = new int[length];
+        Direction[] directions = new Direction[length];
+        for (int i = 0; i < length; i++) {
+            xs[i] = (int) readSigned(in);
+            ys[i] = (int) readSigned(in);
+            directions[i] = DIRECTIONS[in.get() & 3];
+        }
+        Snake snake = new Snake(0, 0, 0, snakeSpeed, columns, rows, freeCells);
+        snake.restore(xs, ys, directions, currentDirection, lastMoveTime, score, moveCount);
+
+        Levels levels = new Levels(GameEngine.FOOD_IMAGE_KEYS, freeCells, random);
+        int lastPaddleAddedScore = (int) Replay.readVarint(in);
+        int lastFoodAddedScore = (int) Replay.readVarint(in);
+        int paddleCount = (int) Replay.readVarint(in);
+        List<Paddle> paddles = new ArrayList<>(paddleCount);
+        for (int i = 0; i < paddleCount; i++) {
+            int width = (int) Replay.readVarint(in);
+            int height = (int) Replay.readVarint(in);
+            double centreX = Double.longBitsToDouble(in.getLong());
+            double y = Double.longBitsToDouble(in.getLong());
+            int moveAmount = (int) readSigned(in);
+            double min = Double.longBitsToDouble(in.getLong());
+            double max = Double.longBitsToDouble(in.getLong());
+            paddles.add(new Paddle(width, height, centreX, y, moveAmount, min, max));
+        }
+        int foodCount = (int) Replay.readVarint(in);
+        List<Food> foods = new ArrayList<>(foodCount);
+        for (int i = 0; i < foodCount; i++) {
+            String imageKey = GameEngine.FOOD_IMAGE_KEYS.get((int) Replay.readVarint(in));
+            int x = (int) readSigned(in);
+            int y = (int) readSigned(in);
+            boolean placed = in.get() != 0;
+            foods.add(new Food(GameEngine.FOOD_IMAGE_KEYS, freeCells, random, imageKey, x, y, placed));
+        }
+        levels.restore(paddles, foods, lastPaddleAddedScore, lastFoodAddedScore);
+
+        int[] order = new int[(int) Replay.readVarint(in)];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (int) Replay.readVarint(in);
+        }
+        if (!freeCells.restoreOrder(order)) {
+            throw new IOException("Snapshot free cells do not match its snake, paddles and foods");
+        }
+        return new GameEngine(snakeSpeed, stepNanos, seed, random, snake, levels, tickCount, elapsedNanos);
+    }
+
+    /**
+     * Writes a signed value as a zigzag varint, so small negative numbers stay short.
+     *
+     * @param out   The stream to write to.
+     * @param value The value.
+     */
+    private static void writeSigned(ByteArrayOutputStream out, long value) {
+        Replay.writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a zigzag varint.
+     *
+     * @param in The buffer to read from.
+     * @return The value.
+     * @throws IOException If the varint is malformed.
+     */
+    private static long readSigned(ByteBuffer in) throws IOException {
+        long value = Replay.readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes eight big-endian bytes.
+     *
+     * @param out   The stream to write to.
+     * @param value The value.
+     */
+    static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Project Asset Manager
+ * @Description Loads the game's images, FXML screens and audio in parallel on a small pool of background threads, so the first
+ * game start does not stall decoding them on the FX thread. Every asset is loaded once and handed out as a future; callers that
+ * need an asset immediately wait only for that one. Completed and requested counts drive the splash screen's progress bar.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class AssetManager {
+	// At least three threads, so the two FXML screens waiting on their images can never hold every thread
+	private static final int THREADS = Math.max(3, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	private static final Map<String, CompletableFuture<?>> assets = new ConcurrentHashMap<>();
+	private static final AtomicInteger requested = new AtomicInteger();
+	private static final AtomicInteger completed = new AtomicInteger();
+	private static final ExecutorService executor = createExecutor();
+	private static volatile Runnable progressListener; // Called on a loader thread each time an asset finishes
+
+	/**
+	 * Creates the bounded pool of daemon loader threads.
+	 *
+	 * @return The executor.
+	 */
+	private static ExecutorService createExecutor() {
+		AtomicInteger number = new AtomicInteger();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+			Thread thread = new Thread(task, "asset-loader-" + number.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		pool.allowCoreThreadTimeOut(true); // The threads go away once loading is over
+		return pool;
+	}
+
+	/**
+	 * Loads an asset on the pool unless it is already loading, and returns its future.
+	 *
+	 * @param key    The name the asset is cached under.
+	 * @param loader Produces the asset; runs on a loader thread.
+	 * @param <T>    The asset type.
+	 * @return The asset's future.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> CompletableFuture<T> load(String key, Callable<T> loader) {
+		return (CompletableFuture<T>) assets.computeIfAbsent(key, k -> {
+			requested.incrementAndGet();
+			CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+				try {
+					return loader.call();
+				} catch (Exception e) {
+					throw new CompletionException("Failed to load " + k, e);
+				}
+			}, executor);
+			future.whenComplete((asset, error) -> {
+				if (error != null) {
+					System.out.println(error.getMessage());
+				}
+				completed.incrementAndGet();
+				Runnable listener = progressListener;
+				if (listener != null) {
+					listener.run();
+				}
+			});
+			return future;
+		});
+	}
+
+	/**
+	 * Returns the future of a classpath image at its natural size, decoding it in the background if it has not been requested yet.
+	 *
+	 * @param resource The image's classpath resource, e.g. "/food-0.png".
+	 * @return The image's future.
+	 */
+	public static CompletableFuture<Image> image(String resource) {
+		return image(resource, 0, 0);
+	}
+
+	/**
+	 * Returns the future of a classpath image scaled to fit a display size, decoding it into the shared image cache in the background
+	 * if it has not been requested yet. The manager keeps only the fact that it was loaded; the image itself lives in the cache.
+	 *
+	 * @param resource The image's classpath resource, e.g. "/food-0.png".
+	 * @param width    The width to fit within, or 0 for the natural width.
+	 * @param height   The height to fit within, or 0 for the natural height.
+	 * @return The image's future.
+	 */
+	public static CompletableFuture<Image> image(String resource, double width, double height) {
+		CompletableFuture<Void> decoded = load(imageKey(resource, width, height), () -> {
+			ImageCache.getShared().get(resource, width, height, true);
+			return null;
+		});
+		return decoded.thenApply(ignored -> ImageCache.getShared().get(resource, width, height, true));
+	}
+
+	/**
+	 * Returns a classpath image at its natural size, waiting for it if it is still decoding.
+	 *
+	 * @param resource The image's classpath resource, e.g. "/food-0.png".
+	 * @return The image.
+	 */
+	public static Image getImage(String resource) {
+		return getImage(resource, 0, 0);
+	}
+
+	/**
+	 * Returns a classpath image scaled to fit a display size. If the preloader is decoding it, waits for that; otherwise it comes
+	 * from the shared image cache, decoded on this thread if it is not there.
+	 *
+	 * @param resource The image's classpath resource, e.g. "/food-0.png".
+	 * @param width    The width to fit within, or 0 for the natural width.
+	 * @param height   The height to fit within, or 0 for the natural height.
+	 * @return The image.
+	 */
+	public static Image getImage(String resource, double width, double height) {
+		CompletableFuture<?> loading = assets.get(imageKey(resource, width, height));
+		if (loading != null && !loading.isDone()) {
+			loading.join();
+		}
+		return ImageCache.getShared().get(resource, width, height, true);
+	}
+
+	/**
+	 * Names an image at a size in the asset map.
+	 *
+	 * @param resource The image's classpath resource.
+	 * @param width    The requested width.
+	 * @param height   The requested height.
+	 * @return The key.
+	 */
+	private static String imageKey(String resource, double width, double height) {
+		return width == 0 && height == 0 ? resource : resource + "@" + width + "x" + height;
+	}
+
+	/**
+	 * Returns the future of an FXML screen, loaded in the background with its controller initialised.
+	 *
+	 * @param resource The FXML's classpath resource, e.g. "/MainMenu.fxml".
+	 * @return The future of the loader holding the screen's root and controller.
+	 */
+	public static CompletableFuture<FXMLLoader> fxml(String resource) {
+		return load(resource, () -> {
+			FXMLLoader loader = new FXMLLoader(locate(resource));
+			loader.load();
+			return loader;
+		});
+	}
+
+	/**
+	 * Returns the future of a classpath audio file, opened in the background.
+	 *
+	 * @param resource The audio's classpath resource, e.g. "/death.mp3".
+	 * @return The media's future.
+	 */
+	public static CompletableFuture<Media> media(String resource) {
+		return load(resource, () -> new Media(locate(resource).toExternalForm()));
+	}
+
+	/**
+	 * Returns the future of a short classpath sound, decoded fully into memory in the background.
+	 *
+	 * @param resource The sound's classpath resource, e.g. "/death.mp3".
+	 * @return The clip's future.
+	 */
+	public static CompletableFuture<AudioClip> audioClip(String resource) {
+		return load(resource + "#clip", () -> new AudioClip(locate(resource).toExternalForm()));
+	}
+
+	/**
+	 * Returns a future that completes when every asset requested so far has finished loading, successfully or not.
+	 *
+	 * @return The future.
+	 */
+	public static CompletableFuture<Void> allLoaded() {
+		CompletableFuture<?>[] pending = assets.values().toArray(new CompletableFuture<?>[0]);
+		return CompletableFuture.allOf(pending).handle((ignored, error) -> null);
+	}
+
+	/**
+	 * Sets the callback run each time an asset finishes loading. It runs on a loader thread.
+	 *
+	 * @param listener The callback, or null for none.
+	 */
+	public static void setProgressListener(Runnable listener) {
+		progressListener = listener;
+	}
+
+	/**
+	 * Returns the number of assets that have finished loading.
+	 *
+	 * @return The completed count.
+	 */
+	public static int getCompleted() {
+		return completed.get();
+	}
+
+	/**
+	 * Returns the number of assets requested.
+	 *
+	 * @return The requested count.
+	 */
+	public static int getRequested() {
+		return requested.get();
+	}
+
+	/**
+	 * Finds a classpath resource.
+	 *
+	 * @param resource The resource name, starting with "/".
+	 * @return The resource's URL.
+	 * @throws IllegalArgumentException If the resource does not exist.
+	 */
+	private static URL locate(String resource) {
+		URL url = AssetManager.class.getResource(resource);
+		if (url == null) {
+			throw new IllegalArgumentException("Missing resource " + resource);
+		}
+		return url;
+	}
+}
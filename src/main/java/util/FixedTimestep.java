@@ -0,0 +1,59 @@
+package util;
+
+/**
+ * @Project Fixed Timestep
+ * @Description Converts variable frame timestamps into a whole number of fixed simulation steps using a time accumulator.
+ * Keeps gameplay identical whatever the display refresh rate, and caps the steps run per frame so a slow frame cannot snowball.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class FixedTimestep {
+	private final long stepNanos; // Simulated time covered by one step
+	private final int maxStepsPerFrame; // Cap that stops a long frame from causing a spiral of death
+	private long accumulator = 0; // Real time not yet consumed by a step
+	private long lastFrameTime = -1; // Timestamp of the previous frame, or -1 before the first one
+
+	/**
+	 * Creates a scheduler for the given step length.
+	 *
+	 * @param stepNanos        The simulated time covered by one step, in nanoseconds.
+	 * @param maxStepsPerFrame The maximum number of steps to run for a single frame.
+	 */
+	public FixedTimestep(long stepNanos, int maxStepsPerFrame) {
+		this.stepNanos = stepNanos;
+		this.maxStepsPerFrame = maxStepsPerFrame;
+	}
+
+	/**
+	 * Adds the time elapsed since the previous frame to the accumulator and returns how many steps are due.
+	 * The first frame after creation or a reset only records the timestamp. If more than the cap is due,
+	 * the surplus is dropped so the game slows down instead of falling further behind.
+	 *
+	 * @param now The timestamp of the current frame, in nanoseconds.
+	 * @return The number of simulation steps to run this frame.
+	 */
+	public int advance(long now) {
+		if (lastFrameTime < 0) {
+			lastFrameTime = now;
+			return 0;
+		}
+		accumulator += now - lastFrameTime;
+		lastFrameTime = now;
+
+		long due = accumulator / stepNanos;
+		if (due > maxStepsPerFrame) {
+			accumulator = 0; // Drop the backlog rather than trying to catch up
+			return maxStepsPerFrame;
+		}
+		accumulator -= due * stepNanos;
+		return (int) due;
+	}
+
+	/**
+	 * Forgets the previous frame and any leftover time, e.g. after the game has been paused.
+	 */
+	public void reset() {
+		accumulator = 0;
+		lastFrameTime = -1;
+	}
+}
@@ -0,0 +1,293 @@
+package util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * @Project Frame Profiler
+ * @Description Collects per-frame timings for the game loop: the time spent in each phase, a histogram of recent frame times with percentiles,
+ * garbage collection counts and the allocation rate of the game thread. Recording a frame does not allocate, so the profiler does not cause the
+ * stutter it is measuring. Samples can also be streamed to a rotating CSV file.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class FrameProfiler {
+	public static final int SIMULATION = 0; // Moving the paddles and the snake
+	public static final int COLLISION = 1; // Collisions, food and level progression
+	public static final int RENDER = 2; // Drawing the board
+	public static final int HUD = 3; // Drawing the score and overlays
+	public static final int PHASE_COUNT = 4;
+	public static final String[] PHASE_NAMES = {"simulation", "collision", "render", "hud"};
+	public static final long BUCKET_NANOS = 100_000; // Width of a histogram bucket, 0.1 ms
+	public static final int BUCKET_COUNT = 1000; // Buckets up to 100 ms; slower frames go in the last one
+	private static final int WINDOW = 600; // Frames covered by the histogram, 10 seconds at 60 Hz
+	private static final long RATE_INTERVAL_NANOS = 500_000_000; // How often the allocation rate is recomputed
+
+	private final long[] phaseNanos = new long[PHASE_COUNT]; // Time spent in each phase during the current frame
+	private final long[] lastPhaseNanos = new long[PHASE_COUNT]; // Phase times of the last completed frame
+	private final long[] recentFrames = new long[WINDOW]; // Frame times in the histogram window, oldest overwritten first
+	private final int[] buckets = new int[BUCKET_COUNT]; // Histogram of the frame times in the window
+	private int recentCount = 0;
+	private int recentNext = 0;
+	private long frameStart = -1; // Timestamp of the current frame, or -1 before the first one
+	private long lastFrameNanos = 0;
+	private long frameCount = 0;
+
+	private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+	private final com.sun.management.ThreadMXBean threads; // Null when the JVM cannot report allocated bytes
+	private final long gameThreadId = Thread.currentThread().getId();
+	private final long startGcCount;
+	private final long startGcMillis;
+	private long gcCount = 0;
+	private long gcMillis = 0;
+	private long allocatedBytes = 0; // Bytes allocated by the game thread since the profiler was created
+	private long allocationBase;
+	private long rateStart = -1;
+	private long rateStartBytes = 0;
+	private double allocationRate = 0; // Bytes per second over the last interval
+
+	private RotatingCsvWriter csv; // Null when samples are not being exported
+
+	/**
+	 * Creates a profiler for the calling thread, which should be the thread that runs the game loop.
+	 */
+	public FrameProfiler() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocations = null;
+		if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			allocations = (com.sun.management.ThreadMXBean) bean;
+			allocations.setThreadAllocatedMemoryEnabled(true);
+		}
+		threads = allocations;
+		allocationBase = threads == null ? 0 : threads.getThreadAllocatedBytes(gameThreadId);
+		startGcCount = totalGcCount();
+		startGcMillis = totalGcMillis();
+	}
+
+	/**
+	 * Starts a frame. The time since the previous frame started is recorded as that frame's length.
+	 *
+	 * @param now The timestamp of the frame, in nanoseconds.
+	 */
+	public void beginFrame(long now) {
+		if (frameStart >= 0) {
+			endFrame(now);
+		}
+		frameStart = now;
+		for (int i = 0; i < PHASE_COUNT; i++) {
+			phaseNanos[i] = 0;
+		}
+	}
+
+	/**
+	 * Adds time spent in a phase to the current frame.
+	 *
+	 * @param phase The phase, e.g. {@link #RENDER}.
+	 * @param nanos The time spent, in nanoseconds.
+	 */
+	public void addPhase(int phase, long nanos) {
+		phaseNanos[phase] += nanos;
+	}
+
+	/**
+	 * Forgets the previous frame, so the time spent paused is not recorded as one long frame.
+	 */
+	public void reset() {
+		frameStart = -1;
+		rateStart = -1;
+	}
+
+	/**
+	 * Completes the previous frame: updates the histogram, the GC counters and the allocation rate, and exports the sample.
+	 *
+	 * @param now The timestamp at which the next frame starts, in nanoseconds.
+	 */
+	private void endFrame(long now) {
+		long frameNanos = now - frameStart;
+		lastFrameNanos = frameNanos;
+		System.arraycopy(phaseNanos, 0, lastPhaseNanos, 0, PHASE_COUNT);
+		frameCount++;
+
+		// Slide the histogram window
+		if (recentCount == WINDOW) {
+			buckets[bucketOf(recentFrames[recentNext])]--;
+		} else {
+			recentCount++;
+		}
+		recentFrames[recentNext] = frameNanos;
+		recentNext = (recentNext + 1) % WINDOW;
+		buckets[bucketOf(frameNanos)]++;
+
+		gcCount = totalGcCount() - startGcCount;
+		gcMillis = totalGcMillis() - startGcMillis;
+		if (threads != null) {
+			allocatedBytes = threads.getThreadAllocatedBytes(gameThreadId) - allocationBase;
+			if (rateStart < 0) {
+				rateStart = now;
+				rateStartBytes = allocatedBytes;
+			} else if (now - rateStart >= RATE_INTERVAL_NANOS) {
+				allocationRate = (allocatedBytes - rateStartBytes) * 1e9 / (now - rateStart);
+				rateStart = now;
+				rateStartBytes = allocatedBytes;
+			}
+		}
+
+		if (csv != null) {
+			csv.write(frameStart, frameNanos, lastPhaseNanos, gcCount, gcMillis, allocatedBytes);
+		}
+	}
+
+	/**
+	 * Returns the histogram bucket of a frame time.
+	 *
+	 * @param frameNanos The frame time, in nanoseconds.
+	 * @return The bucket index.
+	 */
+	private static int bucketOf(long frameNanos) {
+		return (int) Math.min(BUCKET_COUNT - 1, frameNanos / BUCKET_NANOS);
+	}
+
+	/**
+	 * Returns the frame time below which the given fraction of the frames in the window fall, to the resolution of a bucket.
+	 *
+	 * @param fraction The fraction, e.g. 0.99 for the 99th percentile.
+	 * @return The frame time in nanoseconds, or 0 before the first frame completes.
+	 */
+	public long percentile(double fraction) {
+		if (recentCount == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(fraction * recentCount);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return (i + 1) * BUCKET_NANOS; // Upper edge of the bucket
+			}
+		}
+		return BUCKET_COUNT * BUCKET_NANOS;
+	}
+
+	/**
+	 * Returns the number of frames in the histogram window that fall in a bucket.
+	 *
+	 * @param bucket The bucket index; bucket i holds frames from i to i + 1 times {@link #BUCKET_NANOS}.
+	 * @return The frame count.
+	 */
+	public int getBucket(int bucket) {
+		return buckets[bucket];
+	}
+
+	/**
+	 * Returns the time spent in a phase during the last completed frame.
+	 *
+	 * @param phase The phase, e.g. {@link #RENDER}.
+	 * @return The time in nanoseconds.
+	 */
+	public long getPhaseNanos(int phase) {
+		return lastPhaseNanos[phase];
+	}
+
+	/**
+	 * Returns the length of the last completed frame.
+	 *
+	 * @return The frame time in nanoseconds.
+	 */
+	public long getFrameNanos() {
+		return lastFrameNanos;
+	}
+
+	/**
+	 * Returns the number of frames recorded since the profiler was created.
+	 *
+	 * @return The frame count.
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Returns the number of garbage collections since the profiler was created.
+	 *
+	 * @return The collection count.
+	 */
+	public long getGcCount() {
+		return gcCount;
+	}
+
+	/**
+	 * Returns the time spent in garbage collection since the profiler was created.
+	 *
+	 * @return The collection time in milliseconds.
+	 */
+	public long getGcMillis() {
+		return gcMillis;
+	}
+
+	/**
+	 * Returns the rate at which the game thread allocates memory.
+	 *
+	 * @return The allocation rate in bytes per second, or 0 if the JVM cannot report it.
+	 */
+	public double getAllocationRate() {
+		return allocationRate;
+	}
+
+	/**
+	 * Starts streaming one line per frame to a rotating set of CSV files. Does nothing if already exporting.
+	 *
+	 * @param writer The writer to stream to; the profiler closes it when export stops.
+	 */
+	public void startCsv(RotatingCsvWriter writer) {
+		if (csv == null) {
+			csv = writer;
+		}
+	}
+
+	/**
+	 * Stops streaming samples and closes the CSV file.
+	 */
+	public void stopCsv() {
+		if (csv != null) {
+			csv.close();
+			csv = null;
+		}
+	}
+
+	/**
+	 * Checks whether samples are being streamed to CSV.
+	 *
+	 * @return true if exporting, false otherwise.
+	 */
+	public boolean isCsvEnabled() {
+		return csv != null;
+	}
+
+	/**
+	 * Sums the collection counts of every garbage collector.
+	 *
+	 * @return The total number of collections.
+	 */
+	private long totalGcCount() {
+		long total = 0;
+		for (int i = 0; i < collectors.size(); i++) {
+			total += Math.max(0, collectors.get(i).getCollectionCount());
+		}
+		return total;
+	}
+
+	/**
+	 * Sums the collection times of every garbage collector.
+	 *
+	 * @return The total collection time in milliseconds.
+	 */
+	private long totalGcMillis() {
+		long total = 0;
+		for (int i = 0; i < collectors.size(); i++) {
+			total += Math.max(0, collectors.get(i).getCollectionTime());
+		}
+		return total;
+	}
+}
@@ -1,14 +1,8 @@
 package util;
 
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.paint.Color;
-import javafx.scene.transform.Rotate;
-
 /**
  * @Project Game Utilization
- * @Description Utility class for game operations, image loading + rotation in JavaFX.
+ * @Description Utility class for game operations.
  * This includes common constants and utility methods used across the game.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
@@ -17,4 +11,28 @@ public class GameUtil {
 	public static final int CELL_SIZE = 20; // The size of each cell in the grid
 	public static final int WIDTH = 870;    // Width of the game area (canvas)
 	public static final int HEIGHT = 560;   // Height of the game area (canvas)
+	public static final int COLUMNS = WIDTH / CELL_SIZE; // Width of the default board, in cells
+	public static final int ROWS = HEIGHT / CELL_SIZE;   // Height of the default board, in cells
+	public static final int MIN_BOARD_SIZE = 8;      // Smallest board side, in cells, leaving room for the starting snake
+	public static final int MAX_BOARD_SIZE = 10_000; // Largest board side, in cells
+
+	/**
+	 * Returns the width of a board in pixels. The default board keeps the width of the game area, which runs past its last column.
+	 *
+	 * @param columns The width of the board, in cells.
+	 * @return The width in pixels.
+	 */
+	public static int boardWidth(int columns) {
+		return columns == COLUMNS ? WIDTH : columns * CELL_SIZE;
+	}
+
+	/**
+	 * Returns the height of a board in pixels.
+	 *
+	 * @param rows The height of the board, in cells.
+	 * @return The height in pixels.
+	 */
+	public static int boardHeight(int rows) {
+		return rows * CELL_SIZE;
+	}
 }
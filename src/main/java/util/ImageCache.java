@@ -0,0 +1,302 @@
+package util;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @Project Image Cache
+ * @Description One shared cache of decoded images, keyed by resource, requested size and smoothing, so each image is decoded once at the size
+ * it is displayed at rather than again at full resolution on every screen visit. The cache holds images up to a byte budget, counted as four bytes
+ * per pixel; past it the least recently used images are evicted to soft references, which the garbage collector may clear under memory pressure
+ * and which come back without decoding if it has not. Hit, miss and eviction counts show how well the budget fits.
+ * The budget defaults to 64 MB and can be set with the snake.imageCacheMB system property.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ImageCache {
+	private static final long DEFAULT_BUDGET_BYTES = Long.getLong("snake.imageCacheMB", 64) * 1024 * 1024;
+	private static final ImageCache shared = new ImageCache(DEFAULT_BUDGET_BYTES);
+
+	private final LinkedHashMap<Key, Image> entries = new LinkedHashMap<>(64, 0.75f, true); // Least recently used first
+	private final Map<Key, Evicted> evicted = new HashMap<>();
+	private final ReferenceQueue<Image> cleared = new ReferenceQueue<>();
+	private long budgetBytes;
+	private long bytes = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Identifies one decoded image.
+	 */
+	private static final class Key {
+		private final String resource;
+		private final double width;
+		private final double height;
+		private final boolean smooth;
+
+		/**
+		 * Creates a key.
+		 *
+		 * @param resource The classpath resource.
+		 * @param width    The requested width, or 0 for the natural width.
+		 * @param height   The requested height, or 0 for the natural height.
+		 * @param smooth   Whether scaling uses smooth filtering.
+		 */
+		private Key(String resource, double width, double height, boolean smooth) {
+			this.resource = resource;
+			this.width = width;
+			this.height = height;
+			this.smooth = smooth;
+		}
+
+		/**
+		 * Checks whether another key names the same decoded image.
+		 *
+		 * @param other The other object.
+		 * @return true if the resource, size and smoothing all match.
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return resource.equals(key.resource) && width == key.width && height == key.height && smooth == key.smooth;
+		}
+
+		/**
+		 * Returns a hash of the key's fields.
+		 *
+		 * @return The hash code.
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hash(resource, width, height, smooth);
+		}
+	}
+
+	/**
+	 * A soft reference to an evicted image that remembers its key, so it can be removed once it is cleared.
+	 */
+	private static final class Evicted extends SoftReference<Image> {
+		private final Key key;
+
+		/**
+		 * Creates the reference.
+		 *
+		 * @param key   The image's key.
+		 * @param image The image.
+		 * @param queue The queue to put the reference on once it is cleared.
+		 */
+		private Evicted(Key key, Image image, ReferenceQueue<Image> queue) {
+			super(image, queue);
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Creates a cache with the given budget.
+	 *
+	 * @param budgetBytes The number of bytes of decoded pixels to hold before evicting.
+	 */
+	public ImageCache(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+	}
+
+	/**
+	 * Returns the cache shared by the whole game.
+	 *
+	 * @return The shared cache.
+	 */
+	public static ImageCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * Returns an image at its natural size, decoding it if it is not cached.
+	 *
+	 * @param resource The classpath resource, e.g. "/food-0.png".
+	 * @return The image.
+	 */
+	public Image get(String resource) {
+		return get(resource, 0, 0, true);
+	}
+
+	/**
+	 * Returns an image scaled to fit within the given size with its aspect ratio kept, decoding it if it is not cached.
+	 * Decoding happens outside the cache's lock, so several threads can decode different images at once.
+	 *
+	 * @param resource The classpath resource, e.g. "/food-0.png".
+	 * @param width    The width to fit within, or 0 for the natural width.
+	 * @param height   The height to fit within, or 0 for the natural height.
+	 * @param smooth   Whether to scale with smooth filtering.
+	 * @return The image.
+	 * @throws IllegalArgumentException If the resource does not exist.
+	 */
+	public Image get(String resource, double width, double height, boolean smooth) {
+		Key key = new Key(resource, width, height, smooth);
+		synchronized (this) {
+			Image image = lookup(key);
+			if (image != null) {
+				hits++;
+				return image;
+			}
+			misses++;
+		}
+		URL url = ImageCache.class.getResource(resource);
+		if (url == null) {
+			throw new IllegalArgumentException("Missing resource " + resource);
+		}
+		Image decoded = new Image(url.toExternalForm(), width, height, true, smooth, false);
+		synchronized (this) {
+			Image raced = entries.get(key); // Another thread may have decoded it meanwhile
+			if (raced != null) {
+				return raced;
+			}
+			insert(key, decoded);
+		}
+		return decoded;
+	}
+
+	/**
+	 * Finds a cached image, bringing it back from the evicted images if it has not been collected.
+	 *
+	 * @param key The image's key.
+	 * @return The image, or null if it must be decoded.
+	 */
+	private Image lookup(Key key) {
+		Image image = entries.get(key);
+		if (image != null) {
+			return image;
+		}
+		Evicted reference = evicted.remove(key);
+		image = reference == null ? null : reference.get();
+		if (image != null) {
+			insert(key, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Adds an image and evicts the least recently used images until the cache is within its budget.
+	 * The newest image is always kept, even if it alone is over the budget.
+	 *
+	 * @param key   The image's key.
+	 * @param image The image.
+	 */
+	private void insert(Key key, Image image) {
+		entries.put(key, image);
+		bytes += sizeOf(image);
+		evictOverBudget(1);
+		expungeCleared();
+	}
+
+	/**
+	 * Moves the least recently used images to soft references until the cache is within its budget.
+	 *
+	 * @param keep The number of most recently used images never to evict.
+	 */
+	private void evictOverBudget(int keep) {
+		Iterator<Map.Entry<Key, Image>> oldest = entries.entrySet().iterator();
+		while (bytes > budgetBytes && entries.size() > keep) {
+			Map.Entry<Key, Image> entry = oldest.next();
+			bytes -= sizeOf(entry.getValue());
+			evicted.put(entry.getKey(), new Evicted(entry.getKey(), entry.getValue(), cleared));
+			oldest.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Forgets evicted images that the garbage collector has cleared.
+	 */
+	private void expungeCleared() {
+		for (Object reference = cleared.poll(); reference != null; reference = cleared.poll()) {
+			Evicted entry = (Evicted) reference;
+			evicted.remove(entry.key, entry);
+		}
+	}
+
+	/**
+	 * Estimates the memory an image's pixels take.
+	 *
+	 * @param image The image.
+	 * @return Four bytes per pixel.
+	 */
+	private static long sizeOf(Image image) {
+		return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+	}
+
+	/**
+	 * Changes the budget, evicting images at once if the cache is now over it.
+	 *
+	 * @param budgetBytes The number of bytes of decoded pixels to hold.
+	 */
+	public synchronized void setBudget(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+		evictOverBudget(0);
+	}
+
+	/**
+	 * Returns the budget.
+	 *
+	 * @return The number of bytes of decoded pixels held before evicting.
+	 */
+	public synchronized long getBudget() {
+		return budgetBytes;
+	}
+
+	/**
+	 * Returns the memory taken by the cached images, not counting evicted ones.
+	 *
+	 * @return The estimated bytes.
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the number of cached images, not counting evicted ones.
+	 *
+	 * @return The image count.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of requests answered without decoding.
+	 *
+	 * @return The hit count.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of requests that had to decode.
+	 *
+	 * @return The miss count.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of images evicted to make room.
+	 *
+	 * @return The eviction count.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+}
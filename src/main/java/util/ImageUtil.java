@@ -6,48 +6,81 @@ import java.util.Map;
 
 /**
  * @Project Image Utilization
- * @Description Utility class for managing and retrieving JavaFX images. Used to manage images used in the game, including food items and snake images. It loads and stores the images to be efficiently retrieved.
+ * @Description Utility class for managing and retrieving JavaFX images. Used to manage images used in the game, including food items and snake images. It names the images and retrieves them from the asset manager, which decodes them in the background.
+ * Food is decoded at the cell size it is drawn at and backgrounds at the game's width, so neither is held at full resolution.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
  */
 public class ImageUtil {
 	/**
-	 * A map to hold all images, accessible by their keys.
+	 * A map from each image key to the classpath resource holding the image.
 	 *
-	 * The key is a string that represents the image. The value is the Image object.
+	 * The key is a string that represents the image. The images themselves are decoded and held by the asset manager.
 	 */
-	public static final Map<String, Image> images = new HashMap<>();// A map to hold all images, accessible by their keys.
+	private static final Map<String, String> resources = new HashMap<>();// A map to hold all image resources, accessible by their keys.
+	private static final Map<String, Integer> sizes = new HashMap<>(); // The square size each image is drawn at; absent for natural size
 
 	static {
-		loadImages();
+		registerImages();
 	}
 
 	/**
-	 * Load and store images used in the game.
+	 * Register the images used in the game.
 	 */
-	private static void loadImages() {
-		// Load and store images here
-		images.put("snake-head-right", new Image("snake-head-right.png"));
-		images.put("snake-body", new Image("snake-body.png"));
+	private static void registerImages() {
+		// Register images here
+		resources.put("snake-head-right", "/snake-head-right.png");
+		resources.put("snake-body", "/snake-body.png");
 
 		for (int i = 0; i <= 17; i++) {
-			images.put(String.valueOf(i), new Image("food-" + i + ".png"));
+			resources.put(String.valueOf(i), "/food-" + i + ".png");
+			sizes.put(String.valueOf(i), GameUtil.CELL_SIZE);
 		}
 
-		images.put("UI-background", new Image("UI-background.png"));
-		images.put("sound", new Image("sound.png"));
-		images.put("settings", new Image("settings.png"));
-		images.put("pause", new Image("pause.png"));
-		images.put("help", new Image("help.png"));
+		resources.put("sound", "/sound.png");
+		resources.put("settings", "/settings.png");
+		resources.put("pause", "/pause.png");
+		resources.put("help", "/help.png");
 	}
 
 	/**
-	 * Retrieves an Image object associated with the given key.
+	 * Starts decoding every registered image in the background.
+	 */
+	public static void preloadImages() {
+		for (Map.Entry<String, String> entry : resources.entrySet()) {
+			int size = sizes.getOrDefault(entry.getKey(), 0);
+			AssetManager.image(entry.getValue(), size, size);
+		}
+	}
+
+	/**
+	 * Retrieves an Image object associated with the given key, waiting for it if it is still decoding.
 	 *
 	 * @param key The key representing the image.
-	 * @return The Image object associated with the key.
+	 * @return The Image object associated with the key, or null if there is none.
 	 */
 	public static Image getImage(String key) {
-		return images.get(key);
+		String resource = resources.get(key);
+		int size = sizes.getOrDefault(key, 0);
+		return resource == null ? null : AssetManager.getImage(resource, size, size);
+	}
+
+	/**
+	 * Starts decoding a background image in the background, at the size {@link #getBackground(String)} asks for.
+	 *
+	 * @param resource The background's classpath resource.
+	 */
+	public static void preloadBackground(String resource) {
+		AssetManager.image(resource, GameUtil.WIDTH, 0);
+	}
+
+	/**
+	 * Retrieves a background image scaled to the game's width, waiting for it if it is still decoding.
+	 *
+	 * @param resource The background's classpath resource, e.g. "/UI-background.png".
+	 * @return The background image.
+	 */
+	public static Image getBackground(String resource) {
+		return AssetManager.getImage(resource, GameUtil.WIDTH, 0);
 	}
 }
@@ -0,0 +1,78 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * @Project Latency Histogram
+ * @Description Counts latencies in fixed buckets of 0.1 ms so percentiles can be read at any time without keeping or sorting the samples.
+ * Recording is a single array increment and never allocates. Latencies over a second go in the last bucket.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class LatencyHistogram {
+	public static final long BUCKET_NANOS = 100_000; // Width of a bucket, 0.1 ms
+	private static final int BUCKET_COUNT = 10_000; // Buckets up to one second
+
+	private final int[] buckets = new int[BUCKET_COUNT];
+	private long count = 0;
+	private long maxNanos = 0;
+
+	/**
+	 * Adds a latency.
+	 *
+	 * @param nanos The latency, in nanoseconds.
+	 */
+	public void record(long nanos) {
+		buckets[(int) Math.min(BUCKET_COUNT - 1, Math.max(0, nanos) / BUCKET_NANOS)]++;
+		count++;
+		maxNanos = Math.max(maxNanos, nanos);
+	}
+
+	/**
+	 * Returns the latency below which the given fraction of the recorded latencies fall, to the resolution of a bucket.
+	 *
+	 * @param fraction The fraction, e.g. 0.99 for the 99th percentile.
+	 * @return The latency in nanoseconds, or 0 if nothing has been recorded.
+	 */
+	public long percentile(double fraction) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return (i + 1) * BUCKET_NANOS; // Upper edge of the bucket
+			}
+		}
+		return BUCKET_COUNT * BUCKET_NANOS;
+	}
+
+	/**
+	 * Returns the number of latencies recorded.
+	 *
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the largest latency recorded.
+	 *
+	 * @return The latency in nanoseconds, or 0 if nothing has been recorded.
+	 */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	/**
+	 * Forgets every recorded latency.
+	 */
+	public void reset() {
+		Arrays.fill(buckets, 0);
+		count = 0;
+		maxNanos = 0;
+	}
+}
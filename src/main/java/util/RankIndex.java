@@ -0,0 +1,334 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * @Project Rank Index
+ * @Description An order-statistic index over a multiset of scores: an AVL tree keyed by distinct score, where each node also holds
+ * how many times its score occurs and the total count of its subtree. Adding a score, finding how many scores beat it, and finding the
+ * score at a given rank all take O(log d) for d distinct scores, whatever the total count. Nodes live in parallel int and long arrays
+ * rather than objects, so millions of scores cost a few bytes per distinct value and nothing per repeat.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class RankIndex {
+	private static final int NIL = 0; // Node 0 is unused so that 0 can mean "no child"
+
+	private int[] keys = new int[64];
+	private long[] counts = new long[64]; // Occurrences of each node's score
+	private long[] totals = new long[64]; // Occurrences in each node's subtree
+	private int[] lefts = new int[64];
+	private int[] rights = new int[64];
+	private byte[] heights = new byte[64];
+	private int nodes = 0; // Distinct scores; node indices run from 1 to nodes
+	private int root = NIL;
+
+	/**
+	 * Adds one occurrence of a score.
+	 *
+	 * @param score The score.
+	 */
+	public void add(int score) {
+		add(score, 1);
+	}
+
+	/**
+	 * Adds several occurrences of a score.
+	 *
+	 * @param score The score.
+	 * @param count The number of occurrences to add; must be positive.
+	 */
+	public void add(int score, long count) {
+		if (count <= 0) {
+			throw new IllegalArgumentException("Count must be positive: " + count);
+		}
+		root = insert(root, score, count);
+	}
+
+	/**
+	 * Inserts into a subtree and rebalances it on the way back up.
+	 *
+	 * @param node  The subtree's root.
+	 * @param score The score.
+	 * @param count The occurrences to add.
+	 * @return The subtree's new root.
+	 */
+	private int insert(int node, int score, long count) {
+		if (node == NIL) {
+			return newNode(score, count);
+		}
+		// The child is assigned through a local because inserting may replace the arrays
+		if (score < keys[node]) {
+			int child = insert(lefts[node], score, count);
+			lefts[node] = child;
+		} else if (score > keys[node]) {
+			int child = insert(rights[node], score, count);
+			rights[node] = child;
+		} else {
+			counts[node] += count;
+			totals[node] += count;
+			return node; // Shape unchanged
+		}
+		return balance(node);
+	}
+
+	/**
+	 * Returns the number of scores added.
+	 *
+	 * @return The total count.
+	 */
+	public long size() {
+		return totals[root];
+	}
+
+	/**
+	 * Returns the number of distinct scores added.
+	 *
+	 * @return The distinct count.
+	 */
+	public int distinct() {
+		return nodes;
+	}
+
+	/**
+	 * Counts the scores strictly higher than the given one.
+	 *
+	 * @param score The score.
+	 * @return The number of higher scores.
+	 */
+	public long countAbove(int score) {
+		long above = 0;
+		int node = root;
+		while (node != NIL) {
+			if (score < keys[node]) {
+				above += counts[node] + totals[rights[node]];
+				node = lefts[node];
+			} else {
+				node = rights[node];
+			}
+		}
+		return above;
+	}
+
+	/**
+	 * Returns the place a score takes, 1 being the best. Equal scores share a place.
+	 *
+	 * @param score The score.
+	 * @return One more than the number of higher scores.
+	 */
+	public long rank(int score) {
+		return countAbove(score) + 1;
+	}
+
+	/**
+	 * Returns the share of scores that are at least as high as the given one, so the best score is in the top 1 / size.
+	 *
+	 * @param score The score.
+	 * @return The percentage of scores at or above it, from 0 to 100; 0 if the index is empty.
+	 */
+	public double topPercent(int score) {
+		long size = size();
+		return size == 0 ? 0 : 100.0 * Math.min(size, rank(score)) / size;
+	}
+
+	/**
+	 * Returns the score at a place in the ranking, counting every repeat.
+	 *
+	 * @param index The place, 0 being the highest score.
+	 * @return The score.
+	 * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+	 */
+	public int scoreAt(long index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index " + index + " outside 0.." + size());
+		}
+		int node = root;
+		while (true) {
+			long higher = totals[rights[node]];
+			if (index < higher) {
+				node = rights[node];
+			} else if (index < higher + counts[node]) {
+				return keys[node];
+			} else {
+				index -= higher + counts[node];
+				node = lefts[node];
+			}
+		}
+	}
+
+	/**
+	 * Returns the score below which the given share of scores fall.
+	 *
+	 * @param percentile The percentile, from 0 to 100.
+	 * @return The score at that percentile.
+	 * @throws IndexOutOfBoundsException If the index is empty.
+	 */
+	public int percentile(double percentile) {
+		long below = (long) Math.ceil(percentile / 100 * size()) - 1;
+		long fromTop = size() - 1 - Math.max(0, Math.min(size() - 1, below));
+		return scoreAt(fromTop);
+	}
+
+	/**
+	 * Returns a run of the ranking, highest first: the scores at places offset to offset + limit - 1, counting every repeat.
+	 *
+	 * @param offset The place of the first score, 0 being the highest.
+	 * @param limit  The largest number of scores to return.
+	 * @return The scores; shorter than the limit if the ranking ends first.
+	 */
+	public int[] top(long offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Offset and limit must not be negative");
+		}
+		int[] scores = new int[(int) Math.max(0, Math.min(limit, size() - offset))];
+		int filled = 0;
+		// Walk from the highest score down with an explicit stack, skipping whole subtrees that lie before the offset
+		int[] stack = new int[2 * Math.max(1, heights[root]) + 2];
+		int depth = 0;
+		int node = root;
+		long skip = offset;
+		while (filled < scores.length) {
+			while (node != NIL) {
+				if (skip >= totals[rights[node]] + counts[node]) {
+					skip -= totals[rights[node]] + counts[node];
+					node = lefts[node]; // This node and everything above it come before the offset
+				} else {
+					stack[depth++] = node;
+					node = rights[node];
+				}
+			}
+			node = stack[--depth];
+			long repeats = counts[node] - skip;
+			skip = 0;
+			for (long i = 0; i < repeats && filled < scores.length; i++) {
+				scores[filled++] = keys[node];
+			}
+			node = lefts[node];
+		}
+		return scores;
+	}
+
+	/**
+	 * Visits every distinct score with its count, highest first.
+	 *
+	 * @param visitor Receives each score and its count.
+	 */
+	public void forEach(ScoreCountVisitor visitor) {
+		int[] stack = new int[2 * Math.max(1, heights[root]) + 2];
+		int depth = 0;
+		int node = root;
+		while (node != NIL || depth > 0) {
+			while (node != NIL) {
+				stack[depth++] = node;
+				node = rights[node];
+			}
+			node = stack[--depth];
+			visitor.visit(keys[node], counts[node]);
+			node = lefts[node];
+		}
+	}
+
+	/**
+	 * Receives the distinct scores of an index.
+	 */
+	public interface ScoreCountVisitor {
+		/**
+		 * Called once for each distinct score.
+		 *
+		 * @param score The score.
+		 * @param count How many times it occurs.
+		 */
+		void visit(int score, long count);
+	}
+
+	/**
+	 * Allocates a leaf, growing the arrays if they are full.
+	 *
+	 * @param score The leaf's score.
+	 * @param count Its occurrences.
+	 * @return The new node.
+	 */
+	private int newNode(int score, long count) {
+		int node = ++nodes;
+		if (node == keys.length) {
+			int capacity = keys.length * 2;
+			keys = Arrays.copyOf(keys, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			totals = Arrays.copyOf(totals, capacity);
+			lefts = Arrays.copyOf(lefts, capacity);
+			rights = Arrays.copyOf(rights, capacity);
+			heights = Arrays.copyOf(heights, capacity);
+		}
+		keys[node] = score;
+		counts[node] = count;
+		totals[node] = count;
+		lefts[node] = NIL;
+		rights[node] = NIL;
+		heights[node] = 1;
+		return node;
+	}
+
+	/**
+	 * Recomputes a node's height and subtree total from its children.
+	 *
+	 * @param node The node.
+	 */
+	private void update(int node) {
+		heights[node] = (byte) (Math.max(heights[lefts[node]], heights[rights[node]]) + 1);
+		totals[node] = totals[lefts[node]] + totals[rights[node]] + counts[node];
+	}
+
+	/**
+	 * Restores the AVL height rule at a node whose subtree just grew by one level at most.
+	 *
+	 * @param node The node.
+	 * @return The subtree's new root.
+	 */
+	private int balance(int node) {
+		update(node);
+		int skew = heights[lefts[node]] - heights[rights[node]];
+		if (skew > 1) {
+			if (heights[lefts[lefts[node]]] < heights[rights[lefts[node]]]) {
+				lefts[node] = rotateLeft(lefts[node]);
+			}
+			return rotateRight(node);
+		}
+		if (skew < -1) {
+			if (heights[rights[rights[node]]] < heights[lefts[rights[node]]]) {
+				rights[node] = rotateRight(rights[node]);
+			}
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Rotates a node's left child up into its place.
+	 *
+	 * @param node The node.
+	 * @return The new subtree root.
+	 */
+	private int rotateRight(int node) {
+		int child = lefts[node];
+		lefts[node] = rights[child];
+		rights[child] = node;
+		update(node);
+		update(child);
+		return child;
+	}
+
+	/**
+	 * Rotates a node's right child up into its place.
+	 *
+	 * @param node The node.
+	 * @return The new subtree root.
+	 */
+	private int rotateLeft(int node) {
+		int child = rights[node];
+		rights[node] = lefts[child];
+		lefts[child] = node;
+		update(node);
+		update(child);
+		return child;
+	}
+}
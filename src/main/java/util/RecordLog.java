@@ -0,0 +1,323 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * @Project Record Log
+ * @Description An append-only file of checksummed records, written by a background thread so callers never wait on the disk.
+ * Each record is its payload length, the CRC32 of the payload, then the payload. The writer takes every record waiting in its queue,
+ * writes them together and syncs the file once per batch. On load, reading stops at the first record that is truncated or fails its checksum,
+ * which is what a crash mid-write leaves behind, and the file is cut back to the last good record. Compaction writes the live records
+ * to a temporary file, syncs it and moves it over the log in one step, so a crash leaves either the old log or the new one.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class RecordLog {
+	private static final byte[] MAGIC = {'S', 'N', 'K', 'L'};
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	private static final int RECORD_HEADER_BYTES = 8; // Payload length and checksum
+	private static final int MAX_PAYLOAD = 64 * 1024; // Larger lengths can only come from a damaged file
+	private static final int MAX_BATCH = 256; // Records written per sync at most
+
+	private final Path file;
+	private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+	private final Object stop = new Object(); // Tells the writer thread to finish
+	private FileChannel channel;
+	private Thread thread;
+	private volatile long written = 0; // Records in the file, counting those queued but not yet written
+	private volatile long discardedBytes = 0; // Bytes cut from a damaged tail on load
+
+	/**
+	 * Compaction request: the records that should make up the whole log.
+	 */
+	private static final class Compaction {
+		private final List<byte[]> live;
+
+		/**
+		 * Creates a compaction request.
+		 *
+		 * @param live The records to keep.
+		 */
+		private Compaction(List<byte[]> live) {
+			this.live = live;
+		}
+	}
+
+	/**
+	 * Creates a log backed by the given file. Nothing is read or written until {@link #load()}.
+	 *
+	 * @param file The log file.
+	 */
+	public RecordLog(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Reads every intact record, cuts any damaged tail off the file, and starts the writer thread.
+	 * A missing file is created empty.
+	 *
+	 * @return The payloads of the records, oldest first.
+	 * @throws IOException If the file cannot be read or created, or is not a record log.
+	 */
+	public List<byte[]> load() throws IOException {
+		Files.deleteIfExists(tempFile()); // Left by a compaction that did not finish; the log itself is intact
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		List<byte[]> records = new ArrayList<>();
+		long size = channel.size();
+		if (size < HEADER_BYTES) {
+			// New file, or a crash before the header reached the disk
+			channel.truncate(0);
+			channel.write(header(), 0);
+			channel.force(true);
+		} else {
+			ByteBuffer data = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+			while (data.hasRemaining() && channel.read(data, data.position()) >= 0) {
+				continue;
+			}
+			data.flip();
+			for (byte expected : MAGIC) {
+				if (data.get() != expected) {
+					channel.close();
+					throw new IOException(file + " is not a record log");
+				}
+			}
+			int version = data.getInt();
+			if (version != VERSION) {
+				channel.close();
+				throw new IOException("Unsupported record log version " + version);
+			}
+			long good = readRecords(data, records);
+			if (good < size) {
+				discardedBytes = size - good;
+				channel.truncate(good);
+				channel.force(true);
+			}
+		}
+		channel.position(channel.size());
+		written = records.size();
+
+		thread = new Thread(this::run, "record-log-writer");
+		thread.setDaemon(true);
+		thread.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close, "record-log-shutdown"));
+		return records;
+	}
+
+	/**
+	 * Reads records until the data ends or a record is damaged.
+	 *
+	 * @param data    The file contents after the header.
+	 * @param records The list to add each payload to.
+	 * @return The file offset just past the last intact record.
+	 */
+	private static long readRecords(ByteBuffer data, List<byte[]> records) {
+		CRC32 crc = new CRC32();
+		while (data.remaining() >= RECORD_HEADER_BYTES) {
+			int start = data.position();
+			int length = data.getInt();
+			int checksum = data.getInt();
+			if (length < 0 || length > MAX_PAYLOAD || length > data.remaining()) {
+				return start;
+			}
+			byte[] payload = new byte[length];
+			data.get(payload);
+			crc.reset();
+			crc.update(payload);
+			if ((int) crc.getValue() != checksum) {
+				return start;
+			}
+			records.add(payload);
+		}
+		return data.position();
+	}
+
+	/**
+	 * Queues a record to be appended. Never blocks on the disk.
+	 *
+	 * @param payload The record's contents.
+	 */
+	public void append(byte[] payload) {
+		if (payload.length > MAX_PAYLOAD) {
+			throw new IllegalArgumentException("Record of " + payload.length + " bytes is too large");
+		}
+		written++;
+		queue.offer(payload);
+	}
+
+	/**
+	 * Queues a rewrite of the log holding only the given records. Records appended after this call are kept after them.
+	 *
+	 * @param live The records to keep, oldest first.
+	 */
+	public void compact(List<byte[]> live) {
+		written = live.size();
+		queue.offer(new Compaction(new ArrayList<>(live)));
+	}
+
+	/**
+	 * Returns the number of records in the log, including those still waiting to be written.
+	 *
+	 * @return The record count.
+	 */
+	public long getRecordCount() {
+		return written;
+	}
+
+	/**
+	 * Returns how many bytes of damaged records were cut from the end of the file on load.
+	 *
+	 * @return The discarded byte count, 0 if the file was intact.
+	 */
+	public long getDiscardedBytes() {
+		return discardedBytes;
+	}
+
+	/**
+	 * Writes everything queued, syncs the file and stops the writer thread. Safe to call more than once.
+	 */
+	public void close() {
+		Thread writer = thread;
+		if (writer == null || !writer.isAlive()) {
+			return;
+		}
+		queue.offer(stop);
+		try {
+			writer.join(5000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Body of the writer thread: writes queued records in batches until told to stop.
+	 */
+	private void run() {
+		List<Object> batch = new ArrayList<>(MAX_BATCH);
+		try {
+			boolean running = true;
+			while (running) {
+				batch.add(queue.take());
+				queue.drainTo(batch, MAX_BATCH - 1);
+				List<byte[]> pending = new ArrayList<>(batch.size());
+				for (Object item : batch) {
+					if (item == stop) {
+						running = false;
+					} else if (item instanceof Compaction) {
+						writeBatch(pending);
+						pending.clear();
+						rewrite(((Compaction) item).live);
+					} else {
+						pending.add((byte[]) item);
+					}
+				}
+				writeBatch(pending);
+				batch.clear();
+			}
+		} catch (IOException e) {
+			System.err.println("Record log writer stopped: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				System.err.println("Failed to close record log: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Appends records to the file and syncs it once.
+	 *
+	 * @param payloads The records to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private void writeBatch(List<byte[]> payloads) throws IOException {
+		if (payloads.isEmpty()) {
+			return;
+		}
+		ByteBuffer out = encode(payloads);
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+		channel.force(false);
+	}
+
+	/**
+	 * Replaces the log with a file holding only the given records, via a synced temporary file and an atomic move.
+	 *
+	 * @param live The records to keep.
+	 * @throws IOException If the new file cannot be written or moved into place.
+	 */
+	private void rewrite(List<byte[]> live) throws IOException {
+		Path temp = tempFile();
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer[] data = {header(), encode(live)};
+			while (data[0].hasRemaining() || data[1].hasRemaining()) {
+				out.write(data);
+			}
+			out.force(true);
+		}
+		channel.close();
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		channel.position(channel.size());
+	}
+
+	/**
+	 * Frames records with their lengths and checksums.
+	 *
+	 * @param payloads The records.
+	 * @return A buffer holding the framed records, ready to be written.
+	 */
+	private static ByteBuffer encode(List<byte[]> payloads) {
+		int size = 0;
+		for (byte[] payload : payloads) {
+			size += RECORD_HEADER_BYTES + payload.length;
+		}
+		ByteBuffer out = ByteBuffer.allocate(size);
+		CRC32 crc = new CRC32();
+		for (byte[] payload : payloads) {
+			crc.reset();
+			crc.update(payload);
+			out.putInt(payload.length);
+			out.putInt((int) crc.getValue());
+			out.put(payload);
+		}
+		out.flip();
+		return out;
+	}
+
+	/**
+	 * Returns the file header: the magic and format version.
+	 *
+	 * @return The header, ready to be written.
+	 */
+	private static ByteBuffer header() {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.put(MAGIC).putInt(VERSION);
+		header.flip();
+		return header;
+	}
+
+	/**
+	 * Returns the path compaction writes to before moving it over the log.
+	 *
+	 * @return The temporary file's path.
+	 */
+	private Path tempFile() {
+		return file.resolveSibling(file.getFileName() + ".compact");
+	}
+}
@@ -0,0 +1,213 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * @Project Rotating CSV Writer
+ * @Description Writes frame profiler samples to CSV on a background thread. The game thread copies each sample into a pooled row and
+ * hands it over without allocating or touching the disk. When the file reaches its size limit it is rotated: profile.csv becomes
+ * profile.1.csv, profile.1.csv becomes profile.2.csv and so on, and the oldest file is deleted. The files left by an earlier session
+ * are shifted the same way when the writer starts, so a new capture never overwrites the last one.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class RotatingCsvWriter {
+	private static final int POOL_SIZE = 1024; // Rows that can be waiting to be written; later samples are dropped
+	private static final int FIELDS = 5 + FrameProfiler.PHASE_COUNT; // Columns in a row
+	private static final long[] STOP = new long[0]; // Tells the writer thread to finish
+
+	private final Path directory;
+	private final String baseName;
+	private final long maxBytes; // Size at which the current file is rotated
+	private final int maxFiles; // Number of files kept, including the current one
+	private final BlockingQueue<long[]> free = new ArrayBlockingQueue<>(POOL_SIZE);
+	private final BlockingQueue<long[]> filled = new ArrayBlockingQueue<>(POOL_SIZE + 1);
+	private final Thread thread;
+	private volatile long dropped = 0; // Samples lost because the writer fell behind
+	private BufferedWriter out;
+	private long written;
+
+	/**
+	 * Creates the writer and starts its background thread. Files are created in the directory as
+	 * baseName.csv, baseName.1.csv and so on.
+	 *
+	 * @param directory The directory to write to; created if missing.
+	 * @param baseName  The file name without extension.
+	 * @param maxBytes  The size at which the current file is rotated.
+	 * @param maxFiles  The number of files to keep.
+	 */
+	public RotatingCsvWriter(Path directory, String baseName, long maxBytes, int maxFiles) {
+		this.directory = directory;
+		this.baseName = baseName;
+		this.maxBytes = maxBytes;
+		this.maxFiles = Math.max(1, maxFiles);
+		for (int i = 0; i < POOL_SIZE; i++) {
+			free.add(new long[FIELDS]);
+		}
+		thread = new Thread(this::run, "profiler-csv");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues one frame sample. Called on the game thread; never blocks. If the writer thread is behind, the sample is dropped.
+	 *
+	 * @param timestamp      The timestamp of the frame, in nanoseconds.
+	 * @param frameNanos     The length of the frame, in nanoseconds.
+	 * @param phaseNanos     The time spent in each phase, in nanoseconds.
+	 * @param gcCount        The garbage collections so far.
+	 * @param gcMillis       The time spent collecting so far, in milliseconds.
+	 * @param allocatedBytes The bytes allocated by the game thread so far.
+	 */
+	public void write(long timestamp, long frameNanos, long[] phaseNanos, long gcCount, long gcMillis, long allocatedBytes) {
+		long[] row = free.poll();
+		if (row == null) {
+			dropped++;
+			return;
+		}
+		row[0] = timestamp;
+		row[1] = frameNanos;
+		System.arraycopy(phaseNanos, 0, row, 2, FrameProfiler.PHASE_COUNT);
+		row[2 + FrameProfiler.PHASE_COUNT] = gcCount;
+		row[3 + FrameProfiler.PHASE_COUNT] = gcMillis;
+		row[4 + FrameProfiler.PHASE_COUNT] = allocatedBytes;
+		filled.offer(row);
+	}
+
+	/**
+	 * Returns the number of samples dropped because the writer thread could not keep up.
+	 *
+	 * @return The dropped sample count.
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Writes any queued samples, closes the file and stops the background thread.
+	 */
+	public void close() {
+		filled.offer(STOP);
+		try {
+			thread.join(2000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Body of the background thread: writes queued rows until told to stop.
+	 */
+	private void run() {
+		try {
+			Files.createDirectories(directory);
+			if (Files.exists(file(0))) {
+				shift(); // Keep the previous session's capture
+			}
+			open();
+			while (true) {
+				long[] row = filled.take();
+				if (row == STOP) {
+					break;
+				}
+				writeRow(row);
+				free.offer(row);
+				if (filled.isEmpty()) {
+					out.flush(); // Keep the file current whenever the queue drains
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Profiler CSV export stopped: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				if (out != null) {
+					out.close();
+				}
+			} catch (IOException e) {
+				System.err.println("Failed to close profiler CSV: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Writes one row, rotating the file first if it is full.
+	 *
+	 * @param row The sample.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private void writeRow(long[] row) throws IOException {
+		if (written >= maxBytes) {
+			rotate();
+		}
+		StringBuilder line = new StringBuilder(96);
+		for (int i = 0; i < row.length; i++) {
+			if (i > 0) {
+				line.append(',');
+			}
+			line.append(row[i]);
+		}
+		line.append('\n');
+		out.write(line.toString());
+		written += line.length();
+	}
+
+	/**
+	 * Opens a fresh current file and writes the header.
+	 *
+	 * @throws IOException If the file cannot be created.
+	 */
+	private void open() throws IOException {
+		out = Files.newBufferedWriter(file(0), StandardCharsets.UTF_8);
+		StringBuilder header = new StringBuilder("timestamp_ns,frame_ns");
+		for (String phase : FrameProfiler.PHASE_NAMES) {
+			header.append(',').append(phase).append("_ns");
+		}
+		header.append(",gc_count,gc_ms,allocated_bytes\n");
+		out.write(header.toString());
+		written = header.length();
+	}
+
+	/**
+	 * Closes the current file, shifts the kept files and starts a new current file.
+	 *
+	 * @throws IOException If a file cannot be moved or created.
+	 */
+	private void rotate() throws IOException {
+		out.close();
+		shift();
+		open();
+	}
+
+	/**
+	 * Shifts every kept file up by one, deleting the oldest.
+	 *
+	 * @throws IOException If a file cannot be moved.
+	 */
+	private void shift() throws IOException {
+		Files.deleteIfExists(file(maxFiles - 1));
+		for (int i = maxFiles - 2; i >= 0; i--) {
+			if (Files.exists(file(i))) {
+				Files.move(file(i), file(i + 1), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	/**
+	 * Returns the path of a kept file.
+	 *
+	 * @param index 0 for the current file, 1 for the one before it and so on.
+	 * @return The path.
+	 */
+	private Path file(int index) {
+		return directory.resolve(index == 0 ? baseName + ".csv" : baseName + "." + index + ".csv");
+	}
+}
@@ -0,0 +1,142 @@
+package view;
+
+/**
+ * @Project Camera
+ * @Description The part of a board that is on screen when the board is larger than the canvas. The camera centres on the snake's head and
+ * stops at the board's edges, so it never shows anything past them. It works in board pixels, and whole pixels only, so sprites stay sharp.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class Camera {
+    private final int cellSize;
+    private final double boardWidth;
+    private final double boardHeight;
+    private double x; // Board position of the viewport's top-left corner
+    private double y;
+    private double width; // Size of the viewport
+    private double height;
+
+    /**
+     * Creates a camera over a board, looking at its top-left corner.
+     *
+     * @param boardWidth  The width of the board, in pixels.
+     * @param boardHeight The height of the board, in pixels.
+     * @param cellSize    The size of a cell, in pixels.
+     */
+    public Camera(double boardWidth, double boardHeight, int cellSize) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Centres the viewport on a cell, keeping it within the board.
+     *
+     * @param column The cell's column.
+     * @param row    The cell's row.
+     * @param width  The width of the viewport, in pixels.
+     * @param height The height of the viewport, in pixels.
+     */
+    public void follow(int column, int row, double width, double height) {
+        this.width = width;
+        this.height = height;
+        x = clamp(Math.floor((column + 0.5) * cellSize - width / 2), boardWidth - width);
+        y = clamp(Math.floor((row + 0.5) * cellSize - height / 2), boardHeight - height);
+    }
+
+    /**
+     * Limits a viewport position to the board.
+     *
+     * @param position The wanted position.
+     * @param max      The largest position that keeps the viewport on the board; negative if the board is smaller than the viewport.
+     * @return The position, from 0 to max.
+     */
+    private static double clamp(double position, double max) {
+        return Math.max(0, Math.min(position, max));
+    }
+
+    /**
+     * Checks whether a rectangle on the board is at least partly in view.
+     *
+     * @param x      The x-coordinate of the rectangle, in board pixels.
+     * @param y      The y-coordinate of the rectangle, in board pixels.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return true if it overlaps the viewport.
+     */
+    public boolean isVisible(double x, double y, double width, double height) {
+        return x < this.x + this.width && x + width > this.x && y < this.y + this.height && y + height > this.y;
+    }
+
+    /**
+     * Returns the leftmost column in view, which may be partly off screen.
+     *
+     * @return The column.
+     */
+    public int getMinColumn() {
+        return (int) Math.floor(x / cellSize);
+    }
+
+    /**
+     * Returns the rightmost column in view, which may be partly off screen.
+     *
+     * @return The column.
+     */
+    public int getMaxColumn() {
+        return (int) Math.ceil((x + width) / cellSize) - 1;
+    }
+
+    /**
+     * Returns the top row in view, which may be partly off screen.
+     *
+     * @return The row.
+     */
+    public int getMinRow() {
+        return (int) Math.floor(y / cellSize);
+    }
+
+    /**
+     * Returns the bottom row in view, which may be partly off screen.
+     *
+     * @return The row.
+     */
+    public int getMaxRow() {
+        return (int) Math.ceil((y + height) / cellSize) - 1;
+    }
+
+    /**
+     * Returns the board x-coordinate of the viewport's left edge.
+     *
+     * @return The x-coordinate, in pixels.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Returns the board y-coordinate of the viewport's top edge.
+     *
+     * @return The y-coordinate, in pixels.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the width of the board.
+     *
+     * @return The width, in pixels.
+     */
+    public double getBoardWidth() {
+        return boardWidth;
+    }
+
+    /**
+     * Returns the height of the board.
+     *
+     * @return The height, in pixels.
+     */
+    public double getBoardHeight() {
+        return boardHeight;
+    }
+}
@@ -0,0 +1,526 @@
+package view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import model.Food;
+import model.GameEngine;
+import model.Paddle;
+import model.Snake;
+import util.AssetManager;
+import util.GameUtil;
+import util.ImageUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Project Game Renderer
+ * @Description Draws the state of a GameEngine onto a persistent canvas, repainting only the cells and regions that changed since the previous frame.
+ * Holds all JavaFX drawing for the snake, foods and paddles so the model stays headless. A board larger than the canvas is drawn through a camera
+ * that follows the head: each frame repaints the viewport, drawing only the snake cells, foods and paddles inside it, so the cost of a frame
+ * depends on the size of the canvas rather than of the board or the snake. The sprite of each snake cell is kept in tiles allocated as the snake
+ * first enters them, so a large board costs memory only where the snake has been.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class GameRenderer {
+    public static final Color PADDLE_COLOR = Color.GREEN;
+    private static final int TAIL_HISTORY = 64; // Most snake moves between two frames that can be repainted incrementally
+    private final Image spriteSheet;
+    private static final int TILE_SHIFT = 6; // Cell sprites are kept in tiles of 64 x 64 cells
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+    private int columns = 0; // Size of the board being drawn, in cells
+    private int rows = 0;
+    private int tileColumns = 0;
+    private byte[][] spriteTiles = new byte[0][]; // Sprite id drawn in each cell, 0 for none; null tiles hold no snake
+    private int[] cellStamps = new int[0]; // Frame in which each cell was last repainted, allocated once the whole board is drawn
+    private Camera camera;
+    private int frame = 0;
+    private boolean fullRedraw = true;
+
+    // State drawn in the previous frame, compared against the game to find what changed
+    private Snake lastSnake;
+    private long lastMoveCount;
+    private int lastLength;
+    private final int[] tailXs = new int[TAIL_HISTORY]; // Cells of the last segments, tail first
+    private final int[] tailYs = new int[TAIL_HISTORY];
+    private double[] paddleRects = new double[0]; // x, y, width, height of each paddle
+    private int paddleCount;
+    private int[] foodCells = new int[0]; // x, y of each food
+    private int foodCount;
+
+    // Regions to repaint this frame, as x, y, width, height
+    private double[] dirtyRects = new double[64];
+    private int dirtyCount;
+    private double overlayX, overlayY, overlayWidth, overlayHeight;
+
+    /**
+     * Creates a renderer using the given snake sprite sheet.
+     *
+     * @param spriteSheetPath Path to the sprite sheet image.
+     */
+    public GameRenderer(String spriteSheetPath) {
+        this.spriteSheet = AssetManager.getImage(spriteSheetPath); // Usually decoded already by the preloader
+    }
+
+    /**
+     * Sets a region that is repainted every frame, for overlays such as the score that are drawn on the canvas after the game.
+     *
+     * @param x      The x-coordinate of the region.
+     * @param y      The y-coordinate of the region.
+     * @param width  The width of the region.
+     * @param height The height of the region.
+     */
+    public void setOverlayRegion(double x, double y, double width, double height) {
+        overlayX = x;
+        overlayY = y;
+        overlayWidth = width;
+        overlayHeight = height;
+    }
+
+    /**
+     * Forces the next frame to clear and redraw the whole canvas, e.g. after a pause or a resize.
+     */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    /**
+     * Draws the paddles, snake and foods of the given game. When the board fits the canvas, the canvas is persistent between frames:
+     * only the cells and regions that changed since the previous frame are cleared and repainted, and the whole canvas is redrawn on the
+     * first frame, after {@link #invalidate()}, or when the snake moved too far since the previous frame to track. A larger board is
+     * drawn through the camera, repainting the viewport every frame.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param engine The game to draw.
+     */
+    public void render(GraphicsContext gc, GameEngine engine) {
+        Snake snake = engine.getSnake();
+        if (snake.getColumns() != columns || snake.getRows() != rows) {
+            setBoard(snake.getColumns(), snake.getRows());
+        }
+        long moves = snake.getMoveCount() - lastMoveCount;
+        int growth = snake.getLength() - lastLength;
+        boolean lost = snake != lastSnake || moves > TAIL_HISTORY || growth < 0; // Too much changed to follow the snake cell by cell
+        if (camera.getBoardWidth() > gc.getCanvas().getWidth() || camera.getBoardHeight() > gc.getCanvas().getHeight()) {
+            renderViewport(gc, engine, lost, (int) moves, growth);
+        } else if (fullRedraw || lost) {
+            redrawAll(gc, engine);
+        } else {
+            redrawDirty(gc, engine, (int) moves, growth);
+        }
+        remember(engine);
+    }
+
+    /**
+     * Starts drawing a board of a new size, with no snake cells recorded.
+     *
+     * @param columns The width of the board, in cells.
+     * @param rows    The height of the board, in cells.
+     */
+    private void setBoard(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        tileColumns = (columns + TILE_MASK) >> TILE_SHIFT;
+        spriteTiles = new byte[tileColumns * ((rows + TILE_MASK) >> TILE_SHIFT)][];
+        cellStamps = new int[0];
+        camera = new Camera(GameUtil.boardWidth(columns), GameUtil.boardHeight(rows), GameUtil.CELL_SIZE);
+        lastSnake = null;
+        fullRedraw = true;
+    }
+
+    /**
+     * Repaints the part of a large board in view. The snake's cells are updated for the moves since the previous frame,
+     * then the canvas is cleared and only the paddles, snake cells and foods inside the viewport are drawn.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param engine The game to draw.
+     * @param lost   Whether the snake's cells must be recorded afresh rather than updated.
+     * @param moves  The number of cells the snake advanced since the previous frame.
+     * @param growth The number of segments the snake gained since the previous frame.
+     */
+    private void renderViewport(GraphicsContext gc, GameEngine engine, boolean lost, int moves, int growth) {
+        Snake snake = engine.getSnake();
+        dirtyCount = 0;
+        frame++;
+        if (lost) {
+            recordSnake(snake);
+        } else {
+            trackSnake(snake, moves, growth);
+        }
+
+        double width = gc.getCanvas().getWidth();
+        double height = gc.getCanvas().getHeight();
+        camera.follow(snake.getX(0), snake.getY(0), width, height);
+        gc.clearRect(0, 0, width, height);
+        gc.save();
+        gc.translate(-camera.getX(), -camera.getY());
+        for (Paddle paddle : engine.getLevels().getPaddles()) {
+            if (camera.isVisible(paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight())) {
+                drawPaddle(gc, paddle);
+            }
+        }
+        int size = GameUtil.CELL_SIZE;
+        int minCol = Math.max(0, camera.getMinColumn());
+        int maxCol = Math.min(columns - 1, camera.getMaxColumn());
+        int maxRow = Math.min(rows - 1, camera.getMaxRow());
+        for (int row = Math.max(0, camera.getMinRow()); row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int sprite = getCellSprite(col, row);
+                if (sprite != 0) {
+                    drawSprite(gc, sprite, col * size, row * size);
+                }
+            }
+        }
+        for (Food food : engine.getLevels().getFoods()) {
+            if (camera.isVisible(food.getX() * size, food.getY() * size, size, size)) {
+                drawFood(gc, food);
+            }
+        }
+        gc.restore();
+        fullRedraw = true; // If the canvas grows to fit the board, the next frame starts from a full redraw
+    }
+
+    /**
+     * Clears the canvas and draws every paddle, snake segment and food.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param engine The game to draw.
+     */
+    private void redrawAll(GraphicsContext gc, GameEngine engine) {
+        gc.clearRect(0, 0, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+        if (cellStamps.length != columns * rows) {
+            cellStamps = new int[columns * rows]; // The board fits the canvas, so this is small
+        }
+        for (Paddle paddle : engine.getLevels().getPaddles()) {
+            drawPaddle(gc, paddle);
+        }
+        recordSnake(engine.getSnake());
+        frame++;
+        drawCells(gc, 0, 0, camera.getBoardWidth(), camera.getBoardHeight());
+        for (Food food : engine.getLevels().getFoods()) {
+            drawFood(gc, food);
+        }
+        fullRedraw = false;
+    }
+
+    /**
+     * Repaints only what changed since the previous frame. Every changed cell and region is cleared inside a clip,
+     * then the paddles, the snake cells and the foods are drawn back in their usual order so overlaps stay correct.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param engine The game to draw.
+     * @param moves  The number of cells the snake advanced since the previous frame.
+     * @param growth The number of segments the snake gained since the previous frame.
+     */
+    private void redrawDirty(GraphicsContext gc, GameEngine engine, int moves, int growth) {
+        dirtyCount = 0;
+        frame++;
+        trackSnake(engine.getSnake(), moves, growth);
+        int size = GameUtil.CELL_SIZE;
+
+        // Paddles cover both where they were and where they are now
+        List<Paddle> paddles = engine.getLevels().getPaddles();
+        for (int p = 0; p < paddles.size(); p++) {
+            Paddle paddle = paddles.get(p);
+            double minX = paddle.getX(), minY = paddle.getY();
+            double maxX = minX + paddle.getWidth(), maxY = minY + paddle.getHeight();
+            if (p < paddleCount) {
+                minX = Math.min(minX, paddleRects[p * 4]);
+                minY = Math.min(minY, paddleRects[p * 4 + 1]);
+                maxX = Math.max(maxX, paddleRects[p * 4] + paddleRects[p * 4 + 2]);
+                maxY = Math.max(maxY, paddleRects[p * 4 + 1] + paddleRects[p * 4 + 3]);
+            }
+            addDirty(Math.floor(minX), Math.floor(minY), Math.ceil(maxX) - Math.floor(minX), Math.ceil(maxY) - Math.floor(minY));
+        }
+
+        // Foods that were eaten and relocated, or newly added
+        List<Food> foods = engine.getLevels().getFoods();
+        for (int f = 0; f < foods.size(); f++) {
+            Food food = foods.get(f);
+            if (f < foodCount && foodCells[f * 2] == food.getX() && foodCells[f * 2 + 1] == food.getY()) {
+                continue;
+            }
+            if (f < foodCount) {
+                addDirty(foodCells[f * 2] * size, foodCells[f * 2 + 1] * size, size, size);
+            }
+            addDirty(food.getX() * size, food.getY() * size, size, size);
+        }
+
+        if (overlayWidth > 0 && overlayHeight > 0) {
+            addDirty(overlayX, overlayY, overlayWidth, overlayHeight);
+        }
+
+        // Clip to the dirty regions, clear them and draw the layers back
+        gc.save();
+        gc.beginPath();
+        for (int r = 0; r < dirtyCount; r++) {
+            gc.rect(dirtyRects[r * 4], dirtyRects[r * 4 + 1], dirtyRects[r * 4 + 2], dirtyRects[r * 4 + 3]);
+        }
+        gc.clip();
+        for (int r = 0; r < dirtyCount; r++) {
+            gc.clearRect(dirtyRects[r * 4], dirtyRects[r * 4 + 1], dirtyRects[r * 4 + 2], dirtyRects[r * 4 + 3]);
+        }
+        for (Paddle paddle : paddles) {
+            drawPaddle(gc, paddle);
+        }
+        for (int r = 0; r < dirtyCount; r++) {
+            drawCells(gc, dirtyRects[r * 4], dirtyRects[r * 4 + 1], dirtyRects[r * 4 + 2], dirtyRects[r * 4 + 3]);
+        }
+        for (Food food : foods) {
+            drawFood(gc, food);
+        }
+        gc.restore();
+    }
+
+    /**
+     * Records the sprite of every snake segment in its cell, forgetting any cells recorded before.
+     *
+     * @param snake The snake.
+     */
+    private void recordSnake(Snake snake) {
+        Arrays.fill(spriteTiles, null);
+        // Later segments are drawn on top, so they win cells shared after the snake grows
+        for (int i = 0; i < snake.getLength(); i++) {
+            updateCellSprite(snake, i);
+        }
+    }
+
+    /**
+     * Updates the recorded sprites of the cells the snake entered, left or grew in since the previous frame and marks them for repainting.
+     * Only the ends of the snake change as it moves, so this costs the same however long the snake is.
+     *
+     * @param snake  The snake.
+     * @param moves  The number of cells the snake advanced since the previous frame.
+     * @param growth The number of segments the snake gained since the previous frame.
+     */
+    private void trackSnake(Snake snake, int moves, int growth) {
+        int length = snake.getLength();
+        int size = GameUtil.CELL_SIZE;
+
+        // Cells the tail may have left behind: only the last few segments can have moved off their cells
+        for (int j = 0; j < Math.min(moves, lastLength); j++) {
+            if (!snake.isOccupied(tailXs[j], tailYs[j])) {
+                setCellSprite(tailXs[j], tailYs[j], 0);
+            }
+            addDirty(tailXs[j] * size, tailYs[j] * size, size, size);
+        }
+        // The head itself, the new head cells and the old head, then the new tail and any segments grown on it
+        for (int i = 0; i <= Math.min(moves, length - 1); i++) {
+            markSegmentDirty(snake, i);
+        }
+        if (moves > 0 || growth > 0) {
+            for (int i = Math.max(0, length - 1 - growth); i < length; i++) {
+                markSegmentDirty(snake, i);
+            }
+        }
+    }
+
+    /**
+     * Records the sprite of a snake segment in its cell and marks the cell for repainting.
+     *
+     * @param snake The snake.
+     * @param index The segment index, 0 being the head.
+     */
+    private void markSegmentDirty(Snake snake, int index) {
+        updateCellSprite(snake, index);
+        int size = GameUtil.CELL_SIZE;
+        addDirty(snake.getX(index) * size, snake.getY(index) * size, size, size);
+    }
+
+    /**
+     * Draws the recorded snake sprite of every cell overlapping the given region, once per frame per cell.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param x      The x-coordinate of the region.
+     * @param y      The y-coordinate of the region.
+     * @param width  The width of the region.
+     * @param height The height of the region.
+     */
+    private void drawCells(GraphicsContext gc, double x, double y, double width, double height) {
+        int size = GameUtil.CELL_SIZE;
+        int minCol = Math.max(0, (int) Math.floor(x / size));
+        int minRow = Math.max(0, (int) Math.floor(y / size));
+        int maxCol = Math.min(columns - 1, (int) Math.ceil((x + width) / size) - 1);
+        int maxRow = Math.min(rows - 1, (int) Math.ceil((y + height) / size) - 1);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = row * columns + col;
+                int sprite = getCellSprite(col, row);
+                if (sprite == 0 || cellStamps[cell] == frame) {
+                    continue;
+                }
+                cellStamps[cell] = frame;
+                drawSprite(gc, sprite, col * size, row * size);
+            }
+        }
+    }
+
+    /**
+     * Draws a snake sprite over one cell.
+     *
+     * @param gc     The GraphicsContext on which to draw.
+     * @param sprite The sprite id.
+     * @param x      The x-coordinate of the cell, in pixels.
+     * @param y      The y-coordinate of the cell, in pixels.
+     */
+    private void drawSprite(GraphicsContext gc, int sprite, double x, double y) {
+        int size = GameUtil.CELL_SIZE;
+        gc.drawImage(
+                spriteSheet,
+                SnakeSprites.sourceX(sprite), SnakeSprites.sourceY(sprite),
+                SnakeSprites.SPRITE_SIZE, SnakeSprites.SPRITE_SIZE,
+                x, y,
+                size, size
+        );
+    }
+
+    /**
+     * Adds a region to this frame's repaint list.
+     *
+     * @param x      The x-coordinate of the region.
+     * @param y      The y-coordinate of the region.
+     * @param width  The width of the region.
+     * @param height The height of the region.
+     */
+    private void addDirty(double x, double y, double width, double height) {
+        if ((dirtyCount + 1) * 4 > dirtyRects.length) {
+            dirtyRects = Arrays.copyOf(dirtyRects, dirtyRects.length * 2);
+        }
+        dirtyRects[dirtyCount * 4] = x;
+        dirtyRects[dirtyCount * 4 + 1] = y;
+        dirtyRects[dirtyCount * 4 + 2] = width;
+        dirtyRects[dirtyCount * 4 + 3] = height;
+        dirtyCount++;
+    }
+
+    /**
+     * Stores the state just drawn so the next frame can tell what changed.
+     *
+     * @param engine The game that was drawn.
+     */
+    private void remember(GameEngine engine) {
+        Snake snake = engine.getSnake();
+        lastSnake = snake;
+        lastMoveCount = snake.getMoveCount();
+        lastLength = snake.getLength();
+        for (int j = 0; j < TAIL_HISTORY && j < lastLength; j++) {
+            tailXs[j] = snake.getX(lastLength - 1 - j);
+            tailYs[j] = snake.getY(lastLength - 1 - j);
+        }
+
+        List<Paddle> paddles = engine.getLevels().getPaddles();
+        paddleCount = paddles.size();
+        if (paddleRects.length < paddleCount * 4) {
+            paddleRects = new double[paddleCount * 8];
+        }
+        for (int p = 0; p < paddleCount; p++) {
+            Paddle paddle = paddles.get(p);
+            paddleRects[p * 4] = paddle.getX();
+            paddleRects[p * 4 + 1] = paddle.getY();
+            paddleRects[p * 4 + 2] = paddle.getWidth();
+            paddleRects[p * 4 + 3] = paddle.getHeight();
+        }
+
+        List<Food> foods = engine.getLevels().getFoods();
+        foodCount = foods.size();
+        if (foodCells.length < foodCount * 2) {
+            foodCells = new int[foodCount * 4];
+        }
+        for (int f = 0; f < foodCount; f++) {
+            foodCells[f * 2] = foods.get(f).getX();
+            foodCells[f * 2 + 1] = foods.get(f).getY();
+        }
+    }
+
+    /**
+     * Records the sprite of a snake segment in the cell it occupies.
+     *
+     * @param snake The snake.
+     * @param index The segment index, 0 being the head.
+     */
+    private void updateCellSprite(Snake snake, int index) {
+        setCellSprite(snake.getX(index), snake.getY(index), SnakeSprites.forSegment(snake, index));
+    }
+
+    /**
+     * Returns the sprite recorded for a cell on the board.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The sprite id, or 0 for an empty cell.
+     */
+    private int getCellSprite(int x, int y) {
+        byte[] tile = spriteTiles[(y >> TILE_SHIFT) * tileColumns + (x >> TILE_SHIFT)];
+        return tile == null ? 0 : tile[((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)];
+    }
+
+    /**
+     * Sets the sprite recorded for a cell, allocating its tile the first time a sprite lands in it. Cells outside the board are ignored.
+     *
+     * @param x  The x-coordinate of the cell.
+     * @param y  The y-coordinate of the cell.
+     * @param id The sprite id, or 0 for an empty cell.
+     */
+    private void setCellSprite(int x, int y, int id) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            return;
+        }
+        int index = (y >> TILE_SHIFT) * tileColumns + (x >> TILE_SHIFT);
+        byte[] tile = spriteTiles[index];
+        if (tile == null) {
+            if (id == 0) {
+                return;
+            }
+            tile = new byte[1 << (2 * TILE_SHIFT)];
+            spriteTiles[index] = tile;
+        }
+        tile[((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)] = (byte) id;
+    }
+
+    /**
+     * Draws the Paddle on the provided GraphicsContext.
+     *
+     * @param gc     The GraphicsContext on which to draw the Paddle.
+     * @param paddle The paddle to draw.
+     */
+    public void drawPaddle(GraphicsContext gc, Paddle paddle) {
+        gc.setFill(PADDLE_COLOR);
+        gc.fillRect(paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight());
+    }
+
+    /**
+     * Draws the food item on the canvas using the provided GraphicsContext object.
+     *
+     * @param gc   The GraphicsContext object used to draw the food.
+     * @param food The food to draw.
+     */
+    public void drawFood(GraphicsContext gc, Food food) {
+        Image image = ImageUtil.getImage(food.getImageKey());
+        gc.drawImage(image, food.getX() * GameUtil.CELL_SIZE, food.getY() * GameUtil.CELL_SIZE, GameUtil.CELL_SIZE, GameUtil.CELL_SIZE);
+    }
+
+    /**
+     * Draws the snake on the provided GraphicsContext.
+     *
+     * @param gc    The GraphicsContext on which to draw the snake.
+     * @param snake The snake to draw.
+     */
+    public void drawSnake(GraphicsContext gc, Snake snake) {
+        int length = snake.getLength();
+        int size = GameUtil.CELL_SIZE;
+        for (int i = 0; i < length; i++) {
+            int sprite = SnakeSprites.forSegment(snake, i);
+
+            // Draw the segment using the appropriate sprite
+            gc.drawImage(
+                    spriteSheet,
+                    SnakeSprites.sourceX(sprite), SnakeSprites.sourceY(sprite),
+                    SnakeSprites.SPRITE_SIZE, SnakeSprites.SPRITE_SIZE,
+                    snake.getX(i) * size, snake.getY(i) * size,
+                    size, size // Scale sprite to the desired size
+            );
+        }
+    }
+}
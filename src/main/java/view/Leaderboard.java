@@ -1,5 +1,9 @@
 package view;
 
+import util.RankIndex;
+import util.RecordLog;
+
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.nio.file.*;
 import java.io.*;
@@ -7,15 +11,37 @@ import java.io.*;
 /**
  * @Project Leaderboard
  * @Description Manages both individual player's name and score and the collection of high scores.
- * Responsible for saving, retrieving, and sorting high scores.
+ * Responsible for saving, retrieving, and sorting high scores. Every score is appended to a checksummed record log that a background thread
+ * writes, so saving never waits on the disk and a crash mid-write cannot damage earlier scores. The log is read back at startup into a
+ * bounded heap holding the best scores and into a rank index of every score ever played, so a player's place among millions of games
+ * is found in logarithmic time. Once the log grows long it is rewritten as the named high scores plus counts of every other score.
  * @Author Wesley Agbongiasede
  * @version 1.0
  */
 public class Leaderboard implements Comparable<Leaderboard> {
     private final String name;
     private final int score;
-    private static final String HIGH_SCORE_FILE = "leaderboard.txt";
-    private static final List<Leaderboard> highScores = new ArrayList<>();
+    private final long time; // When the score was set, in milliseconds since the epoch
+    private final long sequence; // Order the score was added in, so ties keep the earlier score
+    private static final String HIGH_SCORE_FILE = "leaderboard.log";
+    private static final String LEGACY_HIGH_SCORE_FILE = "leaderboard.txt"; // Plain text table written by earlier versions
+    private static final int MAX_HIGH_SCORES = 10;
+    private static final int COMPACT_AFTER = 1000; // Log records at which the log is rewritten with just the high scores
+    private static final byte SCORE_RECORD = 1;
+    private static final byte COUNTS_RECORD = 2; // Score and count pairs for scores kept without names
+    private static final int COUNTS_PER_RECORD = 4096; // Keeps each counts record well inside the log's record size limit
+    // Lowest score at the head, and the newest of equal scores before the older ones, so the head is always the one to drop
+    private static final Comparator<Leaderboard> LOWEST_FIRST = Comparator.comparingInt(Leaderboard::getScore)
+            .thenComparing(Comparator.comparingLong((Leaderboard record) -> record.sequence).reversed());
+    private static final PriorityQueue<Leaderboard> topScores = new PriorityQueue<>(MAX_HIGH_SCORES + 1, LOWEST_FIRST);
+    private static List<Leaderboard> highScores = Collections.emptyList(); // The top scores in order, rebuilt when they change
+    private static final RankIndex allScores = new RankIndex(); // Every score played, for ranks and percentiles
+    private static long nextSequence = 0;
+    private static RecordLog log;
+
+    static {
+        loadHighScores();
+    }
 
     /**
      * Constructs a new Leaderboard instance with the given name and score.
@@ -24,8 +50,21 @@ public class Leaderboard implements Comparable<Leaderboard> {
      * @param score the score of the player
      */
     public Leaderboard(String name, int score) {
+        this(name, score, System.currentTimeMillis());
+    }
+
+    /**
+     * Constructs a new Leaderboard instance with the given name, score and time.
+     *
+     * @param name  the name of the player
+     * @param score the score of the player
+     * @param time  when the score was set, in milliseconds since the epoch
+     */
+    private Leaderboard(String name, int score, long time) {
         this.name = name;
         this.score = score;
+        this.time = time;
+        this.sequence = nextSequence++;
     }
 
     /**
@@ -46,6 +85,15 @@ public class Leaderboard implements Comparable<Leaderboard> {
         return score;
     }
 
+    /**
+     * Returns when the score was set.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getTime() {
+        return time;
+    }
+
     /**
      * Compares this Leaderboard object with the specified Leaderboard object for order.
      * Returns a negative integer, zero, or a positive integer as this object is less than, equal to, or greater than the specified object.
@@ -60,35 +108,287 @@ public class Leaderboard implements Comparable<Leaderboard> {
     }
 
     /**
-     * Saves the high score for a player.
+     * Saves the high score for a player. The score is kept in memory at once and written to disk in the background.
      *
      * @param playerName the name of the player
      * @param score the score of the player
      */
-    public static void saveHighScore(String playerName, int score) {
-        highScores.add(new Leaderboard(playerName, score));
-        Collections.sort(highScores);
+    public static synchronized void saveHighScore(String playerName, int score) {
+        Leaderboard record = new Leaderboard(playerName, score);
+        addToTopScores(record);
+        allScores.add(score);
+        if (log != null) {
+            log.append(encode(record));
+            if (log.getRecordCount() > COMPACT_AFTER) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Returns a list of high scores in the leaderboard.
+     *
+     * @return a list of high scores in the leaderboard, highest first
+     */
+    public static synchronized List<Leaderboard> getHighScores() {
+        return highScores;
+    }
+
+    /**
+     * Returns the place a score takes among every score played, 1 being the best. Equal scores share a place.
+     *
+     * @param score the score
+     * @return one more than the number of higher scores
+     */
+    public static synchronized long getRank(int score) {
+        return allScores.rank(score);
+    }
+
+    /**
+     * Returns the share of all scores played that are at least as high as the given one.
+     *
+     * @param score the score
+     * @return the percentage, from 0 to 100
+     */
+    public static synchronized double getTopPercent(int score) {
+        return allScores.topPercent(score);
+    }
+
+    /**
+     * Returns the score that the given percentage of games did not beat.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the score at that percentile, or 0 if no games have been played
+     */
+    public static synchronized int getPercentileScore(double percentile) {
+        return allScores.size() == 0 ? 0 : allScores.percentile(percentile);
+    }
+
+    /**
+     * Returns a run of the ranking of every score played, highest first.
+     *
+     * @param offset the place of the first score, 0 being the best
+     * @param limit  the largest number of scores to return
+     * @return the scores
+     */
+    public static synchronized int[] getScores(long offset, int limit) {
+        return allScores.top(offset, limit);
+    }
+
+    /**
+     * Returns the number of scores played.
+     *
+     * @return the score count
+     */
+    public static synchronized long getTotalScores() {
+        return allScores.size();
+    }
+
+    /**
+     * Describes where a score places among every score played, e.g. "You placed 48,213th of 1,600,000 (top 3%)".
+     *
+     * @param score the score
+     * @return the description
+     */
+    public static synchronized String describePlacement(int score) {
+        long rank = allScores.rank(score);
+        double percent = allScores.topPercent(score);
+        String top = percent < 1 ? String.format("%.1f", Math.max(0.1, percent)) : String.valueOf((long) Math.ceil(percent));
+        return String.format("You placed %,d%s of %,d (top %s%%)", rank, ordinalSuffix(rank), allScores.size(), top);
+    }
 
-        while (highScores.size() > 10) {
-            highScores.remove(highScores.size() - 1);
+    /**
+     * Returns the English ordinal suffix for a number.
+     *
+     * @param number the number
+     * @return "st", "nd", "rd" or "th"
+     */
+    private static String ordinalSuffix(long number) {
+        if (number % 100 >= 11 && number % 100 <= 13) {
+            return "th";
         }
+        switch ((int) (number % 10)) {
+            case 1:
+                return "st";
+            case 2:
+                return "nd";
+            case 3:
+                return "rd";
+            default:
+                return "th";
+        }
+    }
 
-        try (BufferedWriter bw = Files.newBufferedWriter(Paths.get(HIGH_SCORE_FILE))) {
-            for (Leaderboard record : highScores) {
-                bw.write(record.getName() + "," + record.getScore());
-                bw.newLine();
+    /**
+     * Reads the score log into the high scores. If there is no log yet, the scores in the old text table are imported into a new one.
+     * If the log cannot be opened, scores are kept in memory only.
+     */
+    private static synchronized void loadHighScores() {
+        Path path = Paths.get(HIGH_SCORE_FILE);
+        boolean migrate = !Files.exists(path) && Files.exists(Paths.get(LEGACY_HIGH_SCORE_FILE));
+        try {
+            log = new RecordLog(path);
+            for (byte[] payload : log.load()) {
+                if (payload.length > 0 && payload[0] == COUNTS_RECORD) {
+                    decodeCounts(payload);
+                    continue;
+                }
+                Leaderboard record = decode(payload);
+                if (record != null) {
+                    addToTopScores(record);
+                    allScores.add(record.score);
+                }
+            }
+            if (log.getDiscardedBytes() > 0) {
+                System.out.println("Discarded " + log.getDiscardedBytes() + " bytes of unfinished high score records");
             }
         } catch (IOException e) {
-            System.out.println("Error saving high scores: " + e.getMessage());
+            System.out.println("Error loading high scores: " + e.getMessage());
+            log = null;
+        }
+        if (migrate) {
+            importLegacyHighScores();
+        }
+        if (log != null && log.getRecordCount() > COMPACT_AFTER) {
+            compact();
         }
     }
 
     /**
-     * Returns a list of high scores in the leaderboard.
+     * Saves every "name,score" line of the old text table as a score.
+     */
+    private static void importLegacyHighScores() {
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(LEGACY_HIGH_SCORE_FILE))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                int comma = line.lastIndexOf(',');
+                if (comma > 0) {
+                    try {
+                        saveHighScore(line.substring(0, comma), Integer.parseInt(line.substring(comma + 1).trim()));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Skipping high score line: " + line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error importing high scores: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a score to the bounded heap, dropping the lowest score if it is full, and rebuilds the ordered list if the top scores changed.
      *
-     * @return a list of high scores in the leaderboard
+     * @param record the score to add
      */
-    public static List<Leaderboard> getHighScores() {
-        return highScores;
+    private static void addToTopScores(Leaderboard record) {
+        if (topScores.size() < MAX_HIGH_SCORES) {
+            topScores.add(record);
+        } else if (record.score > topScores.peek().score) {
+            topScores.poll();
+            topScores.add(record);
+        } else {
+            return; // Not a high score; the list is unchanged
+        }
+        List<Leaderboard> ordered = new ArrayList<>(topScores);
+        ordered.sort(LOWEST_FIRST.reversed());
+        highScores = Collections.unmodifiableList(ordered);
+    }
+
+    /**
+     * Rewrites the log as counts of every score outside the high scores, followed by the high scores themselves, oldest first.
+     */
+    private static void compact() {
+        Map<Integer, Integer> named = new HashMap<>(); // Occurrences of each score that the named records already cover
+        for (Leaderboard record : topScores) {
+            named.merge(record.score, 1, Integer::sum);
+        }
+        List<byte[]> live = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(COUNTS_PER_RECORD * 12 + 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        int[] pairs = {0};
+        allScores.forEach((score, count) -> {
+            long unnamed = count - named.getOrDefault(score, 0);
+            if (unnamed <= 0) {
+                return;
+            }
+            try {
+                if (pairs[0] == 0) {
+                    out.writeByte(COUNTS_RECORD);
+                }
+                out.writeInt(score);
+                out.writeLong(unnamed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Cannot happen when writing to memory
+            }
+            if (++pairs[0] == COUNTS_PER_RECORD) {
+                live.add(bytes.toByteArray());
+                bytes.reset();
+                pairs[0] = 0;
+            }
+        });
+        if (pairs[0] > 0) {
+            live.add(bytes.toByteArray());
+        }
+
+        List<Leaderboard> oldestFirst = new ArrayList<>(topScores);
+        oldestFirst.sort(Comparator.comparingLong(record -> record.sequence));
+        for (Leaderboard record : oldestFirst) {
+            live.add(encode(record));
+        }
+        log.compact(live);
+    }
+
+    /**
+     * Adds the scores in a counts record to the rank index.
+     *
+     * @param payload the record's bytes
+     */
+    private static void decodeCounts(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        while (in.remaining() >= 12) {
+            int score = in.getInt();
+            long count = in.getLong();
+            if (count > 0) {
+                allScores.add(score, count);
+            }
+        }
+    }
+
+    /**
+     * Encodes a score as a log record: the record type, time, score and name.
+     *
+     * @param record the score to encode
+     * @return the record's bytes
+     */
+    private static byte[] encode(Leaderboard record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(SCORE_RECORD);
+            out.writeLong(record.time);
+            out.writeInt(record.score);
+            out.writeUTF(record.name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen when writing to memory
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a log record.
+     *
+     * @param payload the record's bytes
+     * @return the score, or null if the record is not a score
+     */
+    private static Leaderboard decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != SCORE_RECORD) {
+                return null;
+            }
+            long time = in.readLong();
+            int score = in.readInt();
+            return new Leaderboard(in.readUTF(), score, time);
+        } catch (IOException e) {
+            return null; // Checksum matched but the contents do not; skip the record
+        }
     }
 }
@@ -2,42 +2,92 @@ package view;
 
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import util.AssetManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @Project Music Player
- * @Description Handles the playback of game music and sound effects using JavaFX's MediaPlayer. Manages play, stop, pause, and mute functionalities for both background music and specific sound effects like death sound.
+ * @Description Handles the playback of game music and sound effects. One MediaPlayer plays the music for every game, rewound rather than recreated, and is disposed when the game closes.
+ * Short effects like the death sound are decoded in advance into AudioClips, each with a limit on how many copies play at once. Manages play, stop, pause, and mute functionalities.
  * @Author Wesley Agbongiasede - modified
  * @version 1.0
  */
 public class MusicPlayer {
-	private MediaPlayer mediaPlayer;
-	private MediaPlayer deathSoundPlayer;
+	private static final String MUSIC = "/frogger.mp3";
+	public static final String DEATH = "death"; // Effect played when the snake dies
+	private static final MusicPlayer shared = new MusicPlayer();
+	private final Map<String, CompletableFuture<SoundEffect>> effects = new HashMap<>();
+	private MediaPlayer mediaPlayer; // Created on the first game and replayed for every game after it
+
+	/**
+	 * Creates the player and starts decoding its sound effects in the background.
+	 */
+	private MusicPlayer() {
+		registerEffect(DEATH, "/death.mp3", 1, 1500);
+	}
+
+	/**
+	 * Returns the player shared by every game, so the music's native player is opened once per run.
+	 *
+	 * @return The shared player.
+	 */
+	public static MusicPlayer getShared() {
+		return shared;
+	}
 
 	/**
-	 * Starts playing the background music.
+	 * Starts loading the music and every sound effect in the background, if they are not loading already.
+	 */
+	public static void preload() {
+		AssetManager.media(MUSIC);
+		// Creating the shared player registers and decodes its effects
+	}
+
+	/**
+	 * Registers a sound effect, decoding its clip in the background.
+	 *
+	 * @param name         The effect's name.
+	 * @param resource     The sound's classpath resource.
+	 * @param voices       How many copies may play at once.
+	 * @param lengthMillis How long one play lasts.
+	 */
+	private void registerEffect(String name, String resource, int voices, long lengthMillis) {
+		effects.put(name, AssetManager.audioClip(resource).thenApply(clip -> new SoundEffect(clip, voices, lengthMillis)));
+	}
+
+	/**
+	 * Starts playing the background music from the beginning.
 	 *
-	 * This method loads the music file "frogger.mp3" and starts playing it using JavaFX's MediaPlayer class.
-	 * The music is played indefinitely in a loop.
+	 * The MediaPlayer for "frogger.mp3" is created on the first call and kept; later games rewind and replay it
+	 * rather than opening another native player. The music is played indefinitely in a loop, unmuted.
 	 *
 	 * If the music file fails to load or an exception occurs during the process, an error message is printed
 	 * and the exception is printed to the standard error stream.
 	 *
 	 * Example usage:
-	 *     MusicPlayer musicPlayer = new MusicPlayer();
+	 *     MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 *     musicPlayer.startMusic();
 	 */
-	public void startMusic() {try {
-		String froggerSound = getClass().getResource("/frogger.mp3").toExternalForm();
-		Media media = new Media(froggerSound);
-		mediaPlayer = new MediaPlayer(media);
-	} catch (Exception e) {
-		System.out.println("Error loading frogger sound.");
-		e.printStackTrace();
-	}
-		if (mediaPlayer != null) {
-			mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-			mediaPlayer.play();
+	public void startMusic() {
+		if (mediaPlayer == null) {
+			try {
+				Media media = AssetManager.media(MUSIC).join(); // Opened at launch by the preloader
+				mediaPlayer = new MediaPlayer(media);
+				mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
+				mediaPlayer.setOnError(this::disposeMusic); // A broken player is replaced on the next start
+			} catch (Exception e) {
+				System.out.println("Error loading frogger sound.");
+				e.printStackTrace();
+				return;
+			}
 		}
+		mediaPlayer.setMute(false);
+		mediaPlayer.seek(Duration.ZERO);
+		mediaPlayer.play();
 	}
 
 	/**
@@ -46,7 +96,7 @@ public class MusicPlayer {
 	 * If a MediaPlayer object is currently playing music, this method stops it.
 	 *
 	 * Example usage:
-	 *     MusicPlayer musicPlayer = new MusicPlayer();
+	 *     MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 *     musicPlayer.stopMusic();
 	 */
 	public void stopMusic() {
@@ -73,7 +123,7 @@ public class MusicPlayer {
 	 * this method resumes the music by calling the play() method on the MediaPlayer object.
 	 *
 	 * Example usage:
-	 *     MusicPlayer musicPlayer = new MusicPlayer();
+	 *     MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 *     musicPlayer.resumeMusic();
 	 */
 	public void resumeMusic() {
@@ -90,7 +140,7 @@ public class MusicPlayer {
 	 *
 	 * Example usage:
 	 *
-	 * MusicPlayer musicPlayer = new MusicPlayer();
+	 * MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 * musicPlayer.muteMusic();
 	 */
 	public void muteMusic() {
@@ -106,7 +156,7 @@ public class MusicPlayer {
 	 * If it is, this method sets the mute property of the MediaPlayer object to false, which unmutes the music.
 	 *
 	 * Example usage:
-	 *     MusicPlayer musicPlayer = new MusicPlayer();
+	 *     MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 *     musicPlayer.unmuteMusic();
 	 */
 	public void unmuteMusic() {
@@ -118,18 +168,16 @@ public class MusicPlayer {
 	/**
 	 * Initializes the death sound.
 	 *
-	 * This method loads the death sound file "death.mp3" using the getResource() method of the Class class.
-	 * The death sound file is located in the resources folder within the classpath.
+	 * This method waits for the death sound "death.mp3" to finish decoding, which the asset manager starts at launch,
+	 * so the first death plays without delay.
 	 *
 	 * Example usage:
-	 *     MusicPlayer musicPlayer = new MusicPlayer();
+	 *     MusicPlayer musicPlayer = MusicPlayer.getShared();
 	 *     musicPlayer.initializeDeathSound();
 	 */
 	public void initializeDeathSound() {
 		try {
-			String deathSound = getClass().getResource("/death.mp3").toExternalForm();
-			Media deathPlayer = new Media(deathSound);
-			deathSoundPlayer = new MediaPlayer(deathPlayer);
+			effects.get(DEATH).join();
 		} catch (Exception e) {
 			System.out.println("Error loading death sound.");
 			e.printStackTrace();
@@ -139,16 +187,50 @@ public class MusicPlayer {
 	/**
 	 * Plays the death sound if it is initialized.
 	 *
-	 * This method checks if the death sound player is not null. If it is not null, it stops the current playback and starts playing the death sound.
-	 * This method does not return any value.
-	 *
 	 * Example usage:
 	 *     musicPlayer.playDeathSound();
 	 */
 	public void playDeathSound() {
-		if (deathSoundPlayer != null) {
-			deathSoundPlayer.stop();
-			deathSoundPlayer.play();
+		playEffect(DEATH);
+	}
+
+	/**
+	 * Plays a sound effect if it has finished decoding and one of its voices is free. Never waits.
+	 *
+	 * @param name The effect's name, e.g. {@link #DEATH}.
+	 * @return true if the effect started.
+	 */
+	public boolean playEffect(String name) {
+		CompletableFuture<SoundEffect> effect = effects.get(name);
+		if (effect == null || !effect.isDone() || effect.isCompletedExceptionally()) {
+			return false;
+		}
+		return effect.join().play();
+	}
+
+	/**
+	 * Releases the music's native player and stops every effect. The next call to {@link #startMusic()} opens a new player.
+	 */
+	public void dispose() {
+		disposeMusic();
+		for (CompletableFuture<SoundEffect> effect : effects.values()) {
+			if (effect.isDone() && !effect.isCompletedExceptionally()) {
+				effect.join().stop();
+			}
+		}
+	}
+
+	/**
+	 * Stops and releases the music's native player.
+	 */
+	private void disposeMusic() {
+		if (mediaPlayer != null) {
+			if (mediaPlayer.getError() != null) {
+				System.out.println("Music player failed: " + mediaPlayer.getError().getMessage());
+			}
+			mediaPlayer.stop();
+			mediaPlayer.dispose();
+			mediaPlayer = null;
 		}
 	}
 }
@@ -0,0 +1,153 @@
+package view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import util.FrameProfiler;
+import util.ImageCache;
+import util.LatencyHistogram;
+
+/**
+ * @Project Profiler Overlay
+ * @Description Draws the frame profiler's readings on the game canvas: the time spent in each phase of the last frame,
+ * a histogram of recent frame times with its p50, p95 and p99, garbage collections, the allocation rate,
+ * the time from key press to the snake turning, and the image cache's use.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class ProfilerOverlay {
+    public static final double WIDTH = 300; // Size of the panel, for reserving its region in the renderer
+    public static final double HEIGHT = 220;
+    private static final Font FONT = Font.font("Monospaced", 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 0.6);
+    private static final double LINE_HEIGHT = 15;
+    private static final int HISTOGRAM_BARS = 50; // Bars of 1 ms each, from 0 to 50 ms; slower frames go in the last bar
+    private static final double HISTOGRAM_HEIGHT = 50;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60; // Frames longer than this miss a 60 Hz refresh
+    private final int bucketsPerBar = (int) (NANOS_PER_MILLI / FrameProfiler.BUCKET_NANOS);
+    private final StringBuilder text = new StringBuilder(64); // Reused for every line of the panel
+
+    /**
+     * Draws the panel with its top-left corner at the given position.
+     *
+     * @param gc       The GraphicsContext on which to draw.
+     * @param profiler The profiler to read.
+     * @param input    The key press to turn latencies of the current game.
+     * @param x        The x-coordinate of the panel.
+     * @param y        The y-coordinate of the panel.
+     */
+    public void draw(GraphicsContext gc, FrameProfiler profiler, LatencyHistogram input, double x, double y) {
+        gc.setFill(BACKGROUND);
+        gc.fillRect(x, y, WIDTH, HEIGHT);
+        gc.setFont(FONT);
+        gc.setFill(Color.WHITE);
+
+        double line = y + LINE_HEIGHT;
+        text.setLength(0);
+        text.append("frame   ");
+        appendMillis(profiler.getFrameNanos());
+        gc.fillText(text.toString(), x + 8, line);
+        for (int phase = 0; phase < FrameProfiler.PHASE_COUNT; phase++) {
+            line += LINE_HEIGHT;
+            text.setLength(0);
+            text.append(FrameProfiler.PHASE_NAMES[phase]);
+            while (text.length() < 12) {
+                text.append(' ');
+            }
+            appendMillis(profiler.getPhaseNanos(phase));
+            gc.fillText(text.toString(), x + 8, line);
+        }
+
+        line += LINE_HEIGHT;
+        text.setLength(0);
+        text.append("p50 ");
+        appendMillis(profiler.percentile(0.50));
+        text.append("  p95 ");
+        appendMillis(profiler.percentile(0.95));
+        text.append("  p99 ");
+        appendMillis(profiler.percentile(0.99));
+        gc.fillText(text.toString(), x + 8, line);
+
+        line += LINE_HEIGHT;
+        text.setLength(0);
+        text.append("gc ").append(profiler.getGcCount()).append(" (").append(profiler.getGcMillis()).append(" ms)  alloc ");
+        text.append(Math.round(profiler.getAllocationRate() / 1024)).append(" KB/s");
+        gc.fillText(text.toString(), x + 8, line);
+
+        line += LINE_HEIGHT;
+        text.setLength(0);
+        text.append("input p50 ");
+        appendMillis(input.percentile(0.50));
+        text.append(" p99 ");
+        appendMillis(input.percentile(0.99));
+        gc.fillText(text.toString(), x + 8, line);
+
+        line += LINE_HEIGHT;
+        ImageCache images = ImageCache.getShared();
+        text.setLength(0);
+        text.append("img ").append(images.getHits()).append(" hit ").append(images.getMisses()).append(" miss ");
+        text.append(images.getBytes() / (1024 * 1024)).append('/').append(images.getBudget() / (1024 * 1024)).append(" MB");
+        gc.fillText(text.toString(), x + 8, line);
+
+        line += LINE_HEIGHT;
+        text.setLength(0);
+        text.append(profiler.isCsvEnabled() ? "csv: recording (F4)" : "csv: off (F4)");
+        gc.fillText(text.toString(), x + 8, line);
+
+        drawHistogram(gc, profiler, x + 8, line + 10 + HISTOGRAM_HEIGHT);
+    }
+
+    /**
+     * Draws the frame time histogram as vertical bars scaled to the fullest bar. Bars past the 60 Hz frame budget are red.
+     *
+     * @param gc       The GraphicsContext on which to draw.
+     * @param profiler The profiler to read.
+     * @param x        The x-coordinate of the left edge.
+     * @param baseline The y-coordinate of the bottom of the bars.
+     */
+    private void drawHistogram(GraphicsContext gc, FrameProfiler profiler, double x, double baseline) {
+        double barWidth = (WIDTH - 16) / HISTOGRAM_BARS;
+        int max = 1;
+        for (int bar = 0; bar < HISTOGRAM_BARS; bar++) {
+            max = Math.max(max, barCount(profiler, bar));
+        }
+        for (int bar = 0; bar < HISTOGRAM_BARS; bar++) {
+            double height = HISTOGRAM_HEIGHT * barCount(profiler, bar) / max;
+            gc.setFill(bar * NANOS_PER_MILLI >= FRAME_BUDGET_NANOS ? Color.RED : Color.LIMEGREEN);
+            gc.fillRect(x + bar * barWidth, baseline - height, Math.max(1, barWidth - 1), height);
+        }
+    }
+
+    /**
+     * Sums the histogram buckets covered by one bar; the last bar also takes every slower frame.
+     *
+     * @param profiler The profiler to read.
+     * @param bar      The bar index.
+     * @return The number of frames in the bar.
+     */
+    private int barCount(FrameProfiler profiler, int bar) {
+        int first = bar * bucketsPerBar;
+        int last = bar == HISTOGRAM_BARS - 1 ? FrameProfiler.BUCKET_COUNT : first + bucketsPerBar;
+        int count = 0;
+        for (int bucket = first; bucket < last; bucket++) {
+            count += profiler.getBucket(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * Appends a duration in milliseconds with two decimals to the text buffer.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        text.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction).append(" ms");
+    }
+}
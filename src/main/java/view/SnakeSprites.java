@@ -0,0 +1,184 @@
+package view;
+
+import model.Direction;
+import model.Snake;
+
+/**
+ * @Project Snake Sprites
+ * @Description Lookup table of the snake sprite sheet. Resolves the sprite for a segment from its role and the directions around it
+ * without allocating, and gives the source coordinates of each sprite on the sheet.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public final class SnakeSprites {
+    public static final int SPRITE_SIZE = 64;  // assuming each sprite is 64x64 pixels
+    public static final int HEAD = 0; // Role of the first segment, indexed by the direction the snake is facing
+    public static final int BODY = 1; // Role of a middle segment, indexed by its own direction and the next segment's
+    public static final int TAIL = 2; // Role of the last segment, indexed by the next segment's direction
+    private static final int SHEET_COLUMNS = 5; // Number of sprite columns in the sheet
+    private static final int SHEET_ROWS = 4; // Number of sprite rows in the sheet
+    private static final byte[] TABLE = new byte[3 * 4 * 4]; // Sprite id for each (role, direction in, direction out)
+    private static final double[] SOURCE_X = new double[SHEET_COLUMNS * SHEET_ROWS + 1];
+    private static final double[] SOURCE_Y = new double[SHEET_COLUMNS * SHEET_ROWS + 1];
+
+    static {
+        for (int id = 1; id < SOURCE_X.length; id++) {
+            SOURCE_X[id] = ((id - 1) % SHEET_COLUMNS) * SPRITE_SIZE;
+            SOURCE_Y[id] = ((id - 1) / SHEET_COLUMNS) * SPRITE_SIZE;
+        }
+        for (Direction in : Direction.values()) {
+            for (Direction out : Direction.values()) {
+                put(HEAD, in, out, headSprite(in));
+                put(TAIL, in, out, tailSprite(in));
+                put(BODY, in, out, in == out ? straightSprite(out) : turnSprite(in, out));
+            }
+        }
+    }
+
+    private SnakeSprites() {
+    }
+
+    /**
+     * Looks up the sprite for a segment.
+     *
+     * @param role The segment's role: {@link #HEAD}, {@link #BODY} or {@link #TAIL}.
+     * @param in   The head's direction, the tail's next segment direction, or a body segment's own direction.
+     * @param out  The next segment's direction for a body segment; ignored for the head and tail.
+     * @return The sprite id, from 1 upwards.
+     */
+    public static int lookup(int role, Direction in, Direction out) {
+        return TABLE[(role << 4) | (in.ordinal() << 2) | out.ordinal()];
+    }
+
+    /**
+     * Looks up the sprite for a segment of the given snake.
+     *
+     * @param snake The snake.
+     * @param index The segment index, 0 being the head.
+     * @return The sprite id, from 1 upwards.
+     */
+    public static int forSegment(Snake snake, int index) {
+        if (index == 0) {
+            Direction facing = snake.getCurrentDirection();
+            return lookup(HEAD, facing, facing);
+        }
+        Direction next = snake.getDirection(index - 1);
+        if (index == snake.getLength() - 1) {
+            return lookup(TAIL, next, next);
+        }
+        return lookup(BODY, snake.getDirection(index), next);
+    }
+
+    /**
+     * Returns the x-coordinate of a sprite on the sheet.
+     *
+     * @param id The sprite id.
+     * @return The source x-coordinate in pixels.
+     */
+    public static double sourceX(int id) {
+        return SOURCE_X[id];
+    }
+
+    /**
+     * Returns the y-coordinate of a sprite on the sheet.
+     *
+     * @param id The sprite id.
+     * @return The source y-coordinate in pixels.
+     */
+    public static double sourceY(int id) {
+        return SOURCE_Y[id];
+    }
+
+    /**
+     * Stores a table entry.
+     *
+     * @param role The segment role.
+     * @param in   The first direction index.
+     * @param out  The second direction index.
+     * @param id   The sprite id.
+     */
+    private static void put(int role, Direction in, Direction out, int id) {
+        TABLE[(role << 4) | (in.ordinal() << 2) | out.ordinal()] = (byte) id;
+    }
+
+    /**
+     * Returns the id of the sprite in the given sheet column and row.
+     *
+     * @param column The sheet column.
+     * @param row    The sheet row.
+     * @return The sprite id.
+     */
+    private static int sprite(int column, int row) {
+        return row * SHEET_COLUMNS + column + 1;
+    }
+
+    /**
+     * Returns the head sprite for the direction the snake is facing.
+     *
+     * @param direction The direction of the head.
+     * @return The sprite id.
+     */
+    private static int headSprite(Direction direction) {
+        switch (direction) {
+            case UP: return sprite(3, 0);
+            case DOWN: return sprite(4, 1);
+            case LEFT: return sprite(3, 1);
+            case RIGHT:
+            default: return sprite(4, 0);
+        }
+    }
+
+    /**
+     * Returns the tail sprite for the direction of the segment in front of the tail.
+     *
+     * @param direction The direction of the next segment from the tail.
+     * @return The sprite id.
+     */
+    private static int tailSprite(Direction direction) {
+        switch (direction) {
+            case UP: return sprite(3, 2);
+            case DOWN: return sprite(4, 3);
+            case LEFT: return sprite(3, 3);
+            case RIGHT:
+            default: return sprite(4, 2);
+        }
+    }
+
+    /**
+     * Returns the straight body sprite for a segment moving in the given direction.
+     *
+     * @param direction The direction of the segment.
+     * @return The sprite id.
+     */
+    private static int straightSprite(Direction direction) {
+        switch (direction) {
+            case UP:
+            case DOWN: return sprite(2, 1);
+            case RIGHT:
+            case LEFT:
+            default: return sprite(1, 0);
+        }
+    }
+
+    /**
+     * Returns the curved body sprite for a segment where the snake turns.
+     *
+     * @param thisSegmentDirection The direction of this segment.
+     * @param nextSegmentDirection The direction of the next segment.
+     * @return The sprite id.
+     */
+    private static int turnSprite(Direction thisSegmentDirection, Direction nextSegmentDirection) {
+        if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.RIGHT) || (thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.DOWN)) {
+            return sprite(0, 0);
+        } else if ((thisSegmentDirection == Direction.UP && nextSegmentDirection == Direction.LEFT) || (thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.DOWN)) {
+            return sprite(2, 0);
+        } else if ((thisSegmentDirection == Direction.LEFT && nextSegmentDirection == Direction.UP) || (thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.RIGHT)) {
+            return sprite(0, 1);
+        } else if ((thisSegmentDirection == Direction.DOWN && nextSegmentDirection == Direction.LEFT) || (thisSegmentDirection == Direction.RIGHT && nextSegmentDirection == Direction.UP)) {
+            return sprite(2, 2);
+        } else {
+            // Opposite directions never meet in a live snake; fall back to the straight body sprite
+            return sprite(1, 0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package view;
+
+import javafx.scene.media.AudioClip;
+
+import java.util.Arrays;
+
+/**
+ * @Project Sound Effect
+ * @Description A short sound held fully decoded in memory as an AudioClip, so it starts without the delay of opening a MediaPlayer.
+ * One clip can play over itself; the effect allows a fixed number of these voices at once and drops any play beyond them,
+ * so a burst of events cannot pile up overlapping copies of the same sound.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class SoundEffect {
+    private final AudioClip clip;
+    private final long lengthNanos;
+    private final long[] voiceEnds; // When each voice finishes, in System.nanoTime; free once passed
+    private long played = 0;
+    private long dropped = 0;
+
+    /**
+     * Creates an effect.
+     *
+     * @param clip         The decoded sound.
+     * @param voices       The number of copies that may play at once; at least 1.
+     * @param lengthMillis How long one play lasts, after which its voice is free again.
+     */
+    public SoundEffect(AudioClip clip, int voices, long lengthMillis) {
+        if (voices < 1) {
+            throw new IllegalArgumentException("An effect needs at least one voice: " + voices);
+        }
+        this.clip = clip;
+        this.lengthNanos = lengthMillis * 1_000_000;
+        this.voiceEnds = new long[voices];
+        Arrays.fill(voiceEnds, System.nanoTime()); // Every voice starts free
+    }
+
+    /**
+     * Plays the effect if a voice is free.
+     *
+     * @return true if it started, false if every voice was busy.
+     */
+    public boolean play() {
+        long now = System.nanoTime();
+        for (int voice = 0; voice < voiceEnds.length; voice++) {
+            if (voiceEnds[voice] - now <= 0) {
+                voiceEnds[voice] = now + lengthNanos;
+                played++;
+                clip.play();
+                return true;
+            }
+        }
+        dropped++;
+        return false;
+    }
+
+    /**
+     * Stops every voice of the effect and frees them.
+     */
+    public void stop() {
+        clip.stop();
+        Arrays.fill(voiceEnds, System.nanoTime());
+    }
+
+    /**
+     * Sets the effect's volume for plays started from now on.
+     *
+     * @param volume The volume, from 0 (silent) to 1 (full).
+     */
+    public void setVolume(double volume) {
+        clip.setVolume(volume);
+    }
+
+    /**
+     * Returns the number of plays that started.
+     *
+     * @return The played count.
+     */
+    public long getPlayed() {
+        return played;
+    }
+
+    /**
+     * Returns the number of plays dropped because every voice was busy.
+     *
+     * @return The dropped count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,75 @@
+package view;
+
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * @Project Splash Screen
+ * @Description The screen shown while the game's assets load at launch: the game's title, a progress bar and a count of the assets loaded so far.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+public class SplashScreen {
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Text status = new Text("Loading...");
+    private final Scene scene;
+
+    /**
+     * Builds the splash screen.
+     *
+     * @param width  The width of the screen.
+     * @param height The height of the screen.
+     */
+    public SplashScreen(double width, double height) {
+        Text title = new Text("Snake Game");
+        title.setFont(Font.font("SansSerif", FontWeight.BOLD, 36));
+        title.setFill(Color.WHITE);
+        status.setFont(Font.font("SansSerif", 14));
+        status.setFill(Color.LIGHTGRAY);
+        progressBar.setPrefWidth(width / 2);
+
+        VBox layout = new VBox(20, title, progressBar, status);
+        layout.setAlignment(Pos.CENTER);
+        layout.setBackground(new Background(new BackgroundFill(Color.rgb(20, 30, 20), null, null)));
+        scene = new Scene(layout, width, height);
+    }
+
+    /**
+     * Shows how many assets have loaded. Must be called on the FX thread.
+     *
+     * @param completed The number of assets loaded.
+     * @param requested The number of assets being loaded.
+     */
+    public void setProgress(int completed, int requested) {
+        progressBar.setProgress(requested == 0 ? 0 : (double) completed / requested);
+        status.setText("Loading assets " + completed + " / " + requested);
+    }
+
+    /**
+     * Replaces the progress with an error message, for when the game cannot finish loading. Must be called on the FX thread.
+     *
+     * @param message The error to show.
+     */
+    public void showError(String message) {
+        progressBar.setVisible(false);
+        status.setFill(Color.SALMON);
+        status.setText(message);
+    }
+
+    /**
+     * Returns the splash screen's scene.
+     *
+     * @return The scene.
+     */
+    public Scene getScene() {
+        return scene;
+    }
+}
@@ -0,0 +1,228 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Project Record Log Test
+ * @Description Checks that the record log recovers from the damage a crash can leave: a torn or corrupted last record, a file cut off
+ * inside its header and a compaction that never finished, and that compaction, including down to no records at all, leaves a log that
+ * later appends and loads still work on.
+ * @Author Wesley Agbongiasede
+ * @version 1.0
+ */
+class RecordLogTest {
+	private static final int HEADER_BYTES = 8; // Magic and version
+	private static final int RECORD_HEADER_BYTES = 8; // Length and checksum before each payload
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Records appended and closed are all loaded back, in order.
+	 */
+	@Test
+	void loadsAppendedRecordsInOrder() throws IOException {
+		Path file = directory.resolve("scores.log");
+		write(file, "alpha", "beta", "gamma");
+
+		assertEquals(List.of("alpha", "beta", "gamma"), load(file));
+	}
+
+	/**
+	 * A last record cut short by a crash is dropped and cut from the file, and appends after it land on the last good record.
+	 */
+	@Test
+	void truncatedFinalRecordIsDiscarded() throws IOException {
+		Path file = directory.resolve("scores.log");
+		write(file, "alpha", "beta", "gamma");
+		long size = Files.size(file);
+		truncate(file, size - 2);
+
+		RecordLog log = new RecordLog(file);
+		assertEquals(List.of("alpha", "beta"), strings(log.load()));
+		assertEquals(RECORD_HEADER_BYTES + "gamma".length() - 2, log.getDiscardedBytes());
+		assertEquals(size - RECORD_HEADER_BYTES - "gamma".length(), Files.size(file));
+		log.append(bytes("delta"));
+		log.close();
+
+		assertEquals(List.of("alpha", "beta", "delta"), load(file));
+	}
+
+	/**
+	 * A record whose checksum does not match is dropped along with everything after it.
+	 */
+	@Test
+	void flippedChecksumByteDiscardsTheRecordAndTheRest() throws IOException {
+		Path file = directory.resolve("scores.log");
+		write(file, "alpha", "beta", "gamma");
+		int betaChecksum = HEADER_BYTES + RECORD_HEADER_BYTES + "alpha".length() + 4;
+		byte[] data = Files.readAllBytes(file);
+		data[betaChecksum] ^= 0x01;
+		Files.write(file, data);
+
+		RecordLog log = new RecordLog(file);
+		assertEquals(List.of("alpha"), strings(log.load()));
+		assertEquals(2 * RECORD_HEADER_BYTES + "beta".length() + "gamma".length(), log.getDiscardedBytes());
+		log.close();
+	}
+
+	/**
+	 * A file cut off before its header was complete is started again as an empty log that can be appended to.
+	 */
+	@Test
+	void fileShorterThanHeaderStartsEmpty() throws IOException {
+		Path file = directory.resolve("scores.log");
+		Files.write(file, new byte[]{'S', 'N', 'K'});
+
+		RecordLog log = new RecordLog(file);
+		assertTrue(log.load().isEmpty());
+		assertEquals(HEADER_BYTES, Files.size(file));
+		log.append(bytes("alpha"));
+		log.close();
+
+		assertEquals(List.of("alpha"), load(file));
+	}
+
+	/**
+	 * A file that does not start with the log's magic is rejected rather than overwritten.
+	 */
+	@Test
+	void otherFileIsRejected() throws IOException {
+		Path file = directory.resolve("scores.log");
+		Files.write(file, bytes("not a record log"));
+
+		assertThrows(IOException.class, () -> new RecordLog(file).load());
+		assertEquals("not a record log", Files.readString(file));
+	}
+
+	/**
+	 * Compacting keeps only the live records, and records appended afterwards follow them.
+	 */
+	@Test
+	void compactionKeepsLiveRecordsAndLaterAppends() throws IOException {
+		Path file = directory.resolve("scores.log");
+		RecordLog log = new RecordLog(file);
+		log.load();
+		log.append(bytes("alpha"));
+		log.append(bytes("beta"));
+		log.append(bytes("gamma"));
+		log.compact(List.of(bytes("beta")));
+		log.append(bytes("delta"));
+		assertEquals(2, log.getRecordCount());
+		log.close();
+
+		assertEquals(List.of("beta", "delta"), load(file));
+	}
+
+	/**
+	 * Compacting down to no records still leaves a valid log, so appends after it load back.
+	 */
+	@Test
+	void compactionToNoRecordsKeepsTheHeader() throws IOException {
+		Path file = directory.resolve("scores.log");
+		write(file, "alpha", "beta");
+
+		RecordLog log = new RecordLog(file);
+		log.load();
+		log.compact(List.of());
+		log.append(bytes("gamma"));
+		log.close();
+
+		assertEquals(List.of("gamma"), load(file));
+	}
+
+	/**
+	 * A temporary file left by a compaction that did not finish is deleted, and the log it would have replaced is loaded intact.
+	 */
+	@Test
+	void leftoverCompactionFileIsIgnored() throws IOException {
+		Path file = directory.resolve("scores.log");
+		write(file, "alpha", "beta");
+		Path leftover = directory.resolve("scores.log.compact");
+		Files.write(leftover, bytes("half written"));
+
+		assertEquals(List.of("alpha", "beta"), load(file));
+		assertFalse(Files.exists(leftover));
+	}
+
+	/**
+	 * Creates a log holding the given records and closes it.
+	 *
+	 * @param file    The log file.
+	 * @param records The records, as text.
+	 * @throws IOException If the log cannot be created.
+	 */
+	private static void write(Path file, String... records) throws IOException {
+		RecordLog log = new RecordLog(file);
+		log.load();
+		for (String record : records) {
+			log.append(bytes(record));
+		}
+		log.close();
+	}
+
+	/**
+	 * Loads a log, closes it and returns its records.
+	 *
+	 * @param file The log file.
+	 * @return The records, as text.
+	 * @throws IOException If the log cannot be loaded.
+	 */
+	private static List<String> load(Path file) throws IOException {
+		RecordLog log = new RecordLog(file);
+		List<String> records = strings(log.load());
+		log.close();
+		return records;
+	}
+
+	/**
+	 * Cuts a file to a length, as a crash partway through a write would.
+	 *
+	 * @param file   The file.
+	 * @param length The length to keep.
+	 * @throws IOException If the file cannot be rewritten.
+	 */
+	private static void truncate(Path file, long length) throws IOException {
+		byte[] data = Files.readAllBytes(file);
+		byte[] kept = new byte[(int) length];
+		System.arraycopy(data, 0, kept, 0, kept.length);
+		Files.write(file, kept);
+	}
+
+	/**
+	 * Encodes text as a record payload.
+	 *
+	 * @param text The text.
+	 * @return The payload.
+	 */
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decodes record payloads as text.
+	 *
+	 * @param payloads The payloads.
+	 * @return The text of each payload.
+	 */
+	private static List<String> strings(List<byte[]> payloads) {
+		List<String> texts = new ArrayList<>(payloads.size());
+		for (byte[] payload : payloads) {
+			texts.add(new String(payload, StandardCharsets.UTF_8));
+		}
+		return texts;
+	}
+}